@@ -0,0 +1,60 @@
+package com.example.sortingalgorithmvisualizator.benchmark;
+
+import com.example.sortingalgorithmvisualizator.engine.Algorithm;
+import com.example.sortingalgorithmvisualizator.engine.InputDistribution;
+import com.example.sortingalgorithmvisualizator.engine.Sorter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The common state of the sort benchmarks: the input array is generated once per trial from the seed parameter, and
+ * copied before each sort, so the measured time includes an O(n) copy which is negligible compared to the sort itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public abstract class AbstractSortBenchmark {
+
+    /**
+     * The seed of the input array, reported with the other parameters.
+     */
+    @Param("42")
+    public long seed;
+
+    private Sorter sorter;
+    private int[] input;
+    private int[] work;
+
+    /**
+     * @return the benchmarked algorithm
+     */
+    abstract Algorithm algorithm();
+
+    /**
+     * @return the distribution of the sorted arrays
+     */
+    abstract InputDistribution distribution();
+
+    /**
+     * @return the size of the sorted arrays
+     */
+    abstract int size();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sorter = algorithm().newSorter();
+        input = distribution().generate(size(), Integer.MAX_VALUE, seed);
+        work = new int[input.length];
+    }
+
+    @Benchmark
+    public int[] sort() {
+        System.arraycopy(input, 0, work, 0, input.length);
+        sorter.sort(work);
+        return work;
+    }
+}
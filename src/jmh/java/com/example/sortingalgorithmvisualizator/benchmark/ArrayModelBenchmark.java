@@ -0,0 +1,61 @@
+package com.example.sortingalgorithmvisualizator.benchmark;
+
+import com.example.sortingalgorithmvisualizator.FramePipeline;
+import com.example.sortingalgorithmvisualizator.engine.InputDistribution;
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a swap through the array model shared by the engine and the display: the sorting thread applies it to
+ * the {@link FramePipeline}, which is drained once per frame into the values and highlights of a renderer. Both sides
+ * are plain primitive arrays, so the GC profiler must report 0 bytes allocated per swap (gc.alloc.rate.norm).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArrayModelBenchmark {
+    private static final int SWAPS_PER_FRAME = 1 << 12;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private FramePipeline pipeline;
+    private SortListener renderer;
+    private int[] indexes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] array = InputDistribution.UNIFORM.generate(size, size, 42);
+        pipeline = new FramePipeline(array);
+        int[] values = array.clone();
+        byte[] highlights = new byte[size];
+        renderer = new SortListener() {
+            @Override
+            public void onWrite(int index, int value) {
+                values[index] = value;
+            }
+
+            @Override
+            public void onHighlight(int index, byte highlight) {
+                highlights[index] = highlight;
+            }
+        };
+        SplittableRandom random = new SplittableRandom(42);
+        indexes = random.ints(2 * SWAPS_PER_FRAME, 0, size).toArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SWAPS_PER_FRAME)
+    public int swap() {
+        for (int i = 0; i < indexes.length; i += 2) {
+            pipeline.onSwap(indexes[i], indexes[i + 1]);
+        }
+        return pipeline.drainTo(renderer);
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.sortingalgorithmvisualizator.benchmark;
+
+import com.example.sortingalgorithmvisualizator.engine.Algorithm;
+import com.example.sortingalgorithmvisualizator.engine.InputDistribution;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks the quadratic algorithms, up to 10 thousand elements: beyond that a single sort takes too long.
+ */
+public class QuadraticSortBenchmark extends AbstractSortBenchmark {
+
+    @Param({"BUBBLE", "COCKTAIL", "INSERTION", "ODD_EVEN_TRANSPOSITION", "SELECTION"})
+    public Algorithm algorithm;
+
+    @Param
+    public InputDistribution distribution;
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    @Override
+    Algorithm algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    InputDistribution distribution() {
+        return distribution;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sortingalgorithmvisualizator.benchmark;
+
+import com.example.sortingalgorithmvisualizator.engine.Algorithm;
+import com.example.sortingalgorithmvisualizator.engine.InputDistribution;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks the quick sort, from 100 to 10 million elements, on the distributions it sorts in O(n*log n). Its pivot
+ * is the middle element, so an organ pipe makes it quadratic: {@link OrganPipe} benchmarks that input apart, up to the
+ * sizes of {@link QuadraticSortBenchmark}. {@link Algorithm#INTRO}, the quick sort guarded against such inputs, is in
+ * {@link SortBenchmark}.
+ */
+public class QuickSortBenchmark extends AbstractSortBenchmark {
+
+    @Param("QUICK")
+    public Algorithm algorithm;
+
+    @Param({"UNIFORM", "SORTED", "REVERSED", "NEARLY_SORTED", "FEW_UNIQUE", "SAWTOOTH", "GAUSSIAN", "ZIPF",
+            "SORTED_RUNS"})
+    public InputDistribution distribution;
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    @Override
+    Algorithm algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    InputDistribution distribution() {
+        return distribution;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    /**
+     * Benchmarks the quick sort on an organ pipe, up to 10 thousand elements: beyond that a single sort takes too long.
+     */
+    public static class OrganPipe extends AbstractSortBenchmark {
+
+        @Param("QUICK")
+        public Algorithm algorithm;
+
+        @Param("ORGAN_PIPE")
+        public InputDistribution distribution;
+
+        @Param({"100", "1000", "10000"})
+        public int size;
+
+        @Override
+        Algorithm algorithm() {
+            return algorithm;
+        }
+
+        @Override
+        InputDistribution distribution() {
+            return distribution;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+    }
+}
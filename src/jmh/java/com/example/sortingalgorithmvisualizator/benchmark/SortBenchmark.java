@@ -0,0 +1,37 @@
+package com.example.sortingalgorithmvisualizator.benchmark;
+
+import com.example.sortingalgorithmvisualizator.engine.Algorithm;
+import com.example.sortingalgorithmvisualizator.engine.InputDistribution;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Benchmarks the O(n*log n) and linear algorithms, from 100 to 10 million elements. The quick sort is benchmarked
+ * apart by {@link QuickSortBenchmark}.
+ */
+public class SortBenchmark extends AbstractSortBenchmark {
+
+    @Param({"AUTO", "BITONIC", "HEAP", "INTRO", "MERGE", "PARALLEL_MERGE", "ODD_EVEN_MERGE", "RADIX", "PARALLEL_RADIX",
+            "SAMPLE", "TIM"})
+    public Algorithm algorithm;
+
+    @Param
+    public InputDistribution distribution;
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int size;
+
+    @Override
+    Algorithm algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    InputDistribution distribution() {
+        return distribution;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+}
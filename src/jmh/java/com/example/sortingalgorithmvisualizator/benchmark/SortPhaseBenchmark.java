@@ -0,0 +1,66 @@
+package com.example.sortingalgorithmvisualizator.benchmark;
+
+import com.example.sortingalgorithmvisualizator.engine.Algorithm;
+import com.example.sortingalgorithmvisualizator.engine.InputDistribution;
+import com.example.sortingalgorithmvisualizator.engine.SortPhaseEvent;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks the sorters emitting a {@link SortPhaseEvent} for their partitions or merges, with and without a flight
+ * recording enabling the event, to measure what the events cost to a sort.
+ */
+public class SortPhaseBenchmark extends AbstractSortBenchmark {
+
+    @Param({"MERGE", "QUICK", "INTRO", "TIM"})
+    public Algorithm algorithm;
+
+    @Param("UNIFORM")
+    public InputDistribution distribution;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    /**
+     * Whether the sorts run under a flight recording enabling the phase events.
+     */
+    @Param({"false", "true"})
+    public boolean recorded;
+
+    private Recording recording;
+
+    @Setup(Level.Trial)
+    public void startRecording() {
+        if (recorded) {
+            recording = new Recording();
+            recording.enable(SortPhaseEvent.NAME);
+            recording.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    @Override
+    Algorithm algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    InputDistribution distribution() {
+        return distribution;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+}
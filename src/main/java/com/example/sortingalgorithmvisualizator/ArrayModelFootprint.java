@@ -0,0 +1,96 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.InputDistribution;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.chart.XYChart;
+
+import java.lang.ref.Reference;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.IntFunction;
+
+/**
+ * Measures the heap used per element by the array model shared by the engine and the display, and by the chart it
+ * replaced, and prints them. Like {@link BenchmarkApplication}, it never starts the JavaFX toolkit:
+ * <pre>
+ * ./gradlew footprint [-PfootprintArgs="100000 1000000"]
+ * </pre>
+ * Each model is built between two full garbage collections, and the growth of the used heap is divided by the number
+ * of elements; the median growth of a few runs is kept. The task runs it with the parallel collector, whose heap
+ * grows by the exact size of the arrays, while G1 rounds the large ones up to its regions. The array model is measured part by
+ * part: the {@link FramePipeline} of the worker, then the values, the highlights and the {@link MinMaxTree} of the
+ * {@link BarRenderer}, built as {@link BarRenderer#setArray(int[], int)} does.
+ * The chart is only a lower bound: it's the series of {@link XYChart.Data} the bar chart used to hold, a category
+ * string and a boxed value per element, without the chart itself, which would add a node per bar and needs the
+ * toolkit.
+ */
+public class ArrayModelFootprint {
+    private static final int RUNS = 5;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? new int[] {100_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        System.out.printf(Locale.ROOT, "%-40s %12s %18s%n", "Model", "Elements", "Bytes per element");
+        for (int size : sizes) {
+            int[] array = InputDistribution.UNIFORM.generate(size, size, SEED);
+            byte[] highlights = new byte[size];
+            print("Frame pipeline", size, measure(size, n -> new FramePipeline(array)));
+            print("Renderer values and highlights", size, measure(size, n -> new Object[] {
+                    Arrays.copyOf(array, n), new byte[n]}));
+            print("Renderer min/max tree", size, measure(size, n -> new MinMaxTree(array, highlights)));
+            print("Array model (all of the above)", size, measure(size, n -> {
+                int[] values = Arrays.copyOf(array, n);
+                byte[] shown = new byte[n];
+                return new Object[] {new FramePipeline(array), values, shown, new MinMaxTree(values, shown)};
+            }));
+            print("XYChart.Data series (lower bound)", size, measure(size, n -> {
+                ObservableList<XYChart.Data<String, Number>> data = FXCollections.observableArrayList();
+                for (int i = 0; i < n; i++) {
+                    data.add(new XYChart.Data<>(Integer.toString(i), array[i]));
+                }
+                return new XYChart.Series<>(data);
+            }));
+        }
+    }
+
+    /**
+     * Builds a model a few times and returns the median growth of the used heap it caused, after a garbage
+     * collection.
+     *
+     * @param size the number of elements
+     * @param model builds the model on the given number of elements
+     *
+     * @return the heap used by the model, in bytes
+     */
+    private static long measure(int size, IntFunction<Object> model) {
+        long[] growths = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long before = usedAfterGc();
+            Object built = model.apply(size);
+            growths[run] = usedAfterGc() - before;
+            Reference.reachabilityFence(built);
+        }
+        Arrays.sort(growths);
+        return growths[RUNS / 2];
+    }
+
+    private static long usedAfterGc() {
+        // A collection can leave garbage promoted by the previous one, so collect until the heap stops shrinking
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long current = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+            if (current >= used) {
+                return current;
+            }
+            used = current;
+        }
+        return used;
+    }
+
+    private static void print(String model, int size, long bytes) {
+        System.out.printf(Locale.ROOT, "%-40s %,12d %,18.2f%n", model, size, bytes / (double) size);
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.Highlight;
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Draws the array as a sequence of vertical bars into a {@link WritableImage} backed by a {@link PixelBuffer}.
+ * The values and the highlights are kept in primitive arrays: the changes notified as a {@link SortListener} only mark
+ * the affected pixel columns as dirty, and the dirty columns are redrawn once per pulse by an {@link AnimationTimer}.
+ * When the array has more elements than the available pixel columns, each column shows the range of its elements:
+ * the bar is solid up to their min value, and half transparent from there up to their max value, with the most
+ * important of their highlights. The ranges come from a {@link MinMaxTree}, updated incrementally, so a change costs
+ * O(log n) however large the array is.
+ * Must be used on the JavaFX thread: a sort running on another thread is shown by attaching its
+ * {@link FramePipeline}, which is drained at each pulse before redrawing.
+ */
+public class BarRenderer extends Region implements SortListener {
+    static final Color LIGHT_LIME = Color.web("#99FF99");
+    static final Color CYAN = Color.web("#3399FF");
+    static final Color YELLOW = Color.web("#FFFF00");
+    static final Color RED = Color.web("#F90C0C");
+
+    private static final int BACKGROUND = 0x00000000;
+    private static final int MIN_WIDTH_WITH_GAP = 4;
+
+    private final ImageView imageView = new ImageView();
+    private final int[] palette = new int[Highlight.WORKER + Highlight.WORKER_COUNT];
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (pipeline != null) {
+                pipeline.drainTo(BarRenderer.this);
+            }
+            redraw();
+        }
+    };
+
+    private int[] values = new int[0];
+    private byte[] highlights = new byte[0];
+    private int maxValue = 1;
+    private MinMaxTree tree = new MinMaxTree(values, highlights);
+    private FramePipeline pipeline;
+
+    private int width, height;
+    private IntBuffer pixels;
+    private PixelBuffer<IntBuffer> pixelBuffer;
+    private long[] dirtyColumns = new long[0];
+    private int firstDirty = Integer.MAX_VALUE, lastDirty = -1;
+
+    public BarRenderer() {
+        getChildren().add(imageView);
+        palette[Highlight.ACTIVE] = argb(CYAN);
+        palette[Highlight.PIVOT] = argb(YELLOW);
+        palette[Highlight.SORTED] = argb(LIGHT_LIME);
+        palette[Highlight.SPECIAL] = argb(RED);
+        for (int worker = 0; worker < Highlight.WORKER_COUNT; worker++) {
+            palette[Highlight.worker(worker)] = argb(workerColor(worker));
+        }
+        timer.start();
+    }
+
+    /**
+     * Shows the given array, removing every highlight. The array is copied.
+     *
+     * @param array the values to show
+     * @param maxValue the value corresponding to the full height of the renderer
+     */
+    public void setArray(int[] array, int maxValue) {
+        values = Arrays.copyOf(array, array.length);
+        highlights = new byte[array.length];
+        tree = new MinMaxTree(values, highlights);
+        this.maxValue = Math.max(1, maxValue);
+        invalidateAll();
+    }
+
+    /**
+     * Attaches the pipeline whose updates are applied at each pulse, replacing the previous one.
+     *
+     * @param pipeline the pipeline fed by the worker thread, or null to detach the current one
+     */
+    public void setPipeline(FramePipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * Returns a copy of the values currently shown.
+     *
+     * @return the values of the array
+     */
+    public int[] getArray() {
+        return Arrays.copyOf(values, values.length);
+    }
+
+    /**
+     * Sets the color of the elements which aren't highlighted.
+     *
+     * @param color the default color of the elements
+     */
+    public void setElementsColor(Color color) {
+        palette[Highlight.NONE] = argb(color);
+        invalidateAll();
+    }
+
+    /**
+     * Stops redrawing the renderer at each pulse.
+     */
+    public void dispose() {
+        timer.stop();
+    }
+
+    @Override
+    public void onSwap(int index1, int index2) {
+        int tmp = values[index1];
+        values[index1] = values[index2];
+        values[index2] = tmp;
+        invalidate(index1);
+        invalidate(index2);
+    }
+
+    @Override
+    public void onWrite(int index, int value) {
+        values[index] = value;
+        invalidate(index);
+    }
+
+    @Override
+    public void onHighlight(int index, byte highlight) {
+        highlights[index] = highlight;
+        invalidate(index);
+    }
+
+    @Override
+    protected void layoutChildren() {
+        int newWidth = (int) snapSizeX(getWidth());
+        int newHeight = (int) snapSizeY(getHeight());
+        if (newWidth > 0 && newHeight > 0 && (newWidth != width || newHeight != height)) {
+            width = newWidth;
+            height = newHeight;
+            pixels = ByteBuffer.allocateDirect(width * height * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+            pixelBuffer = new PixelBuffer<>(width, height, pixels, PixelFormat.getIntArgbPreInstance());
+            imageView.setImage(new WritableImage(pixelBuffer));
+            dirtyColumns = new long[(width + 63) >>> 6];
+            invalidateAll();
+        }
+        imageView.relocate(snappedLeftInset(), snappedTopInset());
+    }
+
+    /**
+     * Marks as dirty the pixel columns showing the element at the given index.
+     *
+     * @param index the index of the changed element
+     */
+    private void invalidate(int index) {
+        tree.invalidate(index);
+        if (width == 0) {
+            return;
+        }
+        if (values.length > width) {
+            int column = (int) ((long) index * width / values.length);
+            dirtyColumns[column >>> 6] |= 1L << column;
+            firstDirty = Math.min(firstDirty, column);
+            lastDirty = Math.max(lastDirty, column);
+            return;
+        }
+        int first = firstColumn(index);
+        if (first >= width) {
+            return; // Not shown by any column
+        }
+        int last = Math.max(first, firstColumn(index + 1) - 1);
+        for (int column = first; column <= last; column++) {
+            dirtyColumns[column >>> 6] |= 1L << column;
+        }
+        firstDirty = Math.min(firstDirty, first);
+        lastDirty = Math.max(lastDirty, last);
+    }
+
+    private void invalidateAll() {
+        if (width == 0) {
+            return;
+        }
+        Arrays.fill(dirtyColumns, -1L);
+        firstDirty = 0;
+        lastDirty = width - 1;
+    }
+
+    /**
+     * Redraws the dirty columns and notifies the changed region to the image.
+     */
+    private void redraw() {
+        if (lastDirty < 0) {
+            return;
+        }
+        tree.flush();
+        int first = firstDirty, last = lastDirty;
+        for (int word = first >>> 6; word <= last >>> 6; word++) {
+            long bits = dirtyColumns[word];
+            dirtyColumns[word] = 0;
+            while (bits != 0) {
+                int column = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (column < width) {
+                    drawColumn(column);
+                }
+            }
+        }
+        firstDirty = Integer.MAX_VALUE;
+        lastDirty = -1;
+        pixelBuffer.updateBuffer(buffer -> new Rectangle2D(first, 0, last - first + 1, height));
+    }
+
+    /**
+     * Draws the given pixel column.
+     *
+     * @param column the index of the column
+     */
+    private void drawColumn(int column) {
+        if (values.length > width) {
+            drawRangeColumn(column);
+            return;
+        }
+        int color = BACKGROUND, barHeight = 0;
+        if (values.length > 0) {
+            int index = (int) ((long) column * values.length / width);
+            boolean gap = width >= MIN_WIDTH_WITH_GAP * values.length && firstColumn(index + 1) - 1 == column;
+            if (!gap) {
+                color = palette[highlights[index]];
+                barHeight = barHeight(values[index]);
+            }
+        }
+        int barTop = height - barHeight;
+        for (int y = 0, offset = column; y < height; y++, offset += width) {
+            pixels.put(offset, y < barTop ? BACKGROUND : color);
+        }
+    }
+
+    /**
+     * Draws the given pixel column when it shows several elements: solid up to their min value, and half transparent
+     * up to their max value.
+     *
+     * @param column the index of the column
+     */
+    private void drawRangeColumn(int column) {
+        long length = values.length;
+        int from = (int) ((column * length + width - 1) / width), to = (int) (((column + 1) * length + width - 1) / width);
+        tree.query(from, to);
+        int color = palette[tree.getHighlight()];
+        // Halving every channel of a premultiplied color halves its opacity
+        int rangeColor = color >>> 1 & 0x7F7F7F7F;
+        int minTop = height - barHeight(tree.getMin()), maxTop = height - barHeight(tree.getMax());
+        for (int y = 0, offset = column; y < height; y++, offset += width) {
+            pixels.put(offset, y < maxTop ? BACKGROUND : y < minTop ? rangeColor : color);
+        }
+    }
+
+    private int barHeight(int value) {
+        return (int) Math.min(height, Math.max(0L, (long) value * height / maxValue));
+    }
+
+    /**
+     * Returns the first pixel column showing the element at the given index.
+     *
+     * @param index the index of the element
+     *
+     * @return the index of the column
+     */
+    private int firstColumn(int index) {
+        return (int) (((long) index * width + values.length - 1) / Math.max(1, values.length));
+    }
+
+    /**
+     * Returns the color identifying the given worker thread.
+     *
+     * @param worker the index of the worker, less than {@link Highlight#WORKER_COUNT}
+     *
+     * @return the color of the worker
+     */
+    static Color workerColor(int worker) {
+        return Color.hsb(360.0 * worker / Highlight.WORKER_COUNT + 15, 0.65, 0.95);
+    }
+
+    private static int argb(Color color) {
+        return (int) Math.round(color.getOpacity() * 255) << 24 | (int) Math.round(color.getRed() * 255) << 16
+                | (int) Math.round(color.getGreen() * 255) << 8 | (int) Math.round(color.getBlue() * 255);
+    }
+}
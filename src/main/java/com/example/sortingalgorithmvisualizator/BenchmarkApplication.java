@@ -0,0 +1,312 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.Algorithm;
+import com.example.sortingalgorithmvisualizator.engine.AutoSorter;
+import com.example.sortingalgorithmvisualizator.engine.InputDistribution;
+import com.example.sortingalgorithmvisualizator.engine.OperationCounter;
+import com.example.sortingalgorithmvisualizator.engine.SampleSorter;
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+import com.example.sortingalgorithmvisualizator.engine.SortProfiler;
+import com.example.sortingalgorithmvisualizator.engine.Sorter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Runs the algorithms of the engine over several sizes and distributions without any display, and prints the timings
+ * as CSV or JSON. It doesn't extend {@link javafx.application.Application}, so the JavaFX toolkit is never started:
+ * <pre>
+ * ./gradlew bench -PbenchArgs="--algorithms INTRO,MERGE --sizes 1000,1000000 --format json --output results.json"
+ * </pre>
+ * Each combination is sorted a few times to warm up the JIT compiler before being measured, and a further run counts
+ * its operations. The arrays are generated from a seed, written with the results so that any run can be reproduced.
+ * Each result is written as soon as it's measured. A combination which fails, e.g. with an {@link OutOfMemoryError},
+ * is written as a row with its error instead of its measurements, the other ones still run, and the application
+ * then exits with the status 1.
+ */
+public class BenchmarkApplication {
+    private static final String USAGE = """
+            Usage: BenchmarkApplication [options]
+              --algorithms A,B,...     the algorithms to run (default: all)
+              --sizes N,M,...          the sizes of the arrays (default: 1000,100000,1000000)
+              --distributions D,E,...  the distributions of the arrays (default: all)
+              --seed S                 the seed of the arrays (default: 42)
+              --warmup N               the runs discarded before measuring (default: 3)
+              --repetitions N          the measured runs (default: 5)
+              --quadratic-limit N      the largest size sorted by the quadratic algorithms, and by
+                                       the quick sort on organ pipes (default: 20000)
+              --format csv|json        the format of the results (default: csv)
+              --output FILE            the file the results are written to (default: standard output)
+              --help                   prints this message
+            """;
+    private static final long DEFAULT_SEED = 42;
+
+    private List<Algorithm> algorithms = List.of(Algorithm.values());
+    private int[] sizes = {1_000, 100_000, 1_000_000};
+    private List<InputDistribution> distributions = List.of(InputDistribution.values());
+    private long seed = DEFAULT_SEED;
+    private int warmup = 3;
+    private int repetitions = 5;
+    private int quadraticLimit = 20_000;
+    private boolean json;
+    private Path output;
+    private int failures;
+
+    /**
+     * The measurements of an algorithm on an array of a given size and distribution, or the error which made them
+     * fail, in which case the timings and the counter are null.
+     */
+    private record Result(Algorithm algorithm, InputDistribution distribution, int size, long[] nanos,
+                          OperationCounter counter, String error) {
+        boolean failed() {
+            return error != null;
+        }
+
+        long min() {
+            return nanos[0];
+        }
+
+        long median() {
+            return nanos[nanos.length / 2];
+        }
+
+        long max() {
+            return nanos[nanos.length - 1];
+        }
+
+        double mean() {
+            return Arrays.stream(nanos).average().orElse(0);
+        }
+    }
+
+    public static void main(String[] args) {
+        BenchmarkApplication application = new BenchmarkApplication();
+        try {
+            if (!application.parse(args)) {
+                System.out.print(USAGE);
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            System.exit(2);
+        }
+        try {
+            application.run();
+        } catch (IOException e) {
+            System.err.println("Cannot write the results: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the options from the command line arguments.
+     *
+     * @param args the command line arguments
+     *
+     * @return false if the usage has been requested
+     *
+     * @throws IllegalArgumentException if an option is unknown or has an invalid value
+     */
+    private boolean parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--help")) {
+                return false;
+            }
+            if (i + 1 == args.length) {
+                throw new IllegalArgumentException("Missing value of " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--algorithms" -> algorithms = Arrays.stream(value.split(",")).map(Algorithm::fromName).toList();
+                case "--sizes" -> sizes = Arrays.stream(value.split(",")).mapToInt(BenchmarkApplication::positive).toArray();
+                case "--distributions" -> distributions = Arrays.stream(value.split(","))
+                        .map(name -> InputDistribution.valueOf(name.trim().toUpperCase(Locale.ROOT))).toList();
+                case "--seed" -> seed = Long.parseLong(value.trim());
+                case "--warmup" -> warmup = Integer.parseInt(value);
+                case "--repetitions" -> repetitions = positive(value);
+                case "--quadratic-limit" -> quadraticLimit = Integer.parseInt(value);
+                case "--format" -> {
+                    if (!value.equalsIgnoreCase("csv") && !value.equalsIgnoreCase("json")) {
+                        throw new IllegalArgumentException("Unknown format: " + value);
+                    }
+                    json = value.equalsIgnoreCase("json");
+                }
+                case "--output" -> output = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+        return true;
+    }
+
+    private static int positive(String value) {
+        int number = Integer.parseInt(value.trim());
+        if (number < 1) {
+            throw new IllegalArgumentException("Not a positive number: " + value);
+        }
+        return number;
+    }
+
+    private void run() throws IOException {
+        if (output == null) {
+            run(System.out);
+        } else {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(output), false, StandardCharsets.UTF_8)) {
+                run(out);
+            }
+        }
+        if (failures > 0) {
+            System.err.printf("%d combinations failed%n", failures);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Measures every combination, writing each result as soon as it's known, so that the results measured so far
+     * aren't lost if the run is interrupted.
+     *
+     * @param out the stream of the results
+     */
+    private void run(PrintStream out) {
+        writeHeader(out);
+        boolean first = true;
+        for (int size : sizes) {
+            for (InputDistribution distribution : distributions) {
+                int[] input = distribution.generate(size, Integer.MAX_VALUE, seed);
+                for (Algorithm algorithm : algorithms) {
+                    if (algorithm.isQuadratic(distribution) && size > quadraticLimit) {
+                        System.err.printf("Skipping %s on %,d elements (above the quadratic limit)%n",
+                                algorithm.getDisplayName(), size);
+                        continue;
+                    }
+                    System.err.printf("%s, %s, %,d elements%n", algorithm.getDisplayName(), distribution, size);
+                    Result result;
+                    try {
+                        result = measure(algorithm, distribution, input);
+                    } catch (RuntimeException | StackOverflowError | OutOfMemoryError e) {
+                        // E.g. an array too large for the heap: the other combinations still run, and the failure
+                        // is reported in the results
+                        System.err.printf("Failed: %s%n", e);
+                        failures++;
+                        result = new Result(algorithm, distribution, size, null, null, e.toString());
+                    }
+                    writeResult(result, first, out);
+                    first = false;
+                }
+            }
+        }
+        writeFooter(out);
+    }
+
+    /**
+     * Warms up, measures and counts the operations of an algorithm on an array.
+     *
+     * @param algorithm the algorithm to run
+     * @param distribution the distribution of the array
+     * @param input the array to sort; it isn't modified
+     *
+     * @return the measurements, with the timings sorted in ascending order
+     */
+    private Result measure(Algorithm algorithm, InputDistribution distribution, int[] input) {
+        Sorter sorter = algorithm.newSorter();
+        int[] work = new int[input.length];
+        for (int i = 0; i < warmup; i++) {
+            System.arraycopy(input, 0, work, 0, input.length);
+            sorter.sort(work);
+        }
+        long[] nanos = new long[repetitions];
+        for (int i = 0; i < repetitions; i++) {
+            System.arraycopy(input, 0, work, 0, input.length);
+            long startTime = System.nanoTime();
+            SortProfiler.sort(sorter, work, SortListener.NONE, null);
+            nanos[i] = System.nanoTime() - startTime;
+        }
+        Arrays.sort(nanos);
+        if (sorter instanceof SampleSorter sampleSorter) {
+            System.err.println(sampleSorter.getLastStatistics());
+        } else if (sorter instanceof AutoSorter autoSorter) {
+            System.err.println(autoSorter.getLastDecision());
+        }
+        System.arraycopy(input, 0, work, 0, input.length);
+        OperationCounter counter = new OperationCounter();
+        SortProfiler.sort(sorter, work, counter, counter);
+        return new Result(algorithm, distribution, input.length, nanos, counter, null);
+    }
+
+    private void writeHeader(PrintStream out) {
+        if (json) {
+            out.println("[");
+        } else {
+            out.println("algorithm,distribution,seed,size,min_ns,median_ns,mean_ns,max_ns,comparisons,swaps,reads,"
+                    + "writes,allocated_bytes,error");
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the result of a combination, and flushes it.
+     *
+     * @param result the result to write
+     * @param first true if it's the first result, which isn't preceded by a separator in JSON
+     * @param out the stream of the results
+     */
+    private void writeResult(Result result, boolean first, PrintStream out) {
+        if (json) {
+            writeJson(result, first, out);
+        } else {
+            writeCsv(result, out);
+        }
+        out.flush();
+    }
+
+    private void writeFooter(PrintStream out) {
+        if (json) {
+            out.println();
+            out.println("]");
+        }
+        out.flush();
+    }
+
+    private void writeCsv(Result result, PrintStream out) {
+        if (result.failed()) {
+            out.printf(Locale.ROOT, "%s,%s,%d,%d,,,,,,,,,,\"%s\"%n", result.algorithm(), result.distribution(), seed,
+                    result.size(), result.error().replace("\"", "\"\""));
+            return;
+        }
+        OperationCounter counter = result.counter();
+        out.printf(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%.0f,%d,%d,%d,%d,%d,%d,%n", result.algorithm(),
+                result.distribution(), seed, result.size(), result.min(), result.median(), result.mean(), result.max(),
+                counter.getComparisons(), counter.getSwaps(), counter.getReads(), counter.getWrites(),
+                counter.getAllocatedBytes());
+    }
+
+    private void writeJson(Result result, boolean first, PrintStream out) {
+        if (!first) {
+            out.println(",");
+        }
+        if (result.failed()) {
+            out.printf(Locale.ROOT, """
+                              {"algorithm": "%s", "distribution": "%s", "seed": %d, "size": %d,
+                               "error": "%s"}\
+                            """, result.algorithm(), result.distribution(), seed, result.size(),
+                    result.error().replace("\\", "\\\\").replace("\"", "\\\""));
+            return;
+        }
+        OperationCounter counter = result.counter();
+        out.printf(Locale.ROOT, """
+                          {"algorithm": "%s", "distribution": "%s", "seed": %d, "size": %d, "nanos": %s,
+                           "min": %d, "median": %d, "mean": %.0f, "max": %d,
+                           "comparisons": %d, "swaps": %d, "reads": %d, "writes": %d, "allocatedBytes": %d}\
+                        """, result.algorithm(), result.distribution(), seed, result.size(),
+                Arrays.toString(result.nanos()), result.min(), result.median(), result.mean(), result.max(),
+                counter.getComparisons(), counter.getSwaps(), counter.getReads(), counter.getWrites(),
+                counter.getAllocatedBytes());
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.Algorithm;
+import com.example.sortingalgorithmvisualizator.engine.ComplexityAnalyzer;
+import com.example.sortingalgorithmvisualizator.engine.ComplexityFit;
+import com.example.sortingalgorithmvisualizator.engine.GrowthModel;
+import com.example.sortingalgorithmvisualizator.engine.InputDistribution;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.Spinner;
+import javafx.scene.image.Image;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.util.StringConverter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A window measuring how the time and the number of operations of an algorithm grow with the size of the array, with
+ * a {@link ComplexityAnalyzer}. Both are plotted on log-log charts as the measurements come in, so a power law is a
+ * straight line whose slope is the exponent; after each point the measurements are fitted again with a
+ * {@link ComplexityFit}, whose best {@link GrowthModel} is drawn over the points. Closing the window stops the
+ * measurements.
+ */
+class ComplexityWindow {
+    private static final int MIN_SIZE = 1 << 6;
+    private static final int DEFAULT_MAX_SIZE = 1 << 20;
+    private static final int DEFAULT_TRIALS = 5;
+    private static final String SUPERSCRIPTS = "⁰¹²³⁴⁵⁶⁷⁸⁹";
+
+    private final Stage stage = new Stage();
+    private final long seed;
+    private final ChoiceBox<Algorithm> algorithmChoice = new ChoiceBox<>();
+    private final ChoiceBox<InputDistribution> distributionChoice = new ChoiceBox<>();
+    private final ChoiceBox<Integer> maxSizeChoice = new ChoiceBox<>();
+    private final Spinner<Integer> trialsSpinner = new Spinner<>(1, 21, DEFAULT_TRIALS);
+    private final Button runButton = new Button("Run");
+    private final Button stopButton = new Button("Stop");
+    private final Label statusLabel = new Label();
+    private final Map<ComplexityAnalyzer.Metric, Plot> plots = new EnumMap<>(ComplexityAnalyzer.Metric.class);
+    private ComplexityAnalyzer analyzer;
+    private int expectedMeasurements, measurements;
+    private ComplexityAnalyzer.Failure failure;
+    private long startTime;
+
+    /**
+     * @param algorithm the algorithm selected at first
+     * @param distribution the distribution selected at first
+     * @param seed the seed of the arrays
+     */
+    ComplexityWindow(Algorithm algorithm, InputDistribution distribution, long seed) {
+        this.seed = seed;
+
+        algorithmChoice.setItems(FXCollections.observableArrayList(Algorithm.values()));
+        algorithmChoice.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Algorithm algorithm) {
+                return algorithm == null ? "" : algorithm.getDisplayName();
+            }
+
+            @Override
+            public Algorithm fromString(String name) {
+                return Algorithm.fromName(name);
+            }
+        });
+        algorithmChoice.setValue(algorithm);
+        distributionChoice.setItems(FXCollections.observableArrayList(InputDistribution.values()));
+        distributionChoice.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(InputDistribution distribution) {
+                return distribution == null ? "" : distribution.getDisplayName();
+            }
+
+            @Override
+            public InputDistribution fromString(String name) {
+                return null;
+            }
+        });
+        distributionChoice.setValue(distribution);
+        for (int size = 1 << 10; size <= 1 << 24; size <<= 1) {
+            maxSizeChoice.getItems().add(size);
+        }
+        maxSizeChoice.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Integer size) {
+                return size == null ? "" : String.format("%,d", size);
+            }
+
+            @Override
+            public Integer fromString(String size) {
+                return Integer.valueOf(size.replace(",", ""));
+            }
+        });
+        maxSizeChoice.setValue(DEFAULT_MAX_SIZE);
+        trialsSpinner.setPrefWidth(70);
+        runButton.setOnAction(event -> run());
+        stopButton.setDisable(true);
+        stopButton.setOnAction(event -> stop());
+        HBox controls = new HBox(10, algorithmChoice, distributionChoice, new Label("Max size"), maxSizeChoice,
+                new Label("Trials"), trialsSpinner, runButton, stopButton);
+        controls.setAlignment(Pos.CENTER_LEFT);
+
+        VBox box = new VBox(8, controls, statusLabel);
+        for (ComplexityAnalyzer.Metric metric : ComplexityAnalyzer.Metric.values()) {
+            Plot plot = new Plot(metric);
+            plots.put(metric, plot);
+            VBox.setVgrow(plot.chart, Priority.ALWAYS);
+            box.getChildren().addAll(plot.chart, plot.fitLabel);
+        }
+        box.setPadding(new Insets(10));
+        box.setPrefSize(760, 820);
+
+        stage.setTitle("Complexity");
+        stage.getIcons().add(new Image(String.valueOf(getClass().getResource("icons/app_icon.png"))));
+        stage.setScene(new Scene(box));
+        stage.setOnHidden(event -> stop());
+    }
+
+    /**
+     * Shows the window and starts measuring the selected algorithm.
+     */
+    void show() {
+        stage.show();
+        run();
+    }
+
+    /**
+     * Starts measuring the selected algorithm, from the smallest size up to the max size, or the first size which
+     * fails.
+     */
+    private void run() {
+        Algorithm algorithm = algorithmChoice.getValue();
+        int[] sizes = ComplexityAnalyzer.geometricSizes(MIN_SIZE, maxSizeChoice.getValue());
+        plots.values().forEach(Plot::clear);
+        ComplexityAnalyzer run = new ComplexityAnalyzer(algorithm, distributionChoice.getValue(), sizes,
+                trialsSpinner.getValue(), seed);
+        analyzer = run;
+        expectedMeasurements = sizes.length * ComplexityAnalyzer.Metric.values().length;
+        measurements = 0;
+        failure = null;
+        startTime = System.nanoTime();
+        setRunning(true);
+        statusLabel.setText(String.format("Measuring %s on %d sizes from %,d to %,d", algorithm.getDisplayName(),
+                sizes.length, sizes[0], sizes[sizes.length - 1]));
+        run.start(measurement -> Platform.runLater(() -> {
+            if (analyzer == run) {
+                measurements++;
+                plots.get(measurement.metric()).add(measurement.size(), measurement.value());
+            }
+        }), failed -> Platform.runLater(() -> {
+            // Only the smallest failed size is reported, the larger ones failing with it
+            if (analyzer == run && (failure == null || failed.size() < failure.size())) {
+                failure = failed;
+                statusLabel.setText(failureText() + ", measuring the smaller sizes");
+            }
+        })).whenComplete((result, exception) -> Platform.runLater(() -> {
+            if (analyzer == run) {
+                finish(exception);
+            }
+        }));
+    }
+
+    private void stop() {
+        if (analyzer != null) {
+            analyzer.cancel();
+            analyzer = null;
+            setRunning(false);
+            statusLabel.setText(String.format("Stopped after %d of %d measurements", measurements,
+                    expectedMeasurements));
+        }
+    }
+
+    private void finish(Throwable exception) {
+        analyzer = null;
+        setRunning(false);
+        Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+        if (cause == null) {
+            String done = String.format("Done: %d measurements in %,.1f s", measurements,
+                    (System.nanoTime() - startTime) / (double) TimeUnit.SECONDS.toNanos(1));
+            statusLabel.setText(failure == null ? done : done + "; " + failureText());
+        } else if (!(cause instanceof CancellationException)) {
+            statusLabel.setText("Failed: " + cause);
+        }
+    }
+
+    private String failureText() {
+        Throwable cause = failure.cause();
+        return String.format("%s %,d failed (%s), larger sizes skipped",
+                failure.metric() == ComplexityAnalyzer.Metric.TIME ? "Timing" : "Counting", failure.size(),
+                cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage());
+    }
+
+    private void setRunning(boolean running) {
+        runButton.setDisable(running);
+        stopButton.setDisable(!running);
+        algorithmChoice.setDisable(running);
+        distributionChoice.setDisable(running);
+        maxSizeChoice.setDisable(running);
+        trialsSpinner.setDisable(running);
+    }
+
+    /**
+     * Formats a power of 10 with a superscript exponent.
+     *
+     * @param exponent the exponent of the power
+     *
+     * @return the power, or an empty string if the exponent isn't an integer
+     */
+    private static String powerOfTen(double exponent) {
+        if (exponent != Math.rint(exponent)) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder("10");
+        for (char digit : Long.toString((long) exponent).toCharArray()) {
+            builder.append(digit == '-' ? '⁻' : SUPERSCRIPTS.charAt(digit - '0'));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The chart of a metric: the measurements and the best model fitted to them, both on log-log axes.
+     */
+    private static class Plot {
+        private final LineChart<Number, Number> chart;
+        private final XYChart.Series<Number, Number> measured = new XYChart.Series<>();
+        private final XYChart.Series<Number, Number> fitted = new XYChart.Series<>();
+        private final Label fitLabel = new Label();
+        private final TreeMap<Integer, Double> values = new TreeMap<>();
+
+        Plot(ComplexityAnalyzer.Metric metric) {
+            NumberAxis sizeAxis = logAxis("Size");
+            NumberAxis valueAxis = logAxis(metric.getDisplayName());
+            chart = new LineChart<>(sizeAxis, valueAxis);
+            chart.setTitle(metric.getDisplayName());
+            chart.setAnimated(false);
+            measured.setName("Measured");
+            chart.getData().add(measured);
+            chart.getData().add(fitted);
+            clear();
+        }
+
+        private static NumberAxis logAxis(String label) {
+            NumberAxis axis = new NumberAxis();
+            axis.setLabel(label);
+            axis.setForceZeroInRange(false);
+            axis.setMinorTickVisible(false);
+            axis.setTickLabelFormatter(new StringConverter<>() {
+                @Override
+                public String toString(Number exponent) {
+                    return powerOfTen(exponent.doubleValue());
+                }
+
+                @Override
+                public Number fromString(String power) {
+                    return null;
+                }
+            });
+            return axis;
+        }
+
+        void clear() {
+            values.clear();
+            measured.getData().clear();
+            fitted.getData().clear();
+            fitted.setName("Fit");
+            fitLabel.setText("Fit: waiting for 2 sizes");
+        }
+
+        /**
+         * Adds a measurement, then fits the measurements again.
+         *
+         * @param size the size of the array
+         * @param value the measured value
+         */
+        void add(int size, double value) {
+            values.put(size, value);
+            measured.getData().add(new XYChart.Data<>(Math.log10(size), Math.log10(Math.max(1, value))));
+            if (values.size() < 2) {
+                return;
+            }
+            ComplexityFit fit = ComplexityFit.fit(values.keySet().stream().mapToDouble(Integer::doubleValue).toArray(),
+                    values.values().stream().mapToDouble(Double::doubleValue).toArray());
+            GrowthModel model = fit.getBestModel();
+            fitted.setName("Fit: " + model.getDisplayName());
+            fitted.getData().clear();
+            for (int fittedSize : values.keySet()) {
+                XYChart.Data<Number, Number> data = new XYChart.Data<>(Math.log10(fittedSize),
+                        Math.log10(Math.max(1, fit.predict(model, fittedSize))));
+                fitted.getData().add(data);
+                // The fit is drawn as a line only, its points are the measured ones
+                data.getNode().setVisible(false);
+            }
+            fitLabel.setText(fit.getSummary());
+        }
+    }
+}
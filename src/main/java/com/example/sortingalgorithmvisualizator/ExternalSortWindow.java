@@ -0,0 +1,127 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.ExternalSortProgress;
+import com.example.sortingalgorithmvisualizator.engine.ExternalSorter;
+import javafx.animation.AnimationTimer;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.image.Image;
+import javafx.scene.layout.VBox;
+import javafx.scene.text.Font;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A window sorting a file of binary ints with an {@link ExternalSorter}, which shows the progress of the sort at the
+ * level of the blocks: the runs produced, the current merge pass and its fan-in, and the read and write throughput.
+ * The array itself is never drawn, since it doesn't fit in memory. Closing the window cancels the sort.
+ */
+class ExternalSortWindow {
+    private static final long RATE_INTERVAL = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final double MEGABYTE = 1 << 20;
+
+    private final Stage stage = new Stage();
+    private final ExternalSortProgress progress = new ExternalSortProgress();
+    private final Task<Void> task;
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Label phaseLabel = new Label();
+    private final Label runsLabel = new Label();
+    private final Label mergeLabel = new Label();
+    private final Label throughputLabel = new Label();
+    private final AnimationTimer progressTimer = new AnimationTimer() {
+        private long lastTime, lastRead, lastWritten;
+
+        @Override
+        public void handle(long now) {
+            if (now - lastTime < RATE_INTERVAL) {
+                return;
+            }
+            long read = progress.getBytesRead(), written = progress.getBytesWritten();
+            if (lastTime != 0) {
+                double seconds = (now - lastTime) / (double) TimeUnit.SECONDS.toNanos(1);
+                throughputLabel.setText(String.format("Read %,.1f MB/s   Written %,.1f MB/s   (%,.1f MB read, %,.1f MB written)",
+                        (read - lastRead) / MEGABYTE / seconds, (written - lastWritten) / MEGABYTE / seconds,
+                        read / MEGABYTE, written / MEGABYTE));
+            }
+            lastTime = now;
+            lastRead = read;
+            lastWritten = written;
+            updateProgress();
+        }
+    };
+    private long startTime;
+
+    /**
+     * @param input the file to sort
+     * @param output the sorted file
+     */
+    ExternalSortWindow(Path input, Path output) {
+        task = new Task<>() {
+            @Override
+            protected Void call() throws IOException {
+                new ExternalSorter().sort(input, output, progress);
+                return null;
+            }
+        };
+        task.setOnSucceeded(event -> finish(String.format("Sorted %,d ints in %,.3f s", progress.getInputBytes() / Integer.BYTES,
+                (System.nanoTime() - startTime) / (double) TimeUnit.SECONDS.toNanos(1))));
+        task.setOnFailed(event -> finish("Failed: " + task.getException().getMessage()));
+
+        Label fileLabel = new Label(input.getFileName() + " → " + output.getFileName());
+        fileLabel.setFont(new Font(14));
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        VBox box = new VBox(8, fileLabel, progressBar, phaseLabel, runsLabel, mergeLabel, throughputLabel);
+        box.setPadding(new Insets(10));
+        box.setPrefWidth(520);
+
+        stage.setTitle("External sort");
+        stage.getIcons().add(new Image(String.valueOf(getClass().getResource("icons/app_icon.png"))));
+        stage.setScene(new Scene(box));
+        stage.setOnHidden(event -> close());
+        updateProgress();
+    }
+
+    /**
+     * Shows the window and starts the sort.
+     */
+    void show() {
+        stage.show();
+        startTime = System.nanoTime();
+        Thread thread = new Thread(task, "external-sort");
+        thread.setDaemon(true);
+        thread.start();
+        progressTimer.start();
+    }
+
+    private void close() {
+        progressTimer.stop();
+        task.cancel();
+    }
+
+    private void finish(String message) {
+        progressTimer.stop();
+        updateProgress();
+        phaseLabel.setText(message);
+    }
+
+    /**
+     * Shows the current state of the sort. Called on the JavaFX thread.
+     */
+    private void updateProgress() {
+        progressBar.setProgress(progress.getFraction());
+        phaseLabel.setText(switch (progress.getPhase()) {
+            case SPLITTING -> "Sorting the chunks of the input";
+            case MERGING -> "Merging the runs";
+            case DONE -> "Done";
+        });
+        runsLabel.setText(String.format("Runs produced: %,d / %,d", progress.getRunsProduced(), progress.getExpectedRuns()));
+        mergeLabel.setText(progress.getMergePass() == 0 ? "Merge pass: -" : String.format("Merge pass: %d / %d   fan-in %,d   %,d runs left",
+                progress.getMergePass(), progress.getMergePasses(), progress.getFanIn(), progress.getPendingRuns()));
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.trace.Trace;
+import javafx.animation.AnimationTimer;
+import javafx.collections.FXCollections;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.Spinner;
+import javafx.scene.image.Image;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.stage.DirectoryChooser;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import javafx.util.StringConverter;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A window exporting the replay of a recorded sort as an animated GIF or a sequence of PNG images with a
+ * {@link FrameExporter}: the frames are drawn offscreen and encoded in parallel, so the export takes a fraction of the
+ * time of the playback. The replay is spread over the chosen duration at {@value #FRAMES_PER_SECOND} frames per
+ * second. Closing the window cancels the export.
+ */
+class FrameExportWindow {
+    static final int FRAMES_PER_SECOND = 50;
+    private static final int DEFAULT_DURATION = 10;
+    private static final int DEFAULT_WIDTH = 800;
+    private static final int DEFAULT_HEIGHT = 400;
+
+    private final Stage stage = new Stage();
+    private final Trace trace;
+    private final long operations;
+    private final int maxValue;
+    private final Color elementsColor;
+    private final ChoiceBox<FrameExporter.Format> formatChoice = new ChoiceBox<>();
+    private final Spinner<Integer> durationSpinner = new Spinner<>(1, 600, DEFAULT_DURATION);
+    private final Spinner<Integer> widthSpinner, heightSpinner;
+    private final Button exportButton = new Button("Export");
+    private final ProgressBar progressBar = new ProgressBar(0);
+    private final Label statusLabel = new Label();
+    private final AnimationTimer progressTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            updateProgress();
+        }
+    };
+    private FrameExporter exporter;
+    private long startTime;
+
+    /**
+     * @param trace the recorded sort
+     * @param operations the number of operations of the trace
+     * @param maxValue the value corresponding to the full height of the frames
+     * @param elementsColor the default color of the elements
+     * @param width the initial width of the frames, or 0 for the default one
+     * @param height the initial height of the frames, or 0 for the default one
+     */
+    FrameExportWindow(Trace trace, long operations, int maxValue, Color elementsColor, int width, int height) {
+        this.trace = trace;
+        this.operations = operations;
+        this.maxValue = maxValue;
+        this.elementsColor = elementsColor;
+
+        formatChoice.setItems(FXCollections.observableArrayList(FrameExporter.Format.values()));
+        formatChoice.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(FrameExporter.Format format) {
+                return format == null ? "" : format.getDisplayName();
+            }
+
+            @Override
+            public FrameExporter.Format fromString(String name) {
+                return null;
+            }
+        });
+        formatChoice.setValue(FrameExporter.Format.GIF);
+        widthSpinner = new Spinner<>(16, 4096, width > 0 ? width : DEFAULT_WIDTH);
+        heightSpinner = new Spinner<>(16, 4096, height > 0 ? height : DEFAULT_HEIGHT);
+        for (Spinner<Integer> spinner : List.of(durationSpinner, widthSpinner, heightSpinner)) {
+            spinner.setEditable(true);
+            spinner.setPrefWidth(80);
+        }
+        exportButton.setOnAction(event -> handleExport());
+        HBox controls = new HBox(10, formatChoice, new Label("Duration (s)"), durationSpinner, new Label("Size"),
+                widthSpinner, new Label("×"), heightSpinner, exportButton);
+        controls.setAlignment(Pos.CENTER_LEFT);
+        progressBar.setMaxWidth(Double.MAX_VALUE);
+        VBox box = new VBox(8, new Label(String.format("%s, %,d elements, %,d operations", trace.getAlgorithmName(),
+                trace.getArraySize(), operations)), controls, progressBar, statusLabel);
+        box.setPadding(new Insets(10));
+        box.setPrefWidth(640);
+
+        stage.setTitle("Export frames");
+        stage.getIcons().add(new Image(String.valueOf(getClass().getResource("icons/app_icon.png"))));
+        stage.setScene(new Scene(box));
+        stage.setOnHidden(event -> close());
+    }
+
+    void show() {
+        stage.show();
+    }
+
+    private void handleExport() {
+        FrameExporter.Format format = formatChoice.getValue();
+        String name = trace.getAlgorithmName().replace(' ', '-');
+        File output;
+        if (format == FrameExporter.Format.GIF) {
+            FileChooser fileChooser = new FileChooser();
+            fileChooser.setTitle("Export the frames");
+            fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("GIF images", "*.gif"));
+            fileChooser.setInitialFileName(name + ".gif");
+            output = fileChooser.showSaveDialog(stage);
+        } else {
+            DirectoryChooser directoryChooser = new DirectoryChooser();
+            directoryChooser.setTitle("Choose the directory of the frames");
+            output = directoryChooser.showDialog(stage);
+        }
+        if (output == null) {
+            return;
+        }
+
+        long frames = (long) durationSpinner.getValue() * FRAMES_PER_SECOND;
+        long operationsPerFrame = Math.max(1, (operations + frames - 2) / Math.max(1, frames - 1));
+        FrameRasterizer rasterizer = new FrameRasterizer(widthSpinner.getValue(), heightSpinner.getValue(),
+                trace.getInitialArray(), maxValue, elementsColor, Color.WHITE);
+        FrameExporter frameExporter = new FrameExporter(trace, operations, rasterizer, operationsPerFrame,
+                100 / FRAMES_PER_SECOND);
+        exporter = frameExporter;
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() throws Exception {
+                frameExporter.export(format, output.toPath(), Runtime.getRuntime().availableProcessors());
+                return null;
+            }
+        };
+        task.setOnSucceeded(event -> finish(String.format("Exported %,d frames to %s in %,.2f s",
+                frameExporter.getFramesWritten(), output.getName(),
+                (System.nanoTime() - startTime) / (double) TimeUnit.SECONDS.toNanos(1))));
+        task.setOnFailed(event -> finish(task.getException() instanceof CancellationException ? "Cancelled"
+                : "Failed: " + task.getException().getMessage()));
+        setControlsDisabled(true);
+        startTime = System.nanoTime();
+        Thread thread = new Thread(task, "frame-export");
+        thread.setDaemon(true);
+        thread.start();
+        progressTimer.start();
+    }
+
+    private void close() {
+        progressTimer.stop();
+        if (exporter != null) {
+            exporter.cancel();
+        }
+    }
+
+    private void finish(String message) {
+        progressTimer.stop();
+        updateProgress();
+        exporter = null;
+        setControlsDisabled(false);
+        statusLabel.setText(message);
+    }
+
+    private void setControlsDisabled(boolean disabled) {
+        formatChoice.setDisable(disabled);
+        durationSpinner.setDisable(disabled);
+        widthSpinner.setDisable(disabled);
+        heightSpinner.setDisable(disabled);
+        exportButton.setDisable(disabled);
+    }
+
+    /**
+     * Shows the frames drawn and written so far. Called on the JavaFX thread.
+     */
+    private void updateProgress() {
+        if (exporter == null) {
+            return;
+        }
+        long frames = exporter.getFrameCount();
+        progressBar.setProgress((double) exporter.getFramesWritten() / frames);
+        statusLabel.setText(String.format("Frames drawn: %,d / %,d   written: %,d", exporter.getFramesDrawn(), frames,
+                exporter.getFramesWritten()));
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.trace.Trace;
+import com.example.sortingalgorithmvisualizator.trace.TracePlayer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Exports the replay of a {@link Trace} as an animated GIF or as a sequence of PNG images, without showing it and
+ * without any delay between the operations. The frames are drawn one after the other by a {@link FrameRasterizer}
+ * on the calling thread, which replays a fixed number of operations between two frames, and each frame is encoded by
+ * a pool of workers while the next ones are drawn. At most {@link #QUEUE_FRAMES_PER_WORKER} frames per worker are
+ * queued: when the queue is full, the oldest frame is waited for and written, so the frames are written in order and
+ * the memory is bounded however long the trace is.
+ */
+class FrameExporter {
+    static final int QUEUE_FRAMES_PER_WORKER = 4;
+    /**
+     * The delay of the last frame of a GIF, in hundredths of a second, so the sorted array stays on the screen before
+     * the animation loops.
+     */
+    private static final int LAST_FRAME_DELAY = 200;
+
+    /**
+     * The supported formats.
+     */
+    enum Format {
+        GIF("Animated GIF"),
+        PNG("PNG sequence");
+
+        private final String displayName;
+
+        Format(String displayName) {
+            this.displayName = displayName;
+        }
+
+        String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    private final Trace trace;
+    private final long operations;
+    private final FrameRasterizer rasterizer;
+    private final long operationsPerFrame;
+    private final int frameDelay;
+    private volatile int framesDrawn, framesWritten;
+    private volatile boolean cancelled;
+
+    /**
+     * @param trace the trace to replay
+     * @param operations the number of operations of the trace, highlights excluded
+     * @param rasterizer the rasterizer drawing the frames, built on the initial array of the trace
+     * @param operationsPerFrame the number of operations replayed between two frames, at least 1
+     * @param frameDelay the time each frame of a GIF is shown, in hundredths of a second
+     */
+    FrameExporter(Trace trace, long operations, FrameRasterizer rasterizer, long operationsPerFrame, int frameDelay) {
+        this.trace = trace;
+        this.operations = operations;
+        this.rasterizer = rasterizer;
+        this.operationsPerFrame = Math.max(1, operationsPerFrame);
+        this.frameDelay = frameDelay;
+    }
+
+    /**
+     * Returns the number of frames of the export: the initial array, then a frame after each batch of operations.
+     *
+     * @return the number of frames
+     */
+    long getFrameCount() {
+        return 1 + (operations + operationsPerFrame - 1) / operationsPerFrame;
+    }
+
+    int getFramesDrawn() {
+        return framesDrawn;
+    }
+
+    int getFramesWritten() {
+        return framesWritten;
+    }
+
+    /**
+     * Stops the export before the next frame is drawn.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Exports the frames. A GIF is written to the given file, which is deleted if the export fails or is cancelled;
+     * the PNG images are written to the given directory, numbered from 0.
+     *
+     * @param format the format of the export
+     * @param output the GIF file, or the directory of the PNG images
+     * @param workers the number of threads encoding the frames
+     *
+     * @throws IOException if a frame cannot be written
+     * @throws CancellationException if the export has been cancelled
+     */
+    void export(Format format, Path output, int workers) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "frame-encoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            if (format == Format.GIF) {
+                exportGif(output, executor, workers);
+            } else {
+                exportPng(output, executor, workers);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void exportGif(Path file, ExecutorService executor, int workers) throws IOException {
+        GifEncoder encoder = new GifEncoder(rasterizer.getWidth(), rasterizer.getHeight(), rasterizer.getPalette());
+        boolean done = false;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            encoder.writeHeader(out);
+            Deque<Future<byte[]>> queue = new ArrayDeque<>();
+            TracePlayer player = new TracePlayer(trace, rasterizer);
+            byte[] previous = null;
+            while (true) {
+                checkCancelled();
+                byte[] pixels = rasterizer.draw(), previousPixels = previous;
+                framesDrawn++;
+                int delay = player.isAtEnd() ? LAST_FRAME_DELAY : frameDelay;
+                if (queue.size() == workers * QUEUE_FRAMES_PER_WORKER) {
+                    out.write(take(queue));
+                }
+                queue.add(executor.submit(() -> encoder.encodeFrame(pixels, previousPixels, delay)));
+                previous = pixels;
+                if (player.isAtEnd()) {
+                    break;
+                }
+                player.step(operationsPerFrame);
+            }
+            while (!queue.isEmpty()) {
+                out.write(take(queue));
+            }
+            encoder.writeTrailer(out);
+            done = true;
+        } finally {
+            if (!done) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void exportPng(Path directory, ExecutorService executor, int workers) throws IOException {
+        Files.createDirectories(directory);
+        int[] palette = rasterizer.getPalette();
+        IndexColorModel colorModel = new IndexColorModel(8, palette.length, palette, 0, false, -1,
+                DataBuffer.TYPE_BYTE);
+        int width = rasterizer.getWidth(), height = rasterizer.getHeight();
+        String name = "frame-%0" + Long.toString(getFrameCount() - 1).length() + "d.png";
+        Deque<Future<byte[]>> queue = new ArrayDeque<>();
+        TracePlayer player = new TracePlayer(trace, rasterizer);
+        for (int frame = 0; ; frame++) {
+            checkCancelled();
+            byte[] pixels = rasterizer.draw();
+            framesDrawn++;
+            if (queue.size() == workers * QUEUE_FRAMES_PER_WORKER) {
+                take(queue);
+            }
+            Path file = directory.resolve(String.format(name, frame));
+            queue.add(executor.submit(() -> {
+                WritableRaster raster = Raster.createInterleavedRaster(new DataBufferByte(pixels, pixels.length),
+                        width, height, width, 1, new int[]{0}, null);
+                ImageIO.write(new BufferedImage(colorModel, raster, false, null), "png", file.toFile());
+                return null;
+            }));
+            if (player.isAtEnd()) {
+                break;
+            }
+            player.step(operationsPerFrame);
+        }
+        while (!queue.isEmpty()) {
+            take(queue);
+        }
+    }
+
+    /**
+     * Waits for the oldest frame of the queue to be encoded.
+     *
+     * @param queue the frames being encoded, oldest first
+     *
+     * @return the encoded frame
+     *
+     * @throws IOException if the frame couldn't be written
+     */
+    private byte[] take(Deque<Future<byte[]>> queue) throws IOException {
+        try {
+            byte[] frame = queue.remove().get();
+            framesWritten++;
+            return frame;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The export has been interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException exception) {
+                throw exception;
+            }
+            if (e.getCause() instanceof UncheckedIOException exception) {
+                throw exception.getCause();
+            }
+            throw new IllegalStateException("Cannot encode the frame", e.getCause());
+        }
+    }
+
+    private void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("The export has been cancelled");
+        }
+    }
+}
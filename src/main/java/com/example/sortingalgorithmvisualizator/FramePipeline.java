@@ -0,0 +1,90 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Decouples a worker thread producing the operations of a sort from the JavaFX thread showing them.
+ * The worker, which must be the only producer, applies each operation to a private copy of the array and sets the bit
+ * of the changed element in a lock-free dirty bitset; once per frame the JavaFX thread drains the bitset and forwards
+ * the latest value and highlight of each dirty element. Any number of operations on the same element between two
+ * frames is coalesced into a single update, so the worker can run far ahead of the display without ever blocking or
+ * posting events to the JavaFX thread.
+ */
+public class FramePipeline implements SortListener {
+    private static final VarHandle DIRTY = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int[] values;
+    private final byte[] highlights;
+    private final long[] dirty;
+
+    /**
+     * @param array the array shown when the pipeline starts; it's copied
+     */
+    public FramePipeline(int[] array) {
+        values = Arrays.copyOf(array, array.length);
+        highlights = new byte[array.length];
+        dirty = new long[(array.length + 63) >>> 6];
+    }
+
+    @Override
+    public void onSwap(int index1, int index2) {
+        int tmp = values[index1];
+        values[index1] = values[index2];
+        values[index2] = tmp;
+        markDirty(index1);
+        markDirty(index2);
+    }
+
+    @Override
+    public void onWrite(int index, int value) {
+        values[index] = value;
+        markDirty(index);
+    }
+
+    @Override
+    public void onHighlight(int index, byte highlight) {
+        highlights[index] = highlight;
+        markDirty(index);
+    }
+
+    /**
+     * Forwards the current value and highlight of every element changed since the last call, and clears the dirty
+     * bitset. Called by the consumer thread.
+     *
+     * @param target the listener receiving the updates
+     *
+     * @return the number of updated elements
+     */
+    public int drainTo(SortListener target) {
+        int updated = 0;
+        for (int word = 0; word < dirty.length; word++) {
+            if ((long) DIRTY.getOpaque(dirty, word) == 0) {
+                continue;
+            }
+            // The atomic read-and-clear makes every write done before setting the bits visible here
+            long bits = (long) DIRTY.getAndSet(dirty, word, 0L);
+            while (bits != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                target.onWrite(index, values[index]);
+                target.onHighlight(index, highlights[index]);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Marks the element at the given index as changed. The atomic or publishes the preceding writes to the consumer,
+     * even when the bit was already set.
+     *
+     * @param index the index of the changed element
+     */
+    private void markDirty(int index) {
+        DIRTY.getAndBitwiseOr(dirty, index >>> 6, 1L << index);
+    }
+}
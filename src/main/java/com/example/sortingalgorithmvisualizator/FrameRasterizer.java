@@ -0,0 +1,167 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.Highlight;
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+import javafx.scene.paint.Color;
+
+/**
+ * Draws the array the same way as a {@link BarRenderer}, but offscreen and without the JavaFX thread: each frame is
+ * a new array of indexes into a small opaque palette, which can be encoded as a GIF or an indexed PNG on another
+ * thread while the next frame is drawn. The changes are notified as a {@link SortListener}, typically by a
+ * {@link com.example.sortingalgorithmvisualizator.trace.TracePlayer}, and only update a {@link MinMaxTree}, so the
+ * cost of a frame depends on the size of the image, not on the number of operations since the previous one.
+ * The palette has the background at index 0, then the solid color of each highlight, then its half transparent
+ * variant drawn over the background, used for the ranges of the columns showing several elements.
+ */
+class FrameRasterizer implements SortListener {
+    private static final int HIGHLIGHTS = Highlight.WORKER + Highlight.WORKER_COUNT;
+    private static final int MIN_WIDTH_WITH_GAP = 4;
+
+    private final int width, height;
+    private final int[] values;
+    private final byte[] highlights;
+    private final int maxValue;
+    private final MinMaxTree tree;
+    private final int[] palette = new int[1 + 2 * HIGHLIGHTS];
+    // The bar of each column, computed before the frame is filled row by row
+    private final byte[] columnColors, columnRangeColors;
+    private final int[] columnMinTops, columnMaxTops;
+
+    /**
+     * @param width the width of the frames, in pixels
+     * @param height the height of the frames, in pixels
+     * @param array the initial values, which are copied
+     * @param maxValue the value corresponding to the full height of the frames
+     * @param elementsColor the color of the elements which aren't highlighted
+     * @param background the color of the background
+     */
+    FrameRasterizer(int width, int height, int[] array, int maxValue, Color elementsColor, Color background) {
+        this.width = width;
+        this.height = height;
+        this.values = array.clone();
+        this.highlights = new byte[array.length];
+        this.maxValue = Math.max(1, maxValue);
+        this.tree = new MinMaxTree(values, highlights);
+        columnColors = new byte[width];
+        columnRangeColors = new byte[width];
+        columnMinTops = new int[width];
+        columnMaxTops = new int[width];
+
+        palette[0] = rgb(background);
+        for (int highlight = 0; highlight < HIGHLIGHTS; highlight++) {
+            Color color = switch (highlight) {
+                case Highlight.NONE -> elementsColor;
+                case Highlight.ACTIVE -> BarRenderer.CYAN;
+                case Highlight.PIVOT -> BarRenderer.YELLOW;
+                case Highlight.SORTED -> BarRenderer.LIGHT_LIME;
+                case Highlight.SPECIAL -> BarRenderer.RED;
+                default -> BarRenderer.workerColor(highlight - Highlight.WORKER);
+            };
+            palette[1 + highlight] = rgb(color);
+            palette[1 + HIGHLIGHTS + highlight] = rgb(background.interpolate(color, 0.5));
+        }
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the colors of the frames.
+     *
+     * @return the opaque colors, as 0xRRGGBB
+     */
+    int[] getPalette() {
+        return palette.clone();
+    }
+
+    @Override
+    public void onSwap(int index1, int index2) {
+        int tmp = values[index1];
+        values[index1] = values[index2];
+        values[index2] = tmp;
+        tree.invalidate(index1);
+        tree.invalidate(index2);
+    }
+
+    @Override
+    public void onWrite(int index, int value) {
+        values[index] = value;
+        tree.invalidate(index);
+    }
+
+    @Override
+    public void onHighlight(int index, byte highlight) {
+        highlights[index] = highlight;
+        tree.invalidate(index);
+    }
+
+    /**
+     * Draws the current state of the array.
+     *
+     * @return the palette index of each pixel, row by row
+     */
+    byte[] draw() {
+        tree.flush();
+        for (int column = 0; column < width; column++) {
+            computeColumn(column);
+        }
+        byte[] pixels = new byte[width * height];
+        for (int y = 0, offset = 0; y < height; y++, offset += width) {
+            for (int column = 0; column < width; column++) {
+                if (y >= columnMaxTops[column]) {
+                    pixels[offset + column] = y < columnMinTops[column] ? columnRangeColors[column]
+                            : columnColors[column];
+                }
+            }
+        }
+        return pixels;
+    }
+
+    /**
+     * Computes the bar of the given column: solid from its min top, half transparent from its max top.
+     *
+     * @param column the index of the column
+     */
+    private void computeColumn(int column) {
+        int length = values.length;
+        if (length > width) {
+            int from = (int) (((long) column * length + width - 1) / width);
+            int to = (int) (((column + 1L) * length + width - 1) / width);
+            tree.query(from, to);
+            columnColors[column] = (byte) (1 + tree.getHighlight());
+            columnRangeColors[column] = (byte) (1 + HIGHLIGHTS + tree.getHighlight());
+            columnMinTops[column] = height - barHeight(tree.getMin());
+            columnMaxTops[column] = height - barHeight(tree.getMax());
+            return;
+        }
+        int top = height;
+        if (length > 0) {
+            int index = (int) ((long) column * length / width);
+            boolean gap = width >= MIN_WIDTH_WITH_GAP * length && firstColumn(index + 1) - 1 == column;
+            if (!gap) {
+                columnColors[column] = (byte) (1 + highlights[index]);
+                top = height - barHeight(values[index]);
+            }
+        }
+        columnMinTops[column] = top;
+        columnMaxTops[column] = top;
+    }
+
+    private int barHeight(int value) {
+        return (int) Math.min(height, Math.max(0L, (long) value * height / maxValue));
+    }
+
+    private int firstColumn(int index) {
+        return (int) (((long) index * width + values.length - 1) / Math.max(1, values.length));
+    }
+
+    private static int rgb(Color color) {
+        return (int) Math.round(color.getRed() * 255) << 16 | (int) Math.round(color.getGreen() * 255) << 8
+                | (int) Math.round(color.getBlue() * 255);
+    }
+}
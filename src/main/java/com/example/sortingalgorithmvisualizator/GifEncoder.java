@@ -0,0 +1,227 @@
+package com.example.sortingalgorithmvisualizator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes an animated GIF whose frames are arrays of palette indexes, all sharing a global palette of at most 256
+ * colors. Each frame is encoded independently of the others into a self-contained block, so the frames can be
+ * encoded in parallel and the blocks written in order between {@link #writeHeader(OutputStream)} and
+ * {@link #writeTrailer(OutputStream)}. A frame only stores the rectangle which differs from the previous frame, drawn
+ * over it.
+ */
+class GifEncoder {
+    private static final int MAX_CODE = 4095;
+    private static final int MAX_BLOCK = 255;
+
+    private final int width, height;
+    private final int[] palette;
+    private final int colorBits;
+
+    /**
+     * @param width the width of the frames, in pixels
+     * @param height the height of the frames, in pixels
+     * @param palette the colors of the frames, as 0xRRGGBB, at most 256
+     */
+    GifEncoder(int width, int height, int[] palette) {
+        if (palette.length > 256 || width > 0xFFFF || height > 0xFFFF) {
+            throw new IllegalArgumentException("A GIF has at most 256 colors and 65535 pixels per side");
+        }
+        this.width = width;
+        this.height = height;
+        // The global palette has a power of 2 of colors, and at least 4 since the LZW codes have at least 2 bits
+        this.colorBits = Math.max(2, 32 - Integer.numberOfLeadingZeros(Math.max(1, palette.length - 1)));
+        this.palette = Arrays.copyOf(palette, 1 << colorBits);
+    }
+
+    /**
+     * Writes the header of the file: its size, the global palette, and an extension looping the animation forever.
+     *
+     * @param stream the stream of the file
+     *
+     * @throws IOException if the stream fails
+     */
+    void writeHeader(OutputStream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes("GIF89a".getBytes(StandardCharsets.US_ASCII));
+        writeShort(out, width);
+        writeShort(out, height);
+        out.write(0x80 | (colorBits - 1) << 4 | colorBits - 1);
+        out.write(0); // Background color index
+        out.write(0); // Pixel aspect ratio
+        for (int color : palette) {
+            out.write(color >>> 16);
+            out.write(color >>> 8);
+            out.write(color);
+        }
+        // NETSCAPE2.0 application extension: loop forever
+        out.writeBytes(new byte[]{0x21, (byte) 0xFF, 11, 'N', 'E', 'T', 'S', 'C', 'A', 'P', 'E', '2', '.', '0', 3, 1, 0, 0,
+                0});
+        out.writeTo(stream);
+    }
+
+    /**
+     * Writes the end of the file.
+     *
+     * @param out the stream of the file
+     *
+     * @throws IOException if the stream fails
+     */
+    void writeTrailer(OutputStream out) throws IOException {
+        out.write(0x3B);
+    }
+
+    /**
+     * Encodes a frame. Can be called by several threads at once.
+     *
+     * @param pixels the palette index of each pixel, row by row
+     * @param previous the pixels of the previous frame, or null for the first frame
+     * @param delay the time the frame is shown, in hundredths of a second
+     *
+     * @return the block of the frame
+     */
+    byte[] encodeFrame(byte[] pixels, byte[] previous, int delay) {
+        // The bounding box of the changed pixels; an unchanged frame keeps a single pixel, to hold its delay
+        int left = 0, top = 0, right = width - 1, bottom = height - 1;
+        if (previous != null) {
+            left = width;
+            top = height;
+            right = -1;
+            bottom = -1;
+            for (int y = 0, offset = 0; y < height; y++, offset += width) {
+                for (int x = 0; x < width; x++) {
+                    if (pixels[offset + x] != previous[offset + x]) {
+                        left = Math.min(left, x);
+                        right = Math.max(right, x);
+                        top = Math.min(top, y);
+                        bottom = y;
+                    }
+                }
+            }
+            if (right < 0) {
+                left = right = top = bottom = 0;
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // Graphic control extension: don't dispose the frame, so the next one is drawn over it
+        out.write(0x21);
+        out.write(0xF9);
+        out.write(4);
+        out.write(1 << 2);
+        writeShort(out, delay);
+        out.write(0); // Transparent color index, unused
+        out.write(0);
+        // Image descriptor, without a local palette
+        out.write(0x2C);
+        writeShort(out, left);
+        writeShort(out, top);
+        writeShort(out, right - left + 1);
+        writeShort(out, bottom - top + 1);
+        out.write(0);
+        out.write(colorBits);
+        new LzwWriter(out, colorBits).write(pixels, width, left, top, right, bottom);
+        return out.toByteArray();
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xFF);
+        out.write(value >>> 8 & 0xFF);
+    }
+
+    /**
+     * The variable length LZW compression of the GIF format, packing the codes in sub-blocks of at most
+     * {@value #MAX_BLOCK} bytes. The dictionary is a table of the code extending each code with each color.
+     */
+    private static class LzwWriter {
+        private final ByteArrayOutputStream out;
+        private final int colorBits;
+        private final int clearCode, endCode;
+        private final short[] children;
+        private final byte[] block = new byte[MAX_BLOCK];
+        private int blockLength;
+        private int codeBits, nextCode;
+        private int bitBuffer, bitCount;
+
+        LzwWriter(ByteArrayOutputStream out, int colorBits) {
+            this.out = out;
+            this.colorBits = colorBits;
+            clearCode = 1 << colorBits;
+            endCode = clearCode + 1;
+            children = new short[(MAX_CODE + 1) << colorBits];
+        }
+
+        void write(byte[] pixels, int width, int left, int top, int right, int bottom) {
+            reset();
+            writeCode(clearCode);
+            int prefix = -1;
+            for (int y = top; y <= bottom; y++) {
+                for (int x = left, offset = y * width + left; x <= right; x++, offset++) {
+                    int color = pixels[offset] & 0xFF;
+                    if (prefix < 0) {
+                        prefix = color;
+                        continue;
+                    }
+                    int child = children[prefix << colorBits | color];
+                    if (child != 0) {
+                        prefix = child;
+                        continue;
+                    }
+                    writeCode(prefix);
+                    if (nextCode <= MAX_CODE) {
+                        children[prefix << colorBits | color] = (short) nextCode;
+                        // The decoder widens the codes one code later than the encoder adds them
+                        if (nextCode++ == 1 << codeBits && codeBits < 12) {
+                            codeBits++;
+                        }
+                    } else {
+                        writeCode(clearCode);
+                        reset();
+                    }
+                    prefix = color;
+                }
+            }
+            writeCode(prefix);
+            writeCode(endCode);
+            if (bitCount > 0) {
+                writeByte(bitBuffer);
+            }
+            flushBlock();
+            out.write(0); // Block terminator
+        }
+
+        private void reset() {
+            Arrays.fill(children, (short) 0);
+            codeBits = colorBits + 1;
+            nextCode = endCode + 1;
+        }
+
+        private void writeCode(int code) {
+            bitBuffer |= code << bitCount;
+            bitCount += codeBits;
+            while (bitCount >= 8) {
+                writeByte(bitBuffer);
+                bitBuffer >>>= 8;
+                bitCount -= 8;
+            }
+        }
+
+        private void writeByte(int value) {
+            block[blockLength++] = (byte) value;
+            if (blockLength == MAX_BLOCK) {
+                flushBlock();
+            }
+        }
+
+        private void flushBlock() {
+            if (blockLength > 0) {
+                out.write(blockLength);
+                out.write(block, 0, blockLength);
+                blockLength = 0;
+            }
+        }
+    }
+}
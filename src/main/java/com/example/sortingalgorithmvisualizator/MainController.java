@@ -1,25 +1,41 @@
 package com.example.sortingalgorithmvisualizator;
 
-import javafx.application.Platform;
+import com.example.sortingalgorithmvisualizator.engine.*;
+import com.example.sortingalgorithmvisualizator.trace.MappedTrace;
+import com.example.sortingalgorithmvisualizator.trace.Trace;
+import com.example.sortingalgorithmvisualizator.trace.TraceCheckpoints;
+import com.example.sortingalgorithmvisualizator.trace.TraceFileWriter;
+import com.example.sortingalgorithmvisualizator.trace.TraceLengthCounter;
+import com.example.sortingalgorithmvisualizator.trace.TracePlayer;
+import com.example.sortingalgorithmvisualizator.trace.TraceRecorder;
+import javafx.animation.AnimationTimer;
 import javafx.collections.FXCollections;
 import javafx.concurrent.Task;
 import javafx.fxml.FXML;
-import javafx.scene.chart.BarChart;
-import javafx.scene.chart.CategoryAxis;
-import javafx.scene.chart.NumberAxis;
-import javafx.scene.chart.XYChart;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
+import javafx.stage.FileChooser;
+import javafx.util.StringConverter;
 
 import java.util.*;
 import java.awt.Desktop;
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
 public class MainController {
@@ -31,62 +47,165 @@ public class MainController {
     @FXML
     private ComboBox<String> sortingAlgorithmChoice;
     @FXML
-    private Label arraySizeValueLabel, arrayRangeValueLabel, timeElapsedLabel, timeElapsedValueLabel, infoLabel;
+    private Label arraySizeValueLabel, arrayRangeValueLabel, timeElapsedLabel, timeElapsedValueLabel, infoLabel, statsLabel;
     @FXML
-    private Button sortButton;
+    private Button sortButton, exportTraceButton, exportFramesButton, recordProfileButton;
     @FXML
-    private Spinner<Integer> delayPicker;
+    private Slider speedSlider;
+    @FXML
+    private Label speedValueLabel;
 
     @FXML
     private ColorPicker arrayColorPicker;
+    @FXML
+    private HBox distributionBox;
+    @FXML
+    private ComboBox<InputDistribution> distributionChoice;
+    @FXML
+    private TextField seedField;
 
     private static final int DEFAULT_ARRAY_SIZE = 50;
     private static final int DEFAULT_ARRAY_RANGE = 100;
-    private static final int MIN_DELAY = 0;
-    private static final int DEFAULT_DELAY = 100;
-    private static final int MAX_DELAY = 1000;
-    private static final double MIN_DELAY_SIZE_RATIO = 0.4;
-    private static final String DEFAULT_ARRAY_COLOR = "-fx-background-color: #CC0066";
-
-    private BarChart<String, Number> barChart;
-    private CategoryAxis xAxis;
-    private NumberAxis yAxis;
-    static int barsNumber;
-    static int valueRange;
-    static long currentDelay;
-    private String sortingAlgorithm, selectedColor;
+    /**
+     * The speed slider is logarithmic: its value is the decimal logarithm of the number of operations per second,
+     * from 1 operation per second, and its end ({@value #MAX_SPEED_EXPONENT}) runs at full speed.
+     */
+    private static final int MAX_SPEED_EXPONENT = 8;
+    private static final double DEFAULT_SPEED_EXPONENT = 1;
+    private static final int MIN_ARRAY_SIZE = 2;
+    /**
+     * The largest array which can be chosen. The records of the trace of its sort are counted first: the trace is
+     * recorded in memory if it fits in {@link #MAX_TRACE_BYTES}, otherwise it's streamed to a temporary file if it
+     * fits in half of the free space of the disk, otherwise the sort is refused.
+     */
+    private static final int MAX_ARRAY_SIZE = 1_000_000;
+    /**
+     * The max size of a trace kept in memory: a quarter of the max heap.
+     */
+    private static final long MAX_TRACE_BYTES = Runtime.getRuntime().maxMemory() / 4;
+    private static final int MAX_QUADRATIC_SIZE = 20_000;
+    private static final Color DEFAULT_ARRAY_COLOR = Color.web("#CC0066");
+    private static final int COMPUTE_TIME_REPETITIONS = 5;
+    private static final FileChooser.ExtensionFilter TRACE_FILES = new FileChooser.ExtensionFilter("Trace files", "*.trace");
+    private static final FileChooser.ExtensionFilter RECORDING_FILES = new FileChooser.ExtensionFilter("Flight recordings", "*.jfr");
+    private static final FileChooser.ExtensionFilter INT_FILES = new FileChooser.ExtensionFilter("Binary int files", "*.bin", "*.*");
+
+    private BarRenderer barRenderer;
+    private int barsNumber;
+    private int valueRange;
+    private double operationsPerSecond;
+    private String sortingAlgorithm;
+    private Color selectedColor;
+    private long arraySeed;
+    private Task<Recording> sortTask;
+    private TracePlayback playback;
+    private final AnimationTimer statsTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            showStats();
+            updateTimeline();
+        }
+    };
+    private Recording recording;
+    private TracePlayer player;
+    private Slider timelineSlider;
+    private Label timelineLabel;
+    private Button pauseButton, stepButton;
+    private ToggleButton reverseButton;
+    private boolean updatingTimeline;
+
+    /**
+     * The result of a sort run at full speed: its trace and its snapshots, the seed of its initial array, the counters
+     * of all its operations, its compute time and the statistics specific to the algorithm, if any, as a summary line
+     * and in full. The last four are unknown (null, -1, null and null) for a trace read from a file. A trace too long
+     * for the heap is mapped from a temporary file, deleted when the trace is closed.
+     */
+    private record Recording(Trace trace, TraceCheckpoints checkpoints, long seed, OperationCounter counter,
+                             long computeNanos, String summary, String details, Path temporaryFile) {
+    }
 
     @FXML
     public void initialize() {
-        xAxis = new CategoryAxis();
-        yAxis = new NumberAxis();
-
-        arraySizeSlider.setValue(DEFAULT_ARRAY_SIZE);
+        barRenderer = new BarRenderer();
+        timelineSlider = new Slider(0, 1, 0);
+        timelineSlider.setDisable(true);
+        timelineSlider.valueProperty().addListener((observable, oldValue, newValue) -> {
+            if (!updatingTimeline && playback != null) {
+                playback.seek(newValue.longValue());
+            }
+        });
+        HBox.setHgrow(timelineSlider, Priority.ALWAYS);
+        timelineLabel = new Label();
+        timelineLabel.setMinWidth(180);
+        pauseButton = new Button("Pause");
+        pauseButton.setMinWidth(70);
+        pauseButton.setOnAction(event -> handlePause());
+        stepButton = new Button("Step");
+        stepButton.setOnAction(event -> playback.getController().step(1));
+        // Replays the trace backwards, from the current operation; Step then undoes one operation at a time
+        reverseButton = new ToggleButton("Reverse");
+        reverseButton.selectedProperty().addListener((observable, oldValue, reversed) -> {
+            if (playback != null) {
+                playback.setReversed(reversed);
+            }
+        });
+        setRunControlsDisabled(true);
+        HBox timeline = new HBox(10, pauseButton, stepButton, reverseButton, timelineSlider, timelineLabel);
+        timeline.setAlignment(Pos.CENTER);
+        timeline.setPadding(new Insets(5, 20, 0, 20));
+        VBox.setVgrow(barRenderer, Priority.ALWAYS);
+        pane.setCenter(new VBox(barRenderer, timeline));
+
+        // The slider is logarithmic, so both small and huge arrays can be chosen
+        arraySizeSlider.setMin(Math.log10(MIN_ARRAY_SIZE));
+        arraySizeSlider.setMax(Math.log10(MAX_ARRAY_SIZE));
+        arraySizeSlider.setValue(Math.log10(DEFAULT_ARRAY_SIZE));
         arraySizeValueLabel.setText(Integer.toString(DEFAULT_ARRAY_SIZE));
 
         arrayRangeSlider.setValue(DEFAULT_ARRAY_RANGE);
         arrayRangeValueLabel.setText(Integer.toString(DEFAULT_ARRAY_RANGE));
 
-        SpinnerValueFactory<Integer> delaySpinner = new SpinnerValueFactory.IntegerSpinnerValueFactory(MIN_DELAY, MAX_DELAY);
-        delaySpinner.setValue(DEFAULT_DELAY);
-        delayPicker.setValueFactory(delaySpinner);
+        speedSlider.setMin(0);
+        speedSlider.setMax(MAX_SPEED_EXPONENT);
+        speedSlider.setValue(DEFAULT_SPEED_EXPONENT);
 
         timeElapsedLabel.setVisible(false);
         timeElapsedValueLabel.setVisible(false);
         infoLabel.setVisible(false);
+        statsLabel.setVisible(false);
 
         barsNumber = DEFAULT_ARRAY_SIZE;
         valueRange = DEFAULT_ARRAY_RANGE;
-        currentDelay = DEFAULT_DELAY;
+        setSpeed(DEFAULT_SPEED_EXPONENT);
         selectedColor = DEFAULT_ARRAY_COLOR;
 
+        distributionChoice.setItems(FXCollections.observableArrayList(InputDistribution.values()));
+        distributionChoice.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(InputDistribution distribution) {
+                return distribution == null ? "" : distribution.getDisplayName();
+            }
+
+            @Override
+            public InputDistribution fromString(String name) {
+                return null;
+            }
+        });
+        distributionChoice.setValue(InputDistribution.UNIFORM);
+        distributionChoice.valueProperty().addListener((observable, oldValue, newValue) -> handleReset());
+        arraySeed = new SplittableRandom().nextLong();
+        seedField.setText(Long.toString(arraySeed));
+        seedField.focusedProperty().addListener((observable, oldValue, focused) -> {
+            if (!focused) {
+                handleSeed();
+            }
+        });
+
         fillArray(selectedColor);
 
         arraySizeSlider.valueProperty().addListener((observable, oldValue, newValue) -> {
-            barsNumber = (int) arraySizeSlider.getValue();
+            barsNumber = (int) Math.round(Math.pow(10, arraySizeSlider.getValue()));
             arraySizeValueLabel.setText(Integer.toString(barsNumber));
-            currentDelay = Math.round(barsNumber * MIN_DELAY_SIZE_RATIO);
-            delaySpinner.setValue(Math.toIntExact(currentDelay));
         });
 
         arrayRangeSlider.valueProperty().addListener((observable, oldValue, newValue) -> {
@@ -94,126 +213,512 @@ public class MainController {
             arrayRangeValueLabel.setText(Integer.toString(valueRange));
         });
 
-        delayPicker.getEditor().textProperty().addListener((observable, oldValue, newValue) -> {
-            if (newValue.length() < 1) {
-                delayPicker.getEditor().setText("");
-            } else if (!newValue.matches("\\d*")) {
-                delayPicker.getEditor().setText(oldValue);
-            } else if (Long.parseLong(newValue) > Integer.MAX_VALUE) {
-                delayPicker.getEditor().setText(oldValue);
-            }
-        });
-
-        delayPicker.valueProperty().addListener((observable, oldValue, newValue) -> {
-            try {
-                Integer.parseInt(delayPicker.getEditor().textProperty().get());
-                if (delayPicker.getValue() < barsNumber * MIN_DELAY_SIZE_RATIO) {
-                    currentDelay = Math.round(barsNumber * MIN_DELAY_SIZE_RATIO);
-                } else {
-                    currentDelay = delayPicker.getValue();
-                }
-                delaySpinner.setValue(Math.toIntExact(currentDelay));
-            } catch (NumberFormatException ignored) {
-                currentDelay = Math.round(barsNumber * MIN_DELAY_SIZE_RATIO);
+        speedSlider.valueProperty().addListener((observable, oldValue, newValue) -> {
+            setSpeed(newValue.doubleValue());
+            if (playback != null) {
+                playback.getController().setOperationsPerSecond(operationsPerSecond);
             }
-            delaySpinner.setValue(Math.toIntExact(currentDelay));
         });
 
-        sortingAlgorithmChoice.setItems(FXCollections.observableArrayList("Bubble sort", "Cocktail sort", "Heap " + "sort", "Insertion sort", "Merge sort", "Quick sort", "Radix sort", "Selection sort"));
-    }
-
-    public void initializeBarChart() {
-        barChart.setLegendVisible(false);
-        barChart.setHorizontalGridLinesVisible(false);
-        barChart.setVerticalGridLinesVisible(false);
-        barChart.setHorizontalZeroLineVisible(false);
-        barChart.setVerticalZeroLineVisible(false);
-        barChart.getXAxis().setTickLabelsVisible(false);
-        barChart.getXAxis().setOpacity(0);
-        barChart.setBarGap(0);
-        barChart.setAnimated(false);
+        sortingAlgorithmChoice.setItems(FXCollections.observableArrayList(
+                Arrays.stream(Algorithm.values()).map(Algorithm::getDisplayName).toList()));
     }
 
-    private void fillArray(String selectedColor) {
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-        barChart = new BarChart<>(xAxis, yAxis);
-        initializeBarChart();
-        for (int i = 0; i < barsNumber; i++) {
-            series.getData().add(new XYChart.Data<>(Integer.toString(i), new Random().nextInt(valueRange) + 1));
+    /**
+     * Applies the value of the speed slider.
+     *
+     * @param exponent the decimal logarithm of the number of operations per second, or
+     * {@value #MAX_SPEED_EXPONENT} to run at full speed
+     */
+    private void setSpeed(double exponent) {
+        if (exponent >= MAX_SPEED_EXPONENT) {
+            operationsPerSecond = Double.POSITIVE_INFINITY;
+            speedValueLabel.setText("Max");
+            return;
         }
-        barChart.getData().add(series);
-        pane.setCenter(barChart);
+        operationsPerSecond = Math.pow(10, exponent);
+        if (operationsPerSecond < 1_000) {
+            speedValueLabel.setText(String.format("%.0f op/s", operationsPerSecond));
+        } else if (operationsPerSecond < 1_000_000) {
+            speedValueLabel.setText(String.format("%.1fk op/s", operationsPerSecond / 1_000));
+        } else {
+            speedValueLabel.setText(String.format("%.1fM op/s", operationsPerSecond / 1_000_000));
+        }
+    }
 
-        for (int i = 0; i < barsNumber; i++)
-            series.getData().get(i).getNode().setStyle(selectedColor);
+    private void fillArray(Color selectedColor) {
+        // The seed is saved with the exported traces, so the array can be generated again
+        int[] array = distributionChoice.getValue().generate(barsNumber, valueRange, arraySeed);
+        barRenderer.setElementsColor(selectedColor);
+        barRenderer.setArray(array, valueRange);
     }
 
     @FXML
     public void handleReset() {
-        barChart.getData().clear();
-        selectedColor = "-fx-background-color: #" + String.valueOf(arrayColorPicker.getValue()).substring(2, 8);
+        if (sortTask != null) {
+            sortTask.cancel();
+            sortTask = null;
+        }
+        if (playback != null) {
+            playback.stop();
+            playback = null;
+        }
+        barRenderer.setPipeline(null);
+        statsTimer.stop();
+        statsLabel.setVisible(false);
+        closeTrace();
+        recording = null;
+        player = null;
+        updatingTimeline = true;
+        timelineSlider.setValue(0);
+        updatingTimeline = false;
+        timelineSlider.setDisable(true);
+        timelineLabel.setText("");
+        setRunControlsDisabled(true);
+        exportTraceButton.setDisable(true);
+        exportFramesButton.setDisable(true);
+        recordProfileButton.setDisable(true);
+        selectedColor = arrayColorPicker.getValue();
         fillArray(selectedColor);
         sortButton.setDisable(false);
         timeElapsedLabel.setVisible(false);
         timeElapsedValueLabel.setVisible(false);
-        delayPicker.setEditable(true);
-        delayPicker.setDisable(false);
         arraySizeSlider.setDisable(false);
         arrayRangeSlider.setDisable(false);
+        distributionBox.setDisable(false);
+    }
+    /**
+     * Applies the seed typed by the user, and generates the array again if it has changed.
+     */
+    @FXML
+    public void handleSeed() {
+        try {
+            long seed = Long.parseLong(seedField.getText().trim());
+            if (seed != arraySeed) {
+                arraySeed = seed;
+                handleReset();
+            }
+        } catch (NumberFormatException e) {
+            seedField.setText(Long.toString(arraySeed));
+        }
     }
+
+    @FXML
+    public void handleNewSeed() {
+        arraySeed = new SplittableRandom().nextLong();
+        seedField.setText(Long.toString(arraySeed));
+        handleReset();
+    }
+
     @FXML
     public void handleSort() {
-        delayPicker.setDisable(true);
         arraySizeSlider.setDisable(true);
         arrayRangeSlider.setDisable(true);
+        distributionBox.setDisable(true);
         sortButton.setDisable(true);
         sortingAlgorithm = sortingAlgorithmChoice.getSelectionModel().getSelectedItem();
         if (sortingAlgorithm == null) {
             showNoSelectedAlgorithmAlert();
+            return;
         }
-        Task task = new Task() {
+        Algorithm algorithm = Algorithm.fromName(sortingAlgorithm);
+        if (algorithm.isQuadratic(distributionChoice.getValue()) && barsNumber > MAX_QUADRATIC_SIZE) {
+            showQuadraticLimitAlert();
+            return;
+        }
+        Sorter sorter = algorithm.newSorter();
+        int[] values = barRenderer.getArray();
+        long seed = arraySeed;
+
+        // The sort is recorded at full speed, then its trace is replayed on the renderer
+        long startTime = System.nanoTime();
+        RunController recordingController = new RunController(Double.POSITIVE_INFINITY);
+        Task<Recording> task = new Task<>() {
             @Override
-            protected Object call() {
+            protected Recording call() throws IOException {
+                long computeNanos = OperationCounter.computeNanos(sorter, values, COMPUTE_TIME_REPETITIONS);
+                // The statistics of the unlistened runs, whose timings aren't slowed down by the recording
+                String summary = null, details = null;
+                if (sorter instanceof SampleSorter sampleSorter) {
+                    summary = sampleSorter.getLastStatistics().getSummary();
+                    details = sampleSorter.getLastStatistics().toString();
+                } else if (sorter instanceof AutoSorter autoSorter) {
+                    summary = autoSorter.getLastDecision().getSummary();
+                    details = autoSorter.getLastDecision().toString();
+                }
+                // The trace is counted before being recorded, so a trace which can't be held isn't even started
+                TraceLengthCounter lengthCounter = new TraceLengthCounter(values);
+                sorter.sort(Arrays.copyOf(values, values.length), recordingController.control(lengthCounter));
+                OperationCounter counter = new OperationCounter();
+                if (lengthCounter.length() <= TraceRecorder.MAX_LENGTH
+                        && lengthCounter.getRecordBytes() <= MAX_TRACE_BYTES) {
+                    TraceRecorder recorder = new TraceRecorder(sorter.getName(), values, lengthCounter.length());
+                    SortProfiler.sort(sorter, values, recordingController.control(recorder.andThen(counter)), counter);
+                    Trace trace = recorder.toTrace();
+                    TraceCheckpoints checkpoints = TraceCheckpoints.build(trace, recorder.getOperationCount(),
+                            TraceCheckpoints.DEFAULT_MEMORY_BUDGET);
+                    return new Recording(trace, checkpoints, seed, counter, computeNanos, summary, details, null);
+                }
+
+                // Too long for the heap: the trace is streamed to a temporary file, then replayed from its mapping
+                Path file = Files.createTempFile("sort-", ".trace");
+                file.toFile().deleteOnExit();
                 try {
-                    long startTime = System.nanoTime();
-                    switch (sortingAlgorithm) {
-                        case "Bubble sort" -> BubbleSort.bubbleSort(barChart.getData().get(0).getData(),
-                                selectedColor);
-                        case "Cocktail sort" ->
-                                CocktailSort.cocktailSort(barChart.getData().get(0).getData(), selectedColor);
-                        case "Heap sort" -> HeapSort.heapSort(barChart.getData().get(0).getData(), selectedColor);
-                        case "Insertion sort" ->
-                                InsertionSort.insertionSort(barChart.getData().get(0).getData(), selectedColor);
-                        case "Merge sort" -> MergeSort.mergeSort(barChart.getData().get(0).getData(), selectedColor);
-                        case "Quick sort" -> QuickSort.quickSort(barChart.getData().get(0).getData(), selectedColor);
-                        case "Radix sort" -> RadixSort.radixSort(barChart.getData().get(0).getData(), selectedColor);
-                        case "Selection sort" ->
-                                SelectionSort.selectionSort(barChart.getData().get(0).getData(), selectedColor);
-                        default -> throw new Exception();
+                    checkDiskSpace(lengthCounter, file);
+                    long operationCount;
+                    try (TraceFileWriter writer = new TraceFileWriter(file, sorter.getName(), seed, values)) {
+                        SortProfiler.sort(sorter, values, recordingController.control(writer.andThen(counter)),
+                                counter);
+                        operationCount = writer.getOperationCount();
+                    } catch (UncheckedIOException e) {
+                        throw e.getCause();
                     }
-                    Platform.runLater(() -> {
-                        if (sortButton.isDisabled()) {
-                            timeElapsedValueLabel.setText(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime) + " s");
-                            timeElapsedLabel.setVisible(true);
-                            timeElapsedValueLabel.setVisible(true);
-                        }
-                    });
-                } catch (NullPointerException ignored) {
-
-                } catch (Exception e) {
-                    e.printStackTrace();
+                    MappedTrace trace = MappedTrace.open(file);
+                    TraceCheckpoints checkpoints = TraceCheckpoints.build(trace, operationCount,
+                            TraceCheckpoints.DEFAULT_MEMORY_BUDGET);
+                    return new Recording(trace, checkpoints, seed, counter, computeNanos, summary, details, file);
+                } catch (IOException | RuntimeException e) {
+                    Files.deleteIfExists(file);
+                    throw e;
                 }
+            }
+
+            @Override
+            protected void cancelled() {
+                // Stops the sorter at its next operation, instead of letting it run to the end
+                recordingController.cancel();
+            }
+        };
+        task.setOnSucceeded(event -> play(task.getValue(), startTime));
+        task.setOnFailed(event -> {
+            showError("Sort", "Cannot record the sort", task.getException());
+            handleReset();
+        });
+        sortTask = task;
+
+        Thread thread = new Thread(task, "sort-recording");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void showError(String title, String header, Throwable exception) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle(title);
+        alert.setHeaderText(header);
+        // Errors like a StackOverflowError have no message
+        alert.setContentText(exception.getMessage() != null ? exception.getMessage() : exception.toString());
+        alert.getDialogPane().setGraphic(new ImageView(new Image(String.valueOf(this.getClass().getResource("icons/warning_icon.png")))));
+        alert.showAndWait();
+    }
+
+    /**
+     * Checks that a trace can be streamed to a file: it mustn't take more than half of the free space of its disk.
+     *
+     * @param lengthCounter the counter of the records of the trace
+     * @param file the file of the trace
+     *
+     * @throws IOException if the free space can't be read
+     * @throws IllegalStateException if the trace is too long
+     */
+    private static void checkDiskSpace(TraceLengthCounter lengthCounter, Path file) throws IOException {
+        long maxBytes = Files.getFileStore(file).getUsableSpace() / 2;
+        if (lengthCounter.getRecordBytes() > maxBytes) {
+            throw new IllegalStateException(String.format("Its trace has %,d records, which would take %,d MB, and "
+                            + "at most %,d MB of memory or %,d MB of disk can be used. Choose a smaller array.",
+                    lengthCounter.length(), lengthCounter.getRecordBytes() >> 20, MAX_TRACE_BYTES >> 20,
+                    maxBytes >> 20));
+        }
+    }
+
+    /**
+     * Replays a recorded sort on the renderer.
+     *
+     * @param recording the recorded sort
+     * @param startTime the time the sort was requested, as given by {@link System#nanoTime()}
+     */
+    private void play(Recording recording, long startTime) {
+        this.recording = recording;
+        Trace trace = recording.trace();
+        barRenderer.setArray(trace.getInitialArray(), Math.max(valueRange, max(trace.getInitialArray())));
+        FramePipeline pipeline = new FramePipeline(trace.getInitialArray());
+        barRenderer.setPipeline(pipeline);
+        player = new TracePlayer(trace, recording.checkpoints(), pipeline);
+        timelineSlider.setMax(Math.max(1, recording.checkpoints().getOperationCount()));
+        timelineSlider.setDisable(false);
+        exportTraceButton.setDisable(false);
+        exportFramesButton.setDisable(false);
+        recordProfileButton.setDisable(false);
+        statsLabel.setVisible(true);
+        statsLabel.setTooltip(recording.details() == null ? null : new Tooltip(recording.details()));
+        statsTimer.start();
+        RunController controller = new RunController(operationsPerSecond);
+        playback = new TracePlayback(player, controller, () -> {
+            if (!sortButton.isDisabled() || reverseButton.isSelected()) {
+                return;
+            }
+            timeElapsedValueLabel.setText(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime) + " s");
+            timeElapsedLabel.setVisible(true);
+            timeElapsedValueLabel.setVisible(true);
+        });
+        playback.start();
+        setRunControlsDisabled(false);
+    }
+
+    private void handlePause() {
+        RunController controller = playback.getController();
+        if (controller.isPaused()) {
+            controller.resume();
+            pauseButton.setText("Pause");
+        } else {
+            controller.pause();
+            pauseButton.setText("Resume");
+        }
+        stepButton.setDisable(!controller.isPaused());
+    }
+
+    private void setRunControlsDisabled(boolean disabled) {
+        pauseButton.setText("Pause");
+        pauseButton.setDisable(disabled);
+        stepButton.setDisable(true);
+        reverseButton.setSelected(false);
+        reverseButton.setDisable(disabled);
+    }
+
+    private static int max(int[] array) {
+        int max = 1;
+        for (int value : array) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    @FXML
+    public void handleExportTrace() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export trace");
+        fileChooser.getExtensionFilters().add(TRACE_FILES);
+        fileChooser.setInitialFileName(recording.trace().getAlgorithmName().replace(' ', '-') + ".trace");
+        File file = fileChooser.showSaveDialog(pane.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        Recording exported = recording;
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() throws IOException {
+                TraceFileWriter.write(exported.trace(), exported.seed(), file.toPath());
                 return null;
             }
         };
+        task.setOnFailed(event -> showError("Trace file", "Cannot export the trace", task.getException()));
+        Thread thread = new Thread(task, "trace-export");
+        thread.setDaemon(true);
+        thread.start();
+    }
 
-        Thread thread = new Thread(task);
+    @FXML
+    public void handleExportFrames() {
+        Trace trace = recording.trace();
+        new FrameExportWindow(trace, recording.checkpoints().getOperationCount(),
+                Math.max(valueRange, max(trace.getInitialArray())), selectedColor, (int) barRenderer.getWidth(),
+                (int) barRenderer.getHeight()).show();
+    }
+
+    @FXML
+    public void handleRecordProfile() {
+        Trace trace = recording.trace();
+        Algorithm algorithm;
+        try {
+            algorithm = Algorithm.fromName(trace.getAlgorithmName());
+        } catch (IllegalArgumentException e) {
+            showError("Flight recording", "Cannot replay the sort", e);
+            return;
+        }
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Record profile");
+        fileChooser.getExtensionFilters().add(RECORDING_FILES);
+        fileChooser.setInitialFileName(trace.getAlgorithmName().replace(' ', '-') + ".jfr");
+        File file = fileChooser.showSaveDialog(pane.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        // The sort is run again on its initial array, under a flight recording with the events of the sorters
+        int[] array = trace.getInitialArray();
+        recordProfileButton.setDisable(true);
+        Task<OperationCounter> task = new Task<>() {
+            @Override
+            protected OperationCounter call() throws IOException {
+                return SortProfiler.record(algorithm.newSorter(), array, file.toPath());
+            }
+        };
+        task.setOnSucceeded(event -> {
+            recordProfileButton.setDisable(recording == null);
+            Alert alert = new Alert(Alert.AlertType.INFORMATION);
+            alert.setTitle("Flight recording");
+            alert.setHeaderText("The profile has been written to " + file.getName());
+            alert.setContentText("The recorded run did " + task.getValue() + ".");
+            alert.getDialogPane().setGraphic(new ImageView(new Image(String.valueOf(this.getClass().getResource("icons/info_icon.png")))));
+            alert.showAndWait();
+        });
+        task.setOnFailed(event -> {
+            recordProfileButton.setDisable(recording == null);
+            showError("Flight recording", "Cannot record the profile", task.getException());
+        });
+        Thread thread = new Thread(task, "profile-recording");
+        thread.setDaemon(true);
         thread.start();
     }
 
+    @FXML
+    public void handleOpenTrace() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Open trace");
+        fileChooser.getExtensionFilters().add(TRACE_FILES);
+        File file = fileChooser.showOpenDialog(pane.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        handleReset();
+        arraySizeSlider.setDisable(true);
+        arrayRangeSlider.setDisable(true);
+        distributionBox.setDisable(true);
+        sortButton.setDisable(true);
+        long startTime = System.nanoTime();
+        // The trace is replayed straight from the mapped file, only its snapshots are kept in memory
+        Task<Recording> task = new Task<>() {
+            @Override
+            protected Recording call() throws IOException {
+                MappedTrace trace = MappedTrace.open(file.toPath());
+                try {
+                    TraceCheckpoints checkpoints = TraceCheckpoints.build(trace, TraceCheckpoints.DEFAULT_MEMORY_BUDGET);
+                    return new Recording(trace, checkpoints, trace.getSeed(), null, -1, null, null, null);
+                } catch (RuntimeException e) {
+                    trace.close();
+                    throw e;
+                }
+            }
+        };
+        task.setOnSucceeded(event -> play(task.getValue(), startTime));
+        task.setOnFailed(event -> {
+            showError("Trace file", "Cannot open the trace", task.getException());
+            handleReset();
+        });
+        sortTask = task;
+        Thread thread = new Thread(task, "trace-loading");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void closeTrace() {
+        if (recording != null && recording.trace() instanceof MappedTrace mappedTrace) {
+            try {
+                mappedTrace.close();
+                if (recording.temporaryFile() != null) {
+                    // May fail while the mapping is still alive on some systems: the file is then deleted on exit
+                    Files.deleteIfExists(recording.temporaryFile());
+                }
+            } catch (IOException e) {
+                showError("Trace file", "Cannot close the trace", e);
+            }
+        }
+    }
+
+    /**
+     * Shows the counters of the operations replayed so far, the auxiliary memory and the compute time of the sort.
+     */
+    private void showStats() {
+        // Reading the operation of the playback makes the counters of the player visible
+        playback.getOperation();
+        statsLabel.setText(String.format("""
+                        Comparisons: %,d   Swaps: %,d   Reads: %,d   Writes: %,d
+                        Auxiliary memory: %s   Compute time: %s%s""",
+                player.getComparisons(), player.getSwaps(), player.getReads(), player.getWrites(),
+                recording.counter() == null ? "n/a" : String.format("%,d bytes", recording.counter().getAllocatedBytes()),
+                recording.computeNanos() < 0 ? "n/a" : String.format("%,d ns", recording.computeNanos()),
+                recording.summary() == null ? "" : "\n" + recording.summary()));
+    }
+
+    /**
+     * Moves the timeline to the operation being replayed, unless the user is dragging it.
+     */
+    private void updateTimeline() {
+        long operation = playback.getOperation();
+        if (!timelineSlider.isValueChanging()) {
+            updatingTimeline = true;
+            timelineSlider.setValue(operation);
+            updatingTimeline = false;
+        }
+        timelineLabel.setText(String.format("Operation %,d of %,d", operation,
+                recording.checkpoints().getOperationCount()));
+    }
+
+    @FXML
+    public void handleExternalSort() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Choose the file of big-endian ints to sort");
+        fileChooser.getExtensionFilters().add(INT_FILES);
+        File input = fileChooser.showOpenDialog(pane.getScene().getWindow());
+        if (input == null) {
+            return;
+        }
+        fileChooser.setTitle("Save the sorted file");
+        fileChooser.setInitialDirectory(input.getParentFile());
+        fileChooser.setInitialFileName(input.getName().replaceFirst("(\\.[^.]*)?$", "-sorted$0"));
+        File output = fileChooser.showSaveDialog(pane.getScene().getWindow());
+        if (output == null) {
+            return;
+        }
+        if (output.equals(input)) {
+            showError("External sort", "The sorted file must be different from the input", new IOException(input.getName() + " would be overwritten while it's read"));
+            return;
+        }
+        new ExternalSortWindow(input.toPath(), output.toPath()).show();
+    }
+
+    @FXML
+    public void handleRace() {
+        Dialog<List<Algorithm>> dialog = new Dialog<>();
+        dialog.setTitle("Race");
+        dialog.setHeaderText("Choose the algorithms sorting the current array side by side");
+        dialog.getDialogPane().setGraphic(new ImageView(new Image(String.valueOf(this.getClass().getResource("icons/info_icon.png")))));
+        VBox vbox = new VBox(6);
+        for (String name : sortingAlgorithmChoice.getItems()) {
+            vbox.getChildren().add(new CheckBox(name));
+        }
+        dialog.getDialogPane().setContent(vbox);
+        dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
+        dialog.setResultConverter(buttonType -> {
+            List<Algorithm> algorithms = new ArrayList<>();
+            if (buttonType == ButtonType.OK) {
+                for (Node node : vbox.getChildren()) {
+                    CheckBox checkBox = (CheckBox) node;
+                    if (checkBox.isSelected()) {
+                        algorithms.add(Algorithm.fromName(checkBox.getText()));
+                    }
+                }
+            }
+            return algorithms;
+        });
+        dialog.showAndWait().filter(algorithms -> !algorithms.isEmpty()).ifPresent(algorithms -> {
+            for (Algorithm algorithm : algorithms) {
+                if (algorithm.isQuadratic(distributionChoice.getValue()) && barsNumber > MAX_QUADRATIC_SIZE) {
+                    showQuadraticLimitAlert(algorithm.getDisplayName());
+                    return;
+                }
+            }
+            new RaceWindow(algorithms, barRenderer.getArray(), valueRange, selectedColor, operationsPerSecond).show();
+        });
+    }
+
+    @FXML
+    public void handleComplexity() {
+        String selected = sortingAlgorithmChoice.getSelectionModel().getSelectedItem();
+        new ComplexityWindow(selected == null ? Algorithm.AUTO : Algorithm.fromName(selected),
+                distributionChoice.getValue(), arraySeed).show();
+    }
+
     private void showNoSelectedAlgorithmAlert() {
         sortButton.setDisable(false);
-        delayPicker.setDisable(false);
         Alert alert = new Alert(Alert.AlertType.WARNING);
         alert.setTitle("No Selection");
         alert.setHeaderText("No algorithm selected");
@@ -222,6 +727,23 @@ public class MainController {
         alert.showAndWait();
     }
 
+    private void showQuadraticLimitAlert() {
+        sortButton.setDisable(false);
+        arraySizeSlider.setDisable(false);
+        arrayRangeSlider.setDisable(false);
+        distributionBox.setDisable(false);
+        showQuadraticLimitAlert(sortingAlgorithm);
+    }
+
+    private void showQuadraticLimitAlert(String algorithmName) {
+        Alert alert = new Alert(Alert.AlertType.WARNING);
+        alert.setTitle("Array too large");
+        alert.setHeaderText(algorithmName + " would take too long");
+        alert.setContentText(String.format("Quadratic algorithms, and the quick sort on an organ pipe, can sort up to %,d elements.", MAX_QUADRATIC_SIZE));
+        alert.getDialogPane().setGraphic(new ImageView(new Image(String.valueOf(this.getClass().getResource("icons/warning_icon.png")))));
+        alert.showAndWait();
+    }
+
     @FXML
     public void handleAbout() {
 
@@ -261,6 +783,22 @@ public class MainController {
             infoLabel.setVisible(true);
             Tooltip tooltip = new Tooltip();
             switch (sortingAlgorithm) {
+                case "Auto" -> tooltip.setText("""
+                        Profiles the array (its runs, a sample of its inversions and of its distinct
+                        values, its range) and sorts it with the algorithm expected to be the fastest:
+                        insertion sort for tiny or nearly sorted arrays, TimSort for arrays made of long
+                        runs, radix sort when the range of the values is small enough, introsort otherwise.
+                        The decision is shown with the stats, and the features it was based on in their tooltip.
+                        Time complexity:\t• best case: O(n)\t• worst case: O(n*log n)
+                        """);
+                case "Bitonic sort" -> tooltip.setText("""
+                        A sorting network: a fixed sequence of stages of compare-exchange operations,
+                        which doesn't depend on the values. Sorted blocks are merged by comparing
+                        elements at halving distances. The operations of a stage are independent,
+                        so they run in parallel: each pair is highlighted while it's compared,
+                        colored after the worker thread comparing it.
+                        Time complexity:\t• best case: O(n*log² n)\t• worst case: O(n*log² n)
+                        """);
                 case "Bubble sort" -> tooltip.setText("""
                         Sorts the array by iterating on it. With each iteration compares
                         each pair of adjacent elements, swapping them if they're in the
@@ -285,11 +823,38 @@ public class MainController {
                         each element is inserted the right place.
                         Time complexity:\t• best case: O(n)\t• worst case: O(n²)
                         """);
+                case "Introsort" -> tooltip.setText("""
+                        A quick sort which can't degrade: the pivot is a median of three (or of nine) elements,
+                        the elements equal to the pivot are grouped at once, and when the recursion gets too
+                        deep the sub-array is sorted with heap sort. Large partitions run in parallel:
+                        each sub-array is colored after the worker thread partitioning it.
+                        Time complexity:\t• best case: O(n)\t• worst case: O(n*log n)
+                        """);
                 case "Merge sort" -> tooltip.setText("""
                         A different version of the quick sort. Sorts the array by partitioning
                         it in two sub-arrays having the same size, sorting them apart and then finally merging them.
                         Time complexity:\t• best case: O(n*log n)\t• worst case: O(n*log n)
                         """);
+                case "Parallel merge sort" -> tooltip.setText("""
+                        A merge sort running on all the cores. The two halves of each sub-array are sorted
+                        in parallel, and large merges are split in parallel too. A single auxiliary buffer
+                        is used, and small sub-arrays are sorted with insertion sort.
+                        Each bar is colored after the worker thread which last merged it.
+                        Time complexity:\t• best case: O(n*log n)\t• worst case: O(n*log n)
+                        """);
+                case "Odd-even merge sort" -> tooltip.setText("""
+                        Batcher's sorting network: sorted blocks are merged by merging their elements
+                        at even and at odd positions, then comparing the neighbours. It performs fewer
+                        comparisons than the bitonic sort. The operations of a stage run in parallel,
+                        each pair colored after the worker thread comparing it.
+                        Time complexity:\t• best case: O(n*log² n)\t• worst case: O(n*log² n)
+                        """);
+                case "Odd-even transposition sort" -> tooltip.setText("""
+                        A parallel bubble sort: a sorting network whose stages compare alternately
+                        the adjacent pairs starting at even and at odd positions. n stages are always
+                        performed, and the pairs of a stage are compared in parallel.
+                        Time complexity:\t• best case: O(n²)\t• worst case: O(n²)
+                        """);
                 case "Quick sort" -> tooltip.setText("""
                         Sorts the array by partitioning it in two sub-arrays, delimited
                         by a pivot element. The first sub-array contains only elements
@@ -304,12 +869,35 @@ public class MainController {
                         Time complexity:\t• best case: O(k*n)\t• worst case: O(k*n)
                         (k is the average of the number of digits of the elements)                                                    
                         """);
+                case "Parallel radix sort" -> tooltip.setText("""
+                        A radix sort processing the elements byte by byte (base 256) on all the cores.
+                        The passes in which all the elements share the same byte are skipped, so
+                        small values need a single pass. Negative values are sorted correctly.
+                        Time complexity:\t• best case: O(k*n)\t• worst case: O(k*n)
+                        (k is the number of bytes of the elements, at most 4)
+                        """);
+                case "Parallel sample sort" -> tooltip.setText("""
+                        A sort designed for many cores: splitters picked from a sorted random sample
+                        divide the keys in buckets of about the same size. The elements are classified
+                        and moved to their bucket in parallel, then the buckets are sorted in parallel.
+                        Each element is colored after its destination bucket, and the keys equal
+                        to a splitter, which go to a bucket of their own, are yellow.
+                        Time complexity:\t• best case: O(n*log n)\t• worst case: O(n*log n)
+                        """);
                 case "Selection sort" -> tooltip.setText("""
                         Sorts the array by dividing it in two parts: a sorted sub-array which
                         is built up from right to left and and a sub-array of the remaining
                         unsorted elements that occupy the rest of the array.
                         Time complexity:\t• best case: O(n²)\t• worst case: O(n²)
                         """);
+                case "TimSort" -> tooltip.setText("""
+                        An adaptive merge sort which exploits the ordered sequences already in the array.
+                        The array is split in ascending (or reversed descending) runs, short runs are
+                        extended with binary insertion sort, and the runs are merged in a balanced order,
+                        galloping over the blocks of elements which are already in place.
+                        The first element of each pending run is red, the sub-array being merged is green.
+                        Time complexity:\t• best case: O(n)\t• worst case: O(n*log n)
+                        """);
             }
             tooltip.setStyle("-fx-background-color: grey");
             tooltip.setStyle("-fx-show-duration: 40s");
@@ -0,0 +1,202 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.Highlight;
+
+import java.util.Arrays;
+
+/**
+ * A segment tree over an array of values and highlights, giving the min value, the max value and the most important
+ * highlight of any range in O(log n). The leaves summarize blocks of {@value #BLOCK_SIZE} elements, so the tree takes
+ * a fraction of the memory of the array.
+ * Changes are applied lazily: {@link #invalidate(int)} only marks the block of the changed element, and
+ * {@link #flush()} recomputes the marked blocks and their ancestors, stopping as soon as a node doesn't change, so any
+ * number of changes to the same block between two frames costs a single update.
+ * The values and the highlights are read from the arrays the tree has been built on, which must not be resized.
+ */
+class MinMaxTree {
+    static final int BLOCK_SIZE = 16;
+    private static final int BLOCK_SHIFT = 4;
+    /**
+     * The priority of each highlight when several elements share a pixel column: the momentary highlights of the
+     * current operation come first, then the workers, then the ordered sub-arrays.
+     */
+    private static final byte[] PRIORITY = new byte[Highlight.WORKER + Highlight.WORKER_COUNT];
+
+    static {
+        PRIORITY[Highlight.NONE] = 0;
+        PRIORITY[Highlight.SORTED] = 1;
+        Arrays.fill(PRIORITY, Highlight.WORKER, PRIORITY.length, (byte) 2);
+        PRIORITY[Highlight.ACTIVE] = 3;
+        PRIORITY[Highlight.PIVOT] = 4;
+        PRIORITY[Highlight.SPECIAL] = 5;
+    }
+
+    private final int[] values;
+    private final byte[] highlights;
+    private final int blocks;
+    private final int[] min;
+    private final int[] max;
+    private final byte[] highlight;
+    private final long[] dirtyBlocks;
+    private boolean dirty;
+
+    // The result of the last query
+    private int queryMin, queryMax;
+    private byte queryHighlight;
+
+    /**
+     * @param values the values of the array
+     * @param highlights the highlights of the array, as long as the values
+     */
+    MinMaxTree(int[] values, byte[] highlights) {
+        this.values = values;
+        this.highlights = highlights;
+        blocks = (values.length + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+        // The leaves are at [blocks, 2 * blocks), the parent of the node i is i / 2
+        min = new int[2 * blocks];
+        max = new int[2 * blocks];
+        highlight = new byte[2 * blocks];
+        dirtyBlocks = new long[(blocks + 63) >>> 6];
+        for (int block = 0; block < blocks; block++) {
+            computeLeaf(block);
+        }
+        for (int node = blocks - 1; node > 0; node--) {
+            computeNode(node);
+        }
+    }
+
+    /**
+     * Marks the element at the given index as changed.
+     *
+     * @param index the index of the element
+     */
+    void invalidate(int index) {
+        int block = index >>> BLOCK_SHIFT;
+        dirtyBlocks[block >>> 6] |= 1L << block;
+        dirty = true;
+    }
+
+    /**
+     * Applies the changes of the elements marked since the last flush.
+     */
+    void flush() {
+        if (!dirty) {
+            return;
+        }
+        for (int word = 0; word < dirtyBlocks.length; word++) {
+            long bits = dirtyBlocks[word];
+            dirtyBlocks[word] = 0;
+            while (bits != 0) {
+                int block = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (computeLeaf(block)) {
+                    for (int node = (blocks + block) >>> 1; node > 0 && computeNode(node); node >>>= 1) {
+                        // Go up until a node doesn't change
+                    }
+                }
+            }
+        }
+        dirty = false;
+    }
+
+    /**
+     * Computes the summary of the given range, then available from {@link #getMin()}, {@link #getMax()} and
+     * {@link #getHighlight()}. The tree must have been flushed.
+     *
+     * @param from the index of the first element of the range
+     * @param to the index after the last element of the range, greater than from
+     */
+    void query(int from, int to) {
+        queryMin = Integer.MAX_VALUE;
+        queryMax = Integer.MIN_VALUE;
+        queryHighlight = Highlight.NONE;
+        int firstBlock = (from + BLOCK_SIZE - 1) >>> BLOCK_SHIFT, endBlock = to >>> BLOCK_SHIFT;
+        if (firstBlock >= endBlock) {
+            scan(from, to);
+            return;
+        }
+        // The partial blocks at the ends are scanned, the whole blocks in between come from the tree
+        scan(from, firstBlock << BLOCK_SHIFT);
+        scan(endBlock << BLOCK_SHIFT, to);
+        for (int left = firstBlock + blocks, right = endBlock + blocks; left < right; left >>>= 1, right >>>= 1) {
+            if ((left & 1) != 0) {
+                merge(min[left], max[left], highlight[left]);
+                left++;
+            }
+            if ((right & 1) != 0) {
+                right--;
+                merge(min[right], max[right], highlight[right]);
+            }
+        }
+    }
+
+    int getMin() {
+        return queryMin;
+    }
+
+    int getMax() {
+        return queryMax;
+    }
+
+    byte getHighlight() {
+        return queryHighlight;
+    }
+
+    private void scan(int from, int to) {
+        for (int i = from; i < to; i++) {
+            merge(values[i], values[i], highlights[i]);
+        }
+    }
+
+    private void merge(int otherMin, int otherMax, byte otherHighlight) {
+        queryMin = Math.min(queryMin, otherMin);
+        queryMax = Math.max(queryMax, otherMax);
+        if (PRIORITY[otherHighlight] > PRIORITY[queryHighlight]) {
+            queryHighlight = otherHighlight;
+        }
+    }
+
+    /**
+     * Computes the leaf of the given block from the elements.
+     *
+     * @param block the index of the block
+     *
+     * @return true if the leaf has changed
+     */
+    private boolean computeLeaf(int block) {
+        int first = block << BLOCK_SHIFT, end = Math.min(values.length, first + BLOCK_SIZE);
+        int blockMin = Integer.MAX_VALUE, blockMax = Integer.MIN_VALUE;
+        byte blockHighlight = Highlight.NONE;
+        for (int i = first; i < end; i++) {
+            blockMin = Math.min(blockMin, values[i]);
+            blockMax = Math.max(blockMax, values[i]);
+            if (PRIORITY[highlights[i]] > PRIORITY[blockHighlight]) {
+                blockHighlight = highlights[i];
+            }
+        }
+        return set(blocks + block, blockMin, blockMax, blockHighlight);
+    }
+
+    /**
+     * Computes the given inner node from its children.
+     *
+     * @param node the index of the node
+     *
+     * @return true if the node has changed
+     */
+    private boolean computeNode(int node) {
+        int left = 2 * node, right = left + 1;
+        byte nodeHighlight = PRIORITY[highlight[right]] > PRIORITY[highlight[left]] ? highlight[right] : highlight[left];
+        return set(node, Math.min(min[left], min[right]), Math.max(max[left], max[right]), nodeHighlight);
+    }
+
+    private boolean set(int node, int nodeMin, int nodeMax, byte nodeHighlight) {
+        if (min[node] == nodeMin && max[node] == nodeMax && highlight[node] == nodeHighlight) {
+            return false;
+        }
+        min[node] = nodeMin;
+        max[node] = nodeMax;
+        highlight[node] = nodeHighlight;
+        return true;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.Algorithm;
+import com.example.sortingalgorithmvisualizator.engine.OperationCounter;
+import com.example.sortingalgorithmvisualizator.engine.RunController;
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+import com.example.sortingalgorithmvisualizator.engine.Sorter;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.stage.Stage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A window running several algorithms at the same time on copies of the same array, each one in its own panel.
+ * Every algorithm runs live on its own worker thread and feeds the {@link FramePipeline} of its panel, so the workers
+ * never wait for each other or for the JavaFX thread, and each panel is redrawn at frame rate. Each worker is paced
+ * by its own {@link RunController}; the race can be paused and stepped as a whole, and closing the window cancels the
+ * workers which are still running. The parallel algorithms run their tasks in a pool of their own lane: a task waiting
+ * for its controller holds the monitor of the lane's listener, so it only stalls the other tasks of its lane, never
+ * the common pool or another lane. A sorter which fails, e.g. overflowing the stack of its worker, only stops its own
+ * lane, which shows the error.
+ */
+class RaceWindow {
+    private static final double PANEL_WIDTH = 440;
+    private static final double PANEL_HEIGHT = 260;
+
+    private final Stage stage = new Stage();
+    private final List<Lane> lanes = new ArrayList<>();
+    private final ExecutorService executor;
+    private final Button pauseButton = new Button("Pause");
+    private final Button stepButton = new Button("Step");
+    private final AnimationTimer statsTimer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            boolean running = false;
+            for (Lane lane : lanes) {
+                lane.updateStats();
+                running |= lane.isRunning();
+            }
+            if (!running) {
+                stop();
+            }
+        }
+    };
+
+    /**
+     * @param algorithms the algorithms taking part in the race
+     * @param array the array each algorithm sorts a copy of
+     * @param maxValue the value corresponding to the full height of the panels
+     * @param elementsColor the default color of the elements
+     * @param operationsPerSecond the speed of every algorithm, infinite to run at full speed
+     */
+    RaceWindow(List<Algorithm> algorithms, int[] array, int maxValue, Color elementsColor, double operationsPerSecond) {
+        executor = Executors.newFixedThreadPool(algorithms.size(), runnable -> {
+            Thread thread = new Thread(runnable, "race-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        GridPane grid = new GridPane();
+        grid.setHgap(10);
+        grid.setVgap(10);
+        grid.setPadding(new Insets(10));
+        int columns = (int) Math.ceil(Math.sqrt(algorithms.size()));
+        for (int i = 0; i < algorithms.size(); i++) {
+            Lane lane = new Lane(algorithms.get(i), array, maxValue, elementsColor, operationsPerSecond);
+            lanes.add(lane);
+            grid.add(lane.panel, i % columns, i / columns);
+        }
+
+        pauseButton.setMinWidth(70);
+        pauseButton.setOnAction(event -> handlePause());
+        stepButton.setDisable(true);
+        stepButton.setOnAction(event -> lanes.forEach(lane -> lane.controller.step(1)));
+        HBox controls = new HBox(10, pauseButton, stepButton);
+        controls.setPadding(new Insets(10, 10, 0, 10));
+
+        stage.setTitle("Race");
+        stage.getIcons().add(new Image(String.valueOf(getClass().getResource("icons/app_icon.png"))));
+        stage.setScene(new Scene(new VBox(controls, grid)));
+        stage.setOnHidden(event -> close());
+    }
+
+    /**
+     * Shows the window and starts the race.
+     */
+    void show() {
+        stage.show();
+        for (Lane lane : lanes) {
+            executor.execute(lane);
+        }
+        statsTimer.start();
+    }
+
+    private void handlePause() {
+        boolean pause = stepButton.isDisabled();
+        for (Lane lane : lanes) {
+            if (pause) {
+                lane.controller.pause();
+            } else {
+                lane.controller.resume();
+            }
+        }
+        pauseButton.setText(pause ? "Resume" : "Pause");
+        stepButton.setDisable(!pause);
+    }
+
+    private void close() {
+        for (Lane lane : lanes) {
+            lane.controller.cancel();
+            lane.renderer.dispose();
+            lane.pool.shutdownNow();
+        }
+        statsTimer.stop();
+        executor.shutdownNow();
+    }
+
+    /**
+     * A panel of the race, and the worker sorting its array. The operations of the sorter are paced by the controller
+     * of the lane, then counted and forwarded to the pipeline of the panel.
+     */
+    private static class Lane implements Runnable {
+        private final ForkJoinPool pool = new ForkJoinPool();
+        private final Sorter sorter;
+        private final int[] array;
+        private final FramePipeline pipeline;
+        private final OperationCounter counter = new OperationCounter();
+        private final RunController controller;
+        private final BarRenderer renderer = new BarRenderer();
+        private final Label statsLabel = new Label();
+        private final VBox panel;
+
+        private volatile long startTime, endTime;
+        private volatile Throwable failure;
+
+        Lane(Algorithm algorithm, int[] array, int maxValue, Color elementsColor, double operationsPerSecond) {
+            this.sorter = algorithm.newSorter(pool);
+            this.array = array.clone();
+            this.pipeline = new FramePipeline(array);
+            this.controller = new RunController(operationsPerSecond);
+            renderer.setElementsColor(elementsColor);
+            renderer.setArray(array, maxValue);
+            renderer.setPipeline(pipeline);
+            renderer.setPrefSize(PANEL_WIDTH, PANEL_HEIGHT);
+            VBox.setVgrow(renderer, Priority.ALWAYS);
+            Label nameLabel = new Label(sorter.getName());
+            nameLabel.setFont(new Font(14));
+            panel = new VBox(4, nameLabel, renderer, statsLabel);
+            updateStats();
+        }
+
+        @Override
+        public void run() {
+            startTime = System.nanoTime();
+            try {
+                sorter.sort(array, SortListener.synchronizedListener(controller.control(pipeline.andThen(counter))));
+            } catch (CancellationException ignored) {
+
+            } catch (RuntimeException | StackOverflowError e) {
+                failure = e;
+            } finally {
+                endTime = System.nanoTime();
+                pool.shutdown();
+            }
+        }
+
+        boolean isRunning() {
+            return endTime == 0 && !controller.isCancelled();
+        }
+
+        /**
+         * Shows the current number of operations and the elapsed time. Called on the JavaFX thread.
+         */
+        void updateStats() {
+            long start = startTime, end = endTime;
+            long elapsed = start == 0 ? 0 : (end == 0 ? System.nanoTime() : end) - start;
+            Throwable error = failure;
+            String status = "";
+            if (error != null) {
+                status = "   ✗ failed: " + (error.getMessage() == null ? error.getClass().getSimpleName()
+                        : error.getMessage());
+                statsLabel.setTextFill(Color.RED);
+            } else if (end != 0 && !controller.isCancelled()) {
+                status = "   ✓ finished";
+            }
+            statsLabel.setText(String.format("%,d comparisons   %,d swaps   %,d writes   %,.3f s%s",
+                    counter.getComparisons(), counter.getSwaps(), counter.getWrites(),
+                    elapsed / (double) TimeUnit.SECONDS.toNanos(1), status));
+        }
+    }
+}
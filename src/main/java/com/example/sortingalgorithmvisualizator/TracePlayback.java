@@ -0,0 +1,120 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.RunController;
+import com.example.sortingalgorithmvisualizator.trace.TracePlayer;
+import javafx.application.Platform;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays a recorded sort on a worker thread, applying the operations granted by its {@link RunController}, which
+ * paces, pauses, single steps and cancels the playback. The player should feed a {@link FramePipeline}, so that the
+ * JavaFX thread shows the operations once per frame however fast they're replayed. The playback can be reversed, and
+ * can seek to any operation: the seek is performed by the worker thread, so the player is never accessed by two
+ * threads at once. When the playback reaches the end of the trace the worker waits for a seek or a change of
+ * direction; it ends when the controller is cancelled.
+ */
+class TracePlayback implements Runnable {
+    private static final int MAX_BATCH = 1 << 16;
+    private static final long NO_SEEK = -1;
+
+    private final TracePlayer player;
+    private final RunController controller;
+    private final Runnable onFinished;
+    private final AtomicLong seekTarget = new AtomicLong(NO_SEEK);
+    private volatile boolean reversed;
+    private volatile long operation;
+    private Thread thread;
+
+    /**
+     * @param player the player replaying the trace
+     * @param controller the controller of the playback
+     * @param onFinished called on the JavaFX thread when the playback reaches the end (or the start) of the trace
+     */
+    TracePlayback(TracePlayer player, RunController controller, Runnable onFinished) {
+        this.player = player;
+        this.controller = controller;
+        this.onFinished = onFinished;
+    }
+
+    RunController getController() {
+        return controller;
+    }
+
+    void setReversed(boolean reversed) {
+        this.reversed = reversed;
+        controller.wakeUp();
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Moves the playback to the given operation, then goes on playing from there.
+     *
+     * @param operation the index of the operation
+     */
+    void seek(long operation) {
+        seekTarget.set(Math.max(0, operation));
+        controller.wakeUp();
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Returns the index of the next operation replayed. It's published after each batch of operations, so once it's
+     * read the counters of the player are up to date as well.
+     *
+     * @return the current operation
+     */
+    long getOperation() {
+        return operation;
+    }
+
+    /**
+     * Starts the playback on a new daemon thread.
+     */
+    void start() {
+        thread = new Thread(this, "trace-playback");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the playback: the worker thread ends at once, without applying any other operation.
+     */
+    void stop() {
+        controller.cancel();
+        LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void run() {
+        boolean finished = false;
+        try {
+            while (!controller.isCancelled()) {
+                long target = seekTarget.getAndSet(NO_SEEK);
+                if (target != NO_SEEK) {
+                    player.seek(target);
+                    operation = player.getOperation();
+                    finished = false;
+                }
+                if (reversed ? player.isAtStart() : player.isAtEnd()) {
+                    if (!finished) {
+                        finished = true;
+                        Platform.runLater(onFinished);
+                    }
+                    LockSupport.park(this);
+                    continue;
+                }
+                finished = false;
+                long operations = controller.acquire(MAX_BATCH);
+                if (operations > 0 && seekTarget.get() == NO_SEEK) {
+                    player.step(reversed ? -operations : operations);
+                    operation = player.getOperation();
+                }
+            }
+        } catch (CancellationException ignored) {
+            // The playback has been stopped
+        }
+    }
+}
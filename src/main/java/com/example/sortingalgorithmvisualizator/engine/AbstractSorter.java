@@ -0,0 +1,96 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+/**
+ * The base class of the {@link Sorter}s of the engine. Provides the primitive operations which apply a change to the
+ * array and notify it to the listener.
+ */
+public abstract class AbstractSorter implements Sorter {
+    private final String name;
+
+    protected AbstractSorter(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Compares the elements at the specified indexes of the given array.
+     *
+     * @param array the array whose elements have to be compared
+     * @param index1 the index of the first element
+     * @param index2 the index of the second element
+     * @param listener the listener to notify
+     *
+     * @return true if the first element is greater than the second one
+     */
+    static boolean greater(int[] array, int index1, int index2, SortListener listener) {
+        listener.onCompare(index1, index2);
+        return array[index1] > array[index2];
+    }
+
+    /**
+     * Compares the element at the specified index of the given array with a value held outside the array.
+     *
+     * @param array the array containing the element
+     * @param index the index of the element
+     * @param value the value to compare the element with
+     * @param listener the listener to notify
+     *
+     * @return a negative integer, zero, or a positive integer as the element is less than, equal to, or greater than
+     * the value
+     */
+    static int compareWith(int[] array, int index, int value, SortListener listener) {
+        listener.onCompare(index, -1);
+        return Integer.compare(array[index], value);
+    }
+
+    /**
+     * Swaps the elements at the specified indexes of the given array.
+     *
+     * @param array the array whose elements have to be swapped
+     * @param index1 the index of the first element to be swapped
+     * @param index2 the index of the second element to be swapped
+     * @param listener the listener to notify
+     */
+    static void swap(int[] array, int index1, int index2, SortListener listener) {
+        int tmp = array[index2];
+        array[index2] = array[index1];
+        array[index1] = tmp;
+        listener.onSwap(index1, index2);
+    }
+
+    /**
+     * Writes a value at the specified index of the given array.
+     *
+     * @param array the array to write
+     * @param index the index of the element to write
+     * @param value the value to write
+     * @param listener the listener to notify
+     */
+    static void write(int[] array, int index, int value, SortListener listener) {
+        array[index] = value;
+        listener.onWrite(index, value);
+    }
+
+    /**
+     * Highlights the elements of the given range.
+     *
+     * @param from the index of the first element, inclusive
+     * @param to the index of the last element, inclusive
+     * @param highlight the highlight to set
+     * @param listener the listener to notify
+     */
+    static void highlight(int from, int to, byte highlight, SortListener listener) {
+        for (int i = from; i <= to; i++) {
+            listener.onHighlight(i, highlight);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * The sorting algorithms available in the engine.
+ */
+public enum Algorithm {
+    AUTO(AutoSorter::new, false),
+    BITONIC(BitonicSorter::new, false),
+    BUBBLE(pool -> new BubbleSorter(), true),
+    COCKTAIL(pool -> new CocktailSorter(), true),
+    HEAP(pool -> new HeapSorter(), false),
+    INSERTION(pool -> new InsertionSorter(), true),
+    INTRO(IntroSorter::new, false),
+    MERGE(pool -> new MergeSorter(), false),
+    PARALLEL_MERGE(ParallelMergeSorter::new, false),
+    ODD_EVEN_MERGE(OddEvenMergeSorter::new, false),
+    ODD_EVEN_TRANSPOSITION(OddEvenTranspositionSorter::new, true),
+    QUICK(pool -> new QuickSorter(), false),
+    RADIX(pool -> new RadixSorter(), false),
+    PARALLEL_RADIX(ParallelRadixSorter::new, false),
+    SAMPLE(SampleSorter::new, false),
+    SELECTION(pool -> new SelectionSorter(), true),
+    TIM(pool -> new TimSorter(), false);
+
+    private final Function<ForkJoinPool, Sorter> factory;
+    private final boolean quadratic;
+    private final String displayName;
+
+    Algorithm(Function<ForkJoinPool, Sorter> factory, boolean quadratic) {
+        this.factory = factory;
+        this.quadratic = quadratic;
+        this.displayName = newSorter().getName();
+    }
+
+    /**
+     * Creates a new sorter implementing the algorithm, running its parallel tasks in the common pool.
+     *
+     * @return a new sorter
+     */
+    public Sorter newSorter() {
+        return newSorter(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new sorter implementing the algorithm, running its parallel tasks in the given pool.
+     *
+     * @param pool the pool running the parallel tasks, not used by the sequential algorithms
+     *
+     * @return a new sorter
+     */
+    public Sorter newSorter(ForkJoinPool pool) {
+        return factory.apply(pool);
+    }
+
+    /**
+     * Returns true if the algorithm takes quadratic time on average, so it's not worth running it on large arrays.
+     *
+     * @return true if the algorithm is quadratic
+     */
+    public boolean isQuadratic() {
+        return quadratic;
+    }
+
+    /**
+     * Returns true if the algorithm takes quadratic time on the arrays of the given distribution: the quadratic
+     * algorithms on any array, and the quick sort, whose pivot is the middle element, on an organ pipe.
+     *
+     * @param distribution the distribution of the array
+     *
+     * @return true if the algorithm is quadratic on the distribution
+     */
+    public boolean isQuadratic(InputDistribution distribution) {
+        return quadratic || this == QUICK && distribution == InputDistribution.ORGAN_PIPE;
+    }
+
+    /**
+     * Returns the name of the algorithm, as shown to the user.
+     *
+     * @return the name of the algorithm
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the algorithm with the given name, ignoring case. Both the constant name (e.g. "QUICK") and the display
+     * name (e.g. "Quick sort") are accepted.
+     *
+     * @param name the name of the algorithm
+     *
+     * @return the algorithm
+     * @throws IllegalArgumentException if there's no algorithm with the given name
+     */
+    public static Algorithm fromName(String name) {
+        for (Algorithm algorithm : values()) {
+            if (algorithm.name().equalsIgnoreCase(name) || algorithm.displayName.equalsIgnoreCase(name)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unknown algorithm: " + name);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.Locale;
+
+/**
+ * Picks the algorithm expected to sort an array the fastest, from its {@link InputProfile}. The rules are checked in
+ * order:
+ * <ol>
+ *     <li>tiny arrays are sorted with insertion sort, which has no overhead;</li>
+ *     <li>arrays with few inversions are sorted with insertion sort, whose cost is n plus the number of
+ *     inversions;</li>
+ *     <li>arrays made of a few runs, or of long runs with few inversions, are sorted with TimSort, which merges the
+ *     runs without sorting them again and gallops over the elements already in place;</li>
+ *     <li>arrays large enough for the passes they need are sorted with the parallel radix sort, unless they have so
+ *     few distinct values that introsort needs fewer partitioning levels than the radix sort needs passes. The radix
+ *     sort skips the bytes shared by all the values, so a small range of values takes a single counting pass, but
+ *     large arrays of mostly distinct values also go to it: its 4 passes beat the log n levels of introsort;</li>
+ *     <li>the other arrays made of long runs are sorted with TimSort;</li>
+ *     <li>the other arrays are sorted with introsort, whose three-way partition also handles the duplicates.</li>
+ * </ol>
+ * The thresholds come from measurements of the engine's sorters, made with the bench command, which prints the
+ * decision taken for each array.
+ */
+public class AlgorithmSelector {
+    /**
+     * The size up to which insertion sort beats everything else.
+     */
+    static final int TINY_SIZE = 32;
+    /**
+     * The size up to which insertion sort is trusted with arrays having few inversions, which bounds its cost if the
+     * inversions have been underestimated by the sampling.
+     */
+    static final int MAX_INSERTION_SIZE = 1 << 12;
+    /**
+     * The number of inversions per element below which insertion sort is chosen.
+     */
+    static final int INSERTION_INVERSIONS_PER_ELEMENT = 8;
+    /**
+     * The average length of the runs from which TimSort is chosen.
+     */
+    static final int MIN_AVERAGE_RUN = 32;
+    /**
+     * The number of runs up to which TimSort beats the radix sort, whatever the order of the runs.
+     */
+    static final int MAX_TIM_RUNS = 4;
+    /**
+     * The inversion ratio below which TimSort beats the radix sort on arrays made of long runs.
+     */
+    static final double MAX_TIM_INVERSION_RATIO = 0.01;
+    /**
+     * The size, per pass, from which the radix sort beats introsort.
+     */
+    static final int RADIX_SIZE_PER_PASS = 128;
+
+    /**
+     * The rules of the selector, each with the algorithm it chooses.
+     */
+    public enum Rule {
+        TINY(Algorithm.INSERTION),
+        FEW_INVERSIONS(Algorithm.INSERTION),
+        NEARLY_SORTED(Algorithm.TIM),
+        RADIX(Algorithm.PARALLEL_RADIX),
+        LONG_RUNS(Algorithm.TIM),
+        UNORDERED(Algorithm.INTRO);
+
+        private final Algorithm algorithm;
+
+        Rule(Algorithm algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public Algorithm getAlgorithm() {
+            return algorithm;
+        }
+    }
+
+    /**
+     * The rule chosen for an array, and the profile it was based on.
+     *
+     * @param rule the rule which chose the algorithm
+     * @param profile the profile of the array
+     */
+    public record Selection(Rule rule, InputProfile profile) {
+
+        public Algorithm algorithm() {
+            return rule.getAlgorithm();
+        }
+
+        /**
+         * Returns the reason the algorithm was chosen, with the features it was based on. It's formatted on demand,
+         * so selecting costs nothing when the reason isn't shown.
+         *
+         * @return the reason of the selection
+         */
+        public String reason() {
+            return switch (rule) {
+                case TINY -> String.format(Locale.ROOT, "tiny array (%d elements)", profile.size());
+                case FEW_INVERSIONS -> String.format(Locale.ROOT, "few inversions (about %,.0f)",
+                        profile.estimatedInversions());
+                case NEARLY_SORTED -> String.format(Locale.ROOT, "nearly sorted (%s, inversion ratio %.4f)", runs(),
+                        profile.inversionRatio());
+                case RADIX -> String.format(Locale.ROOT, "%d radix pass%s, against about %.0f partitioning levels",
+                        profile.radixPasses(), profile.radixPasses() == 1 ? "" : "es", partitionLevels(profile));
+                case LONG_RUNS -> "long runs (" + runs() + ")";
+                case UNORDERED -> String.format(Locale.ROOT, "no exploitable order (about %,d distinct values)",
+                        profile.estimatedDistinct());
+            };
+        }
+
+        private String runs() {
+            return String.format(Locale.ROOT, "%,d run%s of %,d elements on average", profile.runs(),
+                    profile.runs() == 1 ? "" : "s", profile.size() / profile.runs());
+        }
+    }
+
+    /**
+     * Picks the algorithm for the array having the given profile.
+     *
+     * @param profile the profile of the array
+     *
+     * @return the chosen algorithm
+     */
+    public Selection select(InputProfile profile) {
+        return new Selection(rule(profile), profile);
+    }
+
+    private static Rule rule(InputProfile profile) {
+        int n = profile.size();
+        if (n <= TINY_SIZE) {
+            return Rule.TINY;
+        }
+        if (n <= MAX_INSERTION_SIZE && profile.estimatedInversions() <= (double) n * INSERTION_INVERSIONS_PER_ELEMENT) {
+            return Rule.FEW_INVERSIONS;
+        }
+        boolean longRuns = (long) profile.runs() * MIN_AVERAGE_RUN <= n;
+        if (profile.runs() <= MAX_TIM_RUNS || longRuns && profile.inversionRatio() <= MAX_TIM_INVERSION_RATIO) {
+            return Rule.NEARLY_SORTED;
+        }
+        int passes = profile.radixPasses();
+        if (n >= RADIX_SIZE_PER_PASS * passes && passes <= partitionLevels(profile)) {
+            return Rule.RADIX;
+        }
+        return longRuns ? Rule.LONG_RUNS : Rule.UNORDERED;
+    }
+
+    /**
+     * Returns the number of partitioning levels introsort needs on the array, after which the sub-arrays hold a single
+     * distinct value.
+     *
+     * @param profile the profile of the array
+     *
+     * @return the base 2 logarithm of the number of distinct values
+     */
+    private static double partitionLevels(InputProfile profile) {
+        return Math.log(profile.estimatedDistinct()) / Math.log(2);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.lang.System.Logger.Level;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Profiles the array, then sorts it with the algorithm an {@link AlgorithmSelector} expects to be the fastest for its
+ * profile. Every decision is logged at the DEBUG level with the features it was based on and the time spent profiling
+ * and sorting, so the rules of the selector can be tuned against measurements; the last one is also available from
+ * {@link #getLastDecision()}.
+ */
+public class AutoSorter extends AbstractSorter {
+    private static final System.Logger LOGGER = System.getLogger(AutoSorter.class.getName());
+
+    private final AlgorithmSelector selector;
+    private final ForkJoinPool pool;
+    private volatile Decision lastDecision;
+
+    /**
+     * A decision of the sorter, with its timings.
+     *
+     * @param profile the profile of the array
+     * @param selection the chosen algorithm and the reason it was chosen
+     * @param profileNanos the time spent profiling the array, in nanoseconds
+     * @param sortNanos the time spent sorting the array with the chosen algorithm, in nanoseconds
+     */
+    public record Decision(InputProfile profile, AlgorithmSelector.Selection selection, long profileNanos,
+                           long sortNanos) {
+
+        /**
+         * Returns the chosen algorithm and the reason on a single line.
+         *
+         * @return a summary of the decision
+         */
+        public String getSummary() {
+            return String.format(Locale.ROOT, "Auto: %s, %s", selection.algorithm().getDisplayName(),
+                    selection.reason());
+        }
+
+        /**
+         * Returns the summary followed by the features of the array and the timings.
+         *
+         * @return the decision
+         */
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, """
+                            %s
+                            %,d elements, %,d runs, inversion ratio %.4f, %,d distinct values in a sample of %,d, \
+                            range %,d
+                            Profiled in %.3f ms, sorted in %.3f ms""",
+                    getSummary(), profile.size(), profile.runs(), profile.inversionRatio(), profile.distinctInSample(),
+                    profile.sampleSize(), profile.range(), profileNanos / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                    sortNanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    public AutoSorter() {
+        this(new AlgorithmSelector());
+    }
+
+    /**
+     * @param pool the pool running the parallel tasks of the chosen algorithms
+     */
+    public AutoSorter(ForkJoinPool pool) {
+        this(new AlgorithmSelector(), pool);
+    }
+
+    /**
+     * @param selector the selector choosing the algorithm of each array
+     */
+    public AutoSorter(AlgorithmSelector selector) {
+        this(selector, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param selector the selector choosing the algorithm of each array
+     * @param pool the pool running the parallel tasks of the chosen algorithms
+     */
+    public AutoSorter(AlgorithmSelector selector, ForkJoinPool pool) {
+        super("Auto");
+        this.selector = selector;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the last decision taken by this sorter.
+     *
+     * @return the last decision, or null if it hasn't sorted anything yet
+     */
+    public Decision getLastDecision() {
+        return lastDecision;
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        long startTime = System.nanoTime();
+        InputProfile profile = InputProfile.of(array);
+        AlgorithmSelector.Selection selection = selector.select(profile);
+        long profiled = System.nanoTime();
+        selection.algorithm().newSorter(pool).sort(array, listener);
+        Decision decision = new Decision(profile, selection, profiled - startTime, System.nanoTime() - profiled);
+        lastDecision = decision;
+        if (LOGGER.isLoggable(Level.DEBUG)) {
+            LOGGER.log(Level.DEBUG, decision.toString().replace("\n", "; "));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Implements the bitonic sort network, in the form whose comparators all point the same way: each merge of two
+ * sorted blocks starts by comparing the elements of the first block with those of the second one in reverse order,
+ * then halves the distance of the comparators until they're adjacent. It performs O(n*log² n) comparisons in
+ * O(log² n) parallel stages.
+ *
+ * @see "https://en.wikipedia.org/wiki/Bitonic_sorter"
+ */
+public class BitonicSorter extends SortingNetworkSorter {
+
+    public BitonicSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool running the stages
+     */
+    public BitonicSorter(ForkJoinPool pool) {
+        super("Bitonic sort", pool);
+    }
+
+    @Override
+    void forEachStage(int length, Consumer<Stage> action) {
+        for (int block = 2; block >>> 1 < length; block <<= 1) {
+            int flip = block - 1;
+            action.accept(index -> index ^ flip);
+            for (int distance = block >>> 2; distance > 0; distance >>>= 1) {
+                int mask = distance;
+                action.accept(index -> index ^ mask);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements the bubble sort algorithm on a primitive array.
+ *
+ * @see "https://en.wikipedia.org/wiki/Bubble_sort"
+ */
+public class BubbleSorter extends AbstractSorter {
+
+    public BubbleSorter() {
+        super("Bubble sort");
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        boolean ordered = false;
+        int size = array.length;
+        for (; size > 1 && !ordered; size--) {
+            ordered = true; //Hp: the array is ordered
+            for (int i = 0; i < size - 1; i++) {
+                listener.onHighlight(i, ACTIVE);
+                listener.onHighlight(i + 1, ACTIVE);
+                if (greater(array, i, i + 1, listener)) {
+                    swap(array, i, i + 1, listener);
+                    ordered = false;
+                }
+                listener.onHighlight(i, NONE);
+                listener.onHighlight(i + 1, NONE);
+            }
+            listener.onHighlight(size - 1, SORTED);
+        }
+        highlight(0, Math.min(size, array.length - 1), SORTED, listener);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements the cocktail sort algorithm on a primitive array.
+ *
+ * @see "https://it.wikipedia.org/wiki/Shaker_sort"
+ * @see "https://www.geeksforgeeks.org/cocktail-sort/"
+ */
+public class CocktailSorter extends AbstractSorter {
+
+    public CocktailSorter() {
+        super("Cocktail sort");
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        if (array.length < 2) {
+            highlight(0, array.length - 1, SORTED, listener);
+            return;
+        }
+        boolean swapped;
+        int start = 0;
+        int end = array.length - 1;
+
+        do {
+            swapped = false;
+
+            //Right sliding
+            int i;
+            for (i = start; i < end; i++) {
+                listener.onHighlight(i, ACTIVE);
+                listener.onHighlight(i + 1, ACTIVE);
+                if (greater(array, i, i + 1, listener)) {
+                    swap(array, i, i + 1, listener);
+                    swapped = true;
+                }
+                listener.onHighlight(i, NONE);
+                listener.onHighlight(i + 1, NONE);
+            }
+            listener.onHighlight(i, SORTED);
+
+            if (swapped) {
+                swapped = false;
+                end--;
+
+                //Left sliding
+                for (i = end - 1; i >= start; i--) {
+                    listener.onHighlight(i, ACTIVE);
+                    listener.onHighlight(i + 1, ACTIVE);
+                    if (greater(array, i, i + 1, listener)) {
+                        swap(array, i, i + 1, listener);
+                        swapped = true;
+                    }
+                    listener.onHighlight(i, NONE);
+                    listener.onHighlight(i + 1, NONE);
+                }
+                listener.onHighlight(i + 1, SORTED);
+                start++;
+            }
+        } while (swapped);
+
+        highlight(start, end, SORTED, listener);
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Measures an algorithm on arrays of geometrically increasing sizes, to check its complexity against the
+ * {@link GrowthModel}s with a {@link ComplexityFit}.
+ * <ul>
+ *     <li>the operations of each size are counted on a pool of background workers, all the sizes in parallel: the
+ *     counts don't depend on the timing, so the runs don't need to be isolated;</li>
+ *     <li>the sizes are then timed one at a time on a single background worker, so the timed runs don't compete with
+ *     each other for the cores. Each size is first sorted repeatedly for {@value #WARMUP_MILLIS} ms, so that the
+ *     small sizes aren't timed before the sorter is compiled; then each trial sorts enough copies of the array to last
+ *     at least {@value #MIN_TRIAL_MILLIS} ms, and the median of the trials is kept. Only the sizes whose operations
+ *     have been counted are timed.</li>
+ * </ul>
+ * A size fails if its sort throws, e.g. an {@link OutOfMemoryError} of an array too large for the heap, or if
+ * counting its operations or a single timed sort takes longer than {@value #BUDGET_SECONDS} s, e.g. a quick sort on a
+ * large organ pipe. The sizes above the first failed size aren't measured, since they would fail as well, or take even
+ * longer; the counts in progress of those sizes are cancelled.
+ * Each measurement and each failure is passed to a consumer as soon as it's done, from the thread of the worker. The
+ * arrays have values between 1 and n, from the same seed for every size.
+ */
+public class ComplexityAnalyzer {
+    static final int WARMUP_MILLIS = 100;
+    static final int MIN_TRIAL_MILLIS = 10;
+    static final int BUDGET_SECONDS = 10;
+    private static final int MAX_COPIES = 1 << 16;
+
+    /**
+     * The measured quantities.
+     */
+    public enum Metric {
+        TIME("Time (ns)"),
+        OPERATIONS("Operations");
+
+        private final String displayName;
+
+        Metric(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+
+    /**
+     * A measurement of the algorithm.
+     *
+     * @param metric the measured quantity
+     * @param size the size of the array
+     * @param value the median time of a sort in nanoseconds, or the number of operations as given by
+     * {@link OperationCounter#getOperations()}, where a swap counts once
+     */
+    public record Measurement(Metric metric, int size, double value) {
+    }
+
+    /**
+     * A size which couldn't be measured: the larger sizes aren't measured either.
+     *
+     * @param metric the quantity which was being measured
+     * @param size the size of the array
+     * @param cause the exception thrown by the sort, or a {@link TimeoutException} if it took longer than the budget
+     */
+    public record Failure(Metric metric, int size, Throwable cause) {
+    }
+
+    private final Algorithm algorithm;
+    private final InputDistribution distribution;
+    private final int[] sizes;
+    private final int trials;
+    private final long seed;
+    private final List<RunController> controllers = new ArrayList<>();
+    private ExecutorService countExecutor;
+    private ExecutorService timeExecutor;
+    private volatile boolean cancelled;
+    private volatile int failedSize = Integer.MAX_VALUE;
+
+    /**
+     * @param algorithm the algorithm to measure
+     * @param distribution the distribution of the arrays
+     * @param sizes the sizes of the arrays, in ascending order
+     * @param trials the number of timed trials of each size, at least 1
+     * @param seed the seed of the arrays
+     */
+    public ComplexityAnalyzer(Algorithm algorithm, InputDistribution distribution, int[] sizes, int trials, long seed) {
+        this.algorithm = algorithm;
+        this.distribution = distribution;
+        this.sizes = sizes.clone();
+        this.trials = Math.max(1, trials);
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the powers of 2 between the given bounds.
+     *
+     * @param minSize the min size, at least 1
+     * @param maxSize the max size
+     *
+     * @return the sizes, in ascending order
+     */
+    public static int[] geometricSizes(int minSize, int maxSize) {
+        List<Integer> sizes = new ArrayList<>();
+        for (long size = Integer.highestOneBit(Math.max(1, minSize)); size <= maxSize; size <<= 1) {
+            if (size >= minSize) {
+                sizes.add((int) size);
+            }
+        }
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Starts the measurements in the background. The operations are all counted before the first size is timed.
+     *
+     * @param consumer the consumer of each measurement, called from a background thread
+     * @param failureConsumer the consumer of each failed size, called from a background thread
+     *
+     * @return a future completed when all the measurements are done or skipped, or completed exceptionally if they
+     * have been cancelled
+     */
+    public synchronized CompletableFuture<Void> start(Consumer<Measurement> consumer,
+                                                     Consumer<Failure> failureConsumer) {
+        countExecutor = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+                daemonThreads("complexity-count"));
+        timeExecutor = Executors.newSingleThreadExecutor(daemonThreads("complexity-timing"));
+        boolean[] counted = new boolean[sizes.length];
+        CompletableFuture<?>[] counts = new CompletableFuture<?>[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            int index = i;
+            int size = sizes[i];
+            RunController controller = new RunController(Double.POSITIVE_INFINITY);
+            controllers.add(controller);
+            counts[i] = CompletableFuture.runAsync(() -> {
+                checkCancelled();
+                if (size > failedSize) {
+                    return;
+                }
+                // The budget cancels the controller, like a failure of a smaller size or a cancellation
+                CompletableFuture.runAsync(controller::cancel,
+                        CompletableFuture.delayedExecutor(BUDGET_SECONDS, TimeUnit.SECONDS, Runnable::run));
+                try {
+                    int[] array = distribution.generate(size, size, seed);
+                    OperationCounter counter = new OperationCounter();
+                    algorithm.newSorter().sort(array, controller.control(counter));
+                    counted[index] = true;
+                    consumer.accept(new Measurement(Metric.OPERATIONS, size, counter.getOperations()));
+                } catch (CancellationException exception) {
+                    checkCancelled();
+                    if (size < failedSize) {
+                        fail(new Failure(Metric.OPERATIONS, size, overBudget()), failureConsumer);
+                    }
+                } catch (RuntimeException | StackOverflowError | OutOfMemoryError exception) {
+                    fail(new Failure(Metric.OPERATIONS, size, exception), failureConsumer);
+                }
+            }, countExecutor);
+        }
+        CompletableFuture<Void> timings = CompletableFuture.allOf(counts);
+        for (int i = 0; i < sizes.length; i++) {
+            int index = i;
+            int size = sizes[i];
+            timings = timings.thenRunAsync(() -> {
+                if (!counted[index] || size >= failedSize) {
+                    return;
+                }
+                try {
+                    consumer.accept(new Measurement(Metric.TIME, size, medianNanos(size)));
+                } catch (CancellationException exception) {
+                    throw exception;
+                } catch (TimeoutException | RuntimeException | StackOverflowError | OutOfMemoryError exception) {
+                    fail(new Failure(Metric.TIME, size, exception), failureConsumer);
+                }
+            }, timeExecutor);
+        }
+        return timings.whenComplete((result, exception) -> shutdown());
+    }
+
+    /**
+     * Reports a failed size, and stops measuring the larger sizes.
+     *
+     * @param failure the failure
+     * @param failureConsumer the consumer of the failures
+     */
+    private synchronized void fail(Failure failure, Consumer<Failure> failureConsumer) {
+        failedSize = Math.min(failedSize, failure.size());
+        for (int i = 0; i < sizes.length; i++) {
+            if (sizes[i] > failedSize) {
+                controllers.get(i).cancel();
+            }
+        }
+        failureConsumer.accept(failure);
+    }
+
+    private static TimeoutException overBudget() {
+        return new TimeoutException(String.format("Took longer than %d s", BUDGET_SECONDS));
+    }
+
+    /**
+     * Stops the measurements: the counted sorts stop at their next operation, and the timing stops after the current
+     * run or trial.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        for (RunController controller : controllers) {
+            controller.cancel();
+        }
+        shutdown();
+    }
+
+    /**
+     * Shuts the workers down once their tasks are done. The tasks still queued aren't dropped, since their futures
+     * would never complete: they're run, and fail at once if the measurements have been cancelled.
+     */
+    private synchronized void shutdown() {
+        if (countExecutor != null) {
+            countExecutor.shutdown();
+            timeExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Times the sort of an array of the given size.
+     *
+     * @param size the size of the array
+     *
+     * @return the median over the trials of the time of a sort, in nanoseconds
+     *
+     * @throws TimeoutException if a sort takes longer than the budget
+     */
+    private double medianNanos(int size) throws TimeoutException {
+        Sorter sorter = algorithm.newSorter();
+        int[] input = distribution.generate(size, size, seed);
+        // The warmup also tells how many copies a trial needs, from its last run
+        long nanos, startTime;
+        long warmupEnd = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(WARMUP_MILLIS);
+        do {
+            checkCancelled();
+            int[] array = input.clone();
+            startTime = System.nanoTime();
+            sorter.sort(array);
+            nanos = Math.max(1, System.nanoTime() - startTime);
+            if (nanos > TimeUnit.SECONDS.toNanos(BUDGET_SECONDS)) {
+                throw overBudget();
+            }
+        } while (System.nanoTime() < warmupEnd);
+        int copies = (int) Math.max(1, Math.min(MAX_COPIES, TimeUnit.MILLISECONDS.toNanos(MIN_TRIAL_MILLIS) / nanos));
+        int[][] arrays = new int[copies][];
+        double[] trialNanos = new double[trials];
+        for (int trial = 0; trial < trials; trial++) {
+            checkCancelled();
+            for (int copy = 0; copy < copies; copy++) {
+                arrays[copy] = input.clone();
+            }
+            startTime = System.nanoTime();
+            for (int[] copy : arrays) {
+                sorter.sort(copy);
+            }
+            trialNanos[trial] = (System.nanoTime() - startTime) / (double) copies;
+        }
+        Arrays.sort(trialNanos);
+        return trials % 2 == 1 ? trialNanos[trials / 2] : (trialNanos[trials / 2 - 1] + trialNanos[trials / 2]) / 2;
+    }
+
+    /**
+     * Stops the timing if the measurements have been cancelled: a trial isn't interrupted, so that checking costs
+     * nothing in the timed loop.
+     *
+     * @throws CancellationException if the measurements have been cancelled
+     */
+    private void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("The measurements have been cancelled");
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
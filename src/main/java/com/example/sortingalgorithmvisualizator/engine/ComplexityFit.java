@@ -0,0 +1,197 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The fit of measurements of a sort, such as times or operation counts, taken on increasing sizes.
+ * <ul>
+ *     <li>a power law c*n^b is fitted by least squares on the logarithms, giving the exponent b with a 95% confidence
+ *     interval from Student's t distribution, and the coefficient of determination R²;</li>
+ *     <li>each {@link GrowthModel} c*f(n) is fitted on the logarithms too, which leaves only the constant c free, and
+ *     the models are compared with their Akaike weights: the probability that each one is the best of the candidates,
+ *     given the measurements.</li>
+ * </ul>
+ * Fitting the logarithms weighs the relative errors of the small and of the large sizes equally.
+ */
+public final class ComplexityFit {
+    /**
+     * The 97.5% quantiles of Student's t distribution, by degrees of freedom from 1.
+     */
+    private static final double[] T_QUANTILES = {12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086};
+
+    private final int points;
+    private final double exponent;
+    private final double exponentMargin;
+    private final double rSquared;
+    private final Map<GrowthModel, Double> coefficients;
+    private final Map<GrowthModel, Double> weights;
+    private final GrowthModel bestModel;
+
+    private ComplexityFit(int points, double exponent, double exponentMargin, double rSquared,
+                          Map<GrowthModel, Double> coefficients, Map<GrowthModel, Double> weights,
+                          GrowthModel bestModel) {
+        this.points = points;
+        this.exponent = exponent;
+        this.exponentMargin = exponentMargin;
+        this.rSquared = rSquared;
+        this.coefficients = coefficients;
+        this.weights = weights;
+        this.bestModel = bestModel;
+    }
+
+    /**
+     * Fits the given measurements.
+     *
+     * @param sizes the sizes of the arrays, at least 2 distinct ones
+     * @param values the measurement of each size, positive
+     *
+     * @return the fit of the measurements
+     * @throws IllegalArgumentException if there are fewer than 2 measurements
+     */
+    public static ComplexityFit fit(double[] sizes, double[] values) {
+        int m = sizes.length;
+        if (m < 2 || values.length != m) {
+            throw new IllegalArgumentException("At least 2 measurements are needed: " + m);
+        }
+        double[] x = new double[m], z = new double[m];
+        double meanX = 0, meanZ = 0;
+        for (int i = 0; i < m; i++) {
+            x[i] = Math.log(sizes[i]);
+            z[i] = Math.log(Math.max(Double.MIN_NORMAL, values[i]));
+            meanX += x[i] / m;
+            meanZ += z[i] / m;
+        }
+        double sxx = 0, sxz = 0, szz = 0;
+        for (int i = 0; i < m; i++) {
+            sxx += (x[i] - meanX) * (x[i] - meanX);
+            sxz += (x[i] - meanX) * (z[i] - meanZ);
+            szz += (z[i] - meanZ) * (z[i] - meanZ);
+        }
+        double exponent = sxx == 0 ? 0 : sxz / sxx;
+        double residuals = Math.max(0, szz - exponent * sxz);
+        double margin = m < 3 || sxx == 0 ? Double.NaN
+                : tQuantile(m - 2) * Math.sqrt(residuals / (m - 2) / sxx);
+        double rSquared = szz == 0 ? 1 : 1 - residuals / szz;
+
+        // Akaike weights: all the models have a single free parameter, so they only differ by their residuals
+        Map<GrowthModel, Double> logLikelihoods = new EnumMap<>(GrowthModel.class);
+        Map<GrowthModel, Double> coefficients = new EnumMap<>(GrowthModel.class);
+        GrowthModel best = null;
+        for (GrowthModel model : GrowthModel.values()) {
+            double logC = 0;
+            for (int i = 0; i < m; i++) {
+                logC += (z[i] - Math.log(model.evaluate(sizes[i]))) / m;
+            }
+            double sse = 0;
+            for (int i = 0; i < m; i++) {
+                double error = z[i] - Math.log(model.evaluate(sizes[i])) - logC;
+                sse += error * error;
+            }
+            coefficients.put(model, Math.exp(logC));
+            logLikelihoods.put(model, -m / 2.0 * Math.log(Math.max(sse / m, 1e-12)));
+            if (best == null || logLikelihoods.get(model) > logLikelihoods.get(best)) {
+                best = model;
+            }
+        }
+        Map<GrowthModel, Double> weights = new EnumMap<>(GrowthModel.class);
+        double total = 0;
+        for (GrowthModel model : GrowthModel.values()) {
+            weights.put(model, Math.exp(logLikelihoods.get(model) - logLikelihoods.get(best)));
+            total += weights.get(model);
+        }
+        for (GrowthModel model : GrowthModel.values()) {
+            weights.put(model, weights.get(model) / total);
+        }
+        return new ComplexityFit(m, exponent, margin, rSquared, coefficients, weights, best);
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    /**
+     * Returns the exponent b of the power law c*n^b fitting the measurements.
+     *
+     * @return the fitted exponent
+     */
+    public double getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Returns the half-width of the 95% confidence interval of the exponent.
+     *
+     * @return the margin of the exponent, or NaN if there are fewer than 3 measurements
+     */
+    public double getExponentMargin() {
+        return exponentMargin;
+    }
+
+    /**
+     * Returns the coefficient of determination of the power law, on the logarithms.
+     *
+     * @return R², 1 for a perfect fit
+     */
+    public double getRSquared() {
+        return rSquared;
+    }
+
+    /**
+     * Returns the growth model with the smallest residuals.
+     *
+     * @return the best model
+     */
+    public GrowthModel getBestModel() {
+        return bestModel;
+    }
+
+    /**
+     * Returns the probability that the given model is the best of the candidates, given the measurements.
+     *
+     * @param model the model
+     *
+     * @return the Akaike weight of the model, between 0 and 1
+     */
+    public double getConfidence(GrowthModel model) {
+        return weights.get(model);
+    }
+
+    /**
+     * Returns the value predicted by the given model, with its fitted constant.
+     *
+     * @param model the model
+     * @param n the size of the array
+     *
+     * @return the predicted measurement
+     */
+    public double predict(GrowthModel model, double n) {
+        return coefficients.get(model) * model.evaluate(n);
+    }
+
+    /**
+     * Returns the fitted exponent and the best model on a single line.
+     *
+     * @return a summary of the fit
+     */
+    public String getSummary() {
+        String margin = Double.isNaN(exponentMargin) ? "" : String.format(Locale.ROOT, " ± %.2f", exponentMargin);
+        GrowthModel runnerUp = null;
+        for (GrowthModel model : GrowthModel.values()) {
+            if (model != bestModel && (runnerUp == null || getConfidence(model) > getConfidence(runnerUp))) {
+                runnerUp = model;
+            }
+        }
+        return String.format(Locale.ROOT, "exponent %.2f%s (R² %.4f), best model %s (%.0f%%), then %s (%.0f%%)",
+                exponent, margin, rSquared, bestModel.getDisplayName(), 100 * getConfidence(bestModel),
+                runnerUp.getDisplayName(), 100 * getConfidence(runnerUp));
+    }
+
+    private static double tQuantile(int degreesOfFreedom) {
+        // Beyond the table the quantile approaches the normal one, 1.96
+        return degreesOfFreedom <= T_QUANTILES.length ? T_QUANTILES[degreesOfFreedom - 1]
+                : 1.96 + 2.4 / degreesOfFreedom;
+    }
+}
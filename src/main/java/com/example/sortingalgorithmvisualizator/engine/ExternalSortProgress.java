@@ -0,0 +1,146 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The progress of an {@link ExternalSorter}, at the level of the blocks it reads and writes. It's updated by the
+ * threads of the sort and can be polled by any other thread, e.g. once per frame by the visualizer.
+ */
+public class ExternalSortProgress {
+
+    /**
+     * The phases of an external sort.
+     */
+    public enum Phase {
+        /**
+         * The input is split in chunks, which are sorted and written to temporary run files.
+         */
+        SPLITTING,
+        /**
+         * The runs are merged, possibly in several passes, until a single one is left.
+         */
+        MERGING,
+        /**
+         * The output has been written.
+         */
+        DONE
+    }
+
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final AtomicInteger runsProduced = new AtomicInteger();
+    private volatile Phase phase = Phase.SPLITTING;
+    private volatile long inputBytes;
+    private volatile int expectedRuns;
+    private volatile int mergePasses;
+    private volatile int mergePass;
+    private volatile int fanIn;
+    private volatile int pendingRuns;
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public long getInputBytes() {
+        return inputBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public int getRunsProduced() {
+        return runsProduced.get();
+    }
+
+    public int getExpectedRuns() {
+        return expectedRuns;
+    }
+
+    /**
+     * Returns the number of merge passes the sort needs, known once the input has been split.
+     *
+     * @return the number of merge passes
+     */
+    public int getMergePasses() {
+        return mergePasses;
+    }
+
+    /**
+     * Returns the current merge pass, from 1 to {@link #getMergePasses()}, or 0 while the input is being split.
+     *
+     * @return the current merge pass
+     */
+    public int getMergePass() {
+        return mergePass;
+    }
+
+    /**
+     * Returns the number of runs being merged at once.
+     *
+     * @return the fan-in of the current merge
+     */
+    public int getFanIn() {
+        return fanIn;
+    }
+
+    /**
+     * Returns the number of runs left at the start of the current merge pass.
+     *
+     * @return the number of runs to merge
+     */
+    public int getPendingRuns() {
+        return pendingRuns;
+    }
+
+    /**
+     * Returns the fraction of the sort which has been done: every byte is written once when the input is split, and
+     * once more for each merge pass.
+     *
+     * @return the progress, between 0 and 1
+     */
+    public double getFraction() {
+        if (phase == Phase.DONE) {
+            return 1;
+        }
+        double total = (double) inputBytes * (1 + Math.max(1, mergePasses));
+        return total == 0 ? 0 : Math.min(1, getBytesWritten() / total);
+    }
+
+    void start(long inputBytes, int expectedRuns) {
+        this.inputBytes = inputBytes;
+        this.expectedRuns = expectedRuns;
+    }
+
+    void read(long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    void written(long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    void runProduced() {
+        runsProduced.incrementAndGet();
+    }
+
+    void startMerging(int mergePasses) {
+        this.mergePasses = mergePasses;
+        phase = Phase.MERGING;
+    }
+
+    void startPass(int mergePass, int fanIn, int pendingRuns) {
+        this.mergePass = mergePass;
+        this.fanIn = fanIn;
+        this.pendingRuns = pendingRuns;
+    }
+
+    void done() {
+        phase = Phase.DONE;
+    }
+}
@@ -0,0 +1,475 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sorts a file of binary ints which may be far larger than the heap. The ints are 32 bit big-endian values, as written
+ * by a {@link java.io.DataOutputStream}.
+ * <ol>
+ *     <li>The input is read in chunks which fit in memory; each chunk is sorted by a {@link Sorter} on a pool of
+ *     workers, and written to a temporary run file. At most one chunk per worker is in memory at once.</li>
+ *     <li>The runs are merged with a k-way merge driven by a primitive min-heap, reading each run through its own large
+ *     buffer. When there are more runs than the fan-in, they're merged in several passes.</li>
+ * </ol>
+ * The temporary files are deleted when the sort ends, even if it fails. The sort is cancelled by interrupting the
+ * thread running it.
+ *
+ * @see "https://en.wikipedia.org/wiki/External_sorting"
+ */
+public class ExternalSorter {
+    /**
+     * The byte order of the sorted files.
+     */
+    public static final ByteOrder ORDER = ByteOrder.BIG_ENDIAN;
+    public static final int DEFAULT_FAN_IN = 64;
+    private static final int MIN_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_BUFFER_SIZE = 1 << 23;
+
+    private final Sorter sorter;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int fanIn;
+    private final Path tempDirectory;
+
+    /**
+     * Creates an external sorter using half of the max heap for the chunks, one per available processor, and sorting
+     * them with introsort.
+     */
+    public ExternalSorter() {
+        this(new IntroSorter(), defaultChunkSize(Runtime.getRuntime().availableProcessors()),
+                Runtime.getRuntime().availableProcessors(), DEFAULT_FAN_IN, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param sorter the sorter of the chunks
+     * @param chunkSize the number of ints of a chunk
+     * @param parallelism the number of chunks sorted at the same time
+     * @param fanIn the max number of runs merged at once, at least 2
+     * @param tempDirectory the directory of the temporary run files
+     */
+    public ExternalSorter(Sorter sorter, int chunkSize, int parallelism, int fanIn, Path tempDirectory) {
+        if (chunkSize < 1 || parallelism < 1 || fanIn < 2) {
+            throw new IllegalArgumentException("Invalid chunk size, parallelism or fan-in");
+        }
+        this.sorter = sorter;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.fanIn = fanIn;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Returns the size of the chunks such that the given number of them takes half of the max heap.
+     *
+     * @param parallelism the number of chunks in memory at once
+     *
+     * @return the number of ints of a chunk
+     */
+    public static int defaultChunkSize(int parallelism) {
+        long chunkBytes = Runtime.getRuntime().maxMemory() / 2 / parallelism;
+        return (int) Math.max(MIN_BUFFER_SIZE, Math.min(Integer.MAX_VALUE - 8, chunkBytes / Integer.BYTES));
+    }
+
+    /**
+     * Sorts the ints of the input file in ascending order, writing them to the output file.
+     *
+     * @param input the file to sort
+     * @param output the sorted file, replaced if it already exists; it must not be the input file
+     * @param progress the progress updated during the sort
+     *
+     * @throws IOException if a file can't be read or written, if the size of the input isn't a multiple of 4 bytes,
+     * or if the sort has been interrupted
+     */
+    public void sort(Path input, Path output, ExternalSortProgress progress) throws IOException {
+        List<Path> tempFiles = new ArrayList<>();
+        try {
+            List<Path> runs = split(input, progress, tempFiles);
+
+            int passes = 1;
+            for (long capacity = fanIn; capacity < runs.size(); capacity *= fanIn) {
+                passes++;
+            }
+            progress.startMerging(passes);
+            int pass = 1;
+            int bufferSize = mergeBufferSize();
+            while (runs.size() > fanIn) {
+                progress.startPass(pass++, fanIn, runs.size());
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    Path run = createTempFile(tempFiles);
+                    merge(group, run, bufferSize, progress);
+                    for (Path path : group) {
+                        Files.delete(path);
+                    }
+                    merged.add(run);
+                }
+                runs = merged;
+            }
+            progress.startPass(pass, runs.size(), runs.size());
+            merge(runs, output, bufferSize, progress);
+            progress.done();
+        } finally {
+            for (Path path : tempFiles) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                    // Left in the temporary directory
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the input in chunks, sorts them in parallel and writes each one to a run file.
+     *
+     * @param input the file to sort
+     * @param progress the progress to update
+     * @param tempFiles the temporary files created so far, to which the run files are added
+     *
+     * @return the run files, in the order of the input
+     *
+     * @throws IOException if a file can't be read or written, or if the sort has been interrupted
+     */
+    private List<Path> split(Path input, ExternalSortProgress progress, List<Path> tempFiles) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "external-sort-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                throw new IOException("The size of " + input + " isn't a multiple of " + Integer.BYTES + " bytes");
+            }
+            long elements = size / Integer.BYTES;
+            int runCount = (int) ((elements + chunkSize - 1) / chunkSize);
+            progress.start(size, runCount);
+
+            // The chunks are recycled, so at most one per worker is allocated
+            int chunkCount = Math.min(parallelism, runCount);
+            BlockingQueue<int[]> freeChunks = new ArrayBlockingQueue<>(Math.max(1, chunkCount));
+            ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_BUFFER_SIZE).order(ORDER);
+            List<Future<Path>> runs = new ArrayList<>(runCount);
+            for (int run = 0; run < runCount; run++) {
+                int length = (int) Math.min(chunkSize, elements - (long) run * chunkSize);
+                int[] chunk = run < chunkCount ? new int[(int) Math.min(chunkSize, elements)] : freeChunks.take();
+                read(channel, buffer, chunk, length, progress);
+                int[] values = length == chunk.length ? chunk : Arrays.copyOf(chunk, length);
+                if (values != chunk) {
+                    freeChunks.add(chunk);
+                }
+                Path path = createTempFile(tempFiles);
+                runs.add(executor.submit(() -> {
+                    try {
+                        sorter.sort(values);
+                        write(values, path, progress);
+                    } finally {
+                        if (values == chunk) {
+                            freeChunks.add(chunk);
+                        }
+                    }
+                    progress.runProduced();
+                    return path;
+                }));
+            }
+
+            List<Path> paths = new ArrayList<>(runCount);
+            for (Future<Path> run : runs) {
+                paths.add(run.get());
+            }
+            return paths;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("The sort has been interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("A chunk couldn't be sorted", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Merges the given runs in a single one.
+     *
+     * @param runs the run files
+     * @param output the merged file
+     * @param bufferSize the size of the read buffer of each run
+     * @param progress the progress to update
+     *
+     * @throws IOException if a file can't be read or written
+     */
+    private static void merge(List<Path> runs, Path output, int bufferSize, ExternalSortProgress progress)
+            throws IOException {
+        RunReader[] readers = new RunReader[runs.size()];
+        try (RunWriter writer = new RunWriter(output, MAX_BUFFER_SIZE, progress)) {
+            MinHeap heap = new MinHeap(readers.length);
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = new RunReader(runs.get(i), bufferSize, progress);
+                if (readers[i].next()) {
+                    heap.add(readers[i].current, i);
+                }
+            }
+            while (!heap.isEmpty()) {
+                writer.write(heap.minKey());
+                RunReader reader = readers[heap.minSource()];
+                if (reader.next()) {
+                    heap.replaceMin(reader.current);
+                } else {
+                    heap.removeMin();
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the size of the read buffer of each run: the merge uses about a quarter of the max heap.
+     *
+     * @return the size of a buffer, in bytes
+     */
+    private int mergeBufferSize() {
+        long bufferSize = Runtime.getRuntime().maxMemory() / 4 / fanIn;
+        return (int) Math.max(MIN_BUFFER_SIZE, Math.min(MAX_BUFFER_SIZE, bufferSize)) & -Integer.BYTES;
+    }
+
+    private Path createTempFile(List<Path> tempFiles) throws IOException {
+        Path path = Files.createTempFile(tempDirectory, "sort-run", ".bin");
+        tempFiles.add(path);
+        return path;
+    }
+
+    /**
+     * Reads the given number of ints from a channel.
+     *
+     * @param channel the channel to read
+     * @param buffer the buffer to read through, whose capacity is a multiple of 4 bytes
+     * @param values the array to fill from its start
+     * @param length the number of ints to read
+     * @param progress the progress to update
+     *
+     * @throws IOException if the channel can't be read, or ends before the ints
+     */
+    private static void read(FileChannel channel, ByteBuffer buffer, int[] values, int length,
+                             ExternalSortProgress progress) throws IOException {
+        for (int offset = 0; offset < length; ) {
+            int count = Math.min(length - offset, buffer.capacity() / Integer.BYTES);
+            buffer.clear().limit(count * Integer.BYTES);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Unexpected end of file");
+                }
+            }
+            buffer.flip();
+            buffer.asIntBuffer().get(values, offset, count);
+            progress.read(buffer.limit());
+            offset += count;
+        }
+    }
+
+    /**
+     * Writes the given ints to a run file.
+     *
+     * @param values the ints to write
+     * @param path the run file
+     * @param progress the progress to update
+     *
+     * @throws IOException if the file can't be written
+     */
+    private static void write(int[] values, Path path, ExternalSortProgress progress) throws IOException {
+        int bufferSize = (int) Math.max(MIN_BUFFER_SIZE, Math.min(MAX_BUFFER_SIZE, (long) values.length * Integer.BYTES));
+        try (RunWriter writer = new RunWriter(path, bufferSize, progress)) {
+            for (int value : values) {
+                writer.write(value);
+            }
+        }
+    }
+
+    /**
+     * Reads the ints of a run file, one at a time, through a buffer.
+     */
+    private static class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final ExternalSortProgress progress;
+        private long unread;
+        int current;
+
+        RunReader(Path path, int bufferSize, ExternalSortProgress progress) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            buffer = ByteBuffer.allocateDirect(bufferSize).order(ORDER).limit(0);
+            this.progress = progress;
+            unread = channel.size();
+        }
+
+        /**
+         * Reads the next int of the run, which becomes the current one.
+         *
+         * @return false if the run has ended
+         *
+         * @throws IOException if the file can't be read
+         */
+        boolean next() throws IOException {
+            if (!buffer.hasRemaining()) {
+                if (unread == 0) {
+                    return false;
+                }
+                buffer.clear().limit((int) Math.min(buffer.capacity(), unread));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) {
+                        throw new EOFException("Unexpected end of run file");
+                    }
+                }
+                buffer.flip();
+                unread -= buffer.limit();
+                progress.read(buffer.limit());
+            }
+            current = buffer.getInt();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes ints to a file through a buffer.
+     */
+    private static class RunWriter implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final ExternalSortProgress progress;
+
+        RunWriter(Path path, int bufferSize, ExternalSortProgress progress) throws IOException {
+            buffer = ByteBuffer.allocateDirect(bufferSize).order(ORDER);
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.progress = progress;
+        }
+
+        void write(int value) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            progress.written(buffer.remaining());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (channel) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * A binary min-heap of the current ints of the runs being merged, each one paired with the index of its run.
+     * Keys and sources are kept in two primitive arrays, so the merge doesn't allocate anything per element.
+     */
+    private static class MinHeap {
+        private final int[] keys;
+        private final int[] sources;
+        private int size;
+
+        MinHeap(int capacity) {
+            keys = new int[capacity];
+            sources = new int[capacity];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        int minKey() {
+            return keys[0];
+        }
+
+        int minSource() {
+            return sources[0];
+        }
+
+        void add(int key, int source) {
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                keys[i] = keys[parent];
+                sources[i] = sources[parent];
+                i = parent;
+            }
+            keys[i] = key;
+            sources[i] = source;
+        }
+
+        /**
+         * Replaces the min key with the given one, keeping its source.
+         *
+         * @param key the new key
+         */
+        void replaceMin(int key) {
+            siftDown(key, sources[0]);
+        }
+
+        void removeMin() {
+            size--;
+            if (size > 0) {
+                siftDown(keys[size], sources[size]);
+            }
+        }
+
+        private void siftDown(int key, int source) {
+            int i = 0;
+            for (int child; (child = 2 * i + 1) < size; i = child) {
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                keys[i] = keys[child];
+                sources[i] = sources[child];
+            }
+            keys[i] = key;
+            sources[i] = source;
+        }
+    }
+}
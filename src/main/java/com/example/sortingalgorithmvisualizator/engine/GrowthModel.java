@@ -0,0 +1,57 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+/**
+ * The candidate growth models of the cost of a sort, as a function of the size n of the array. The arrays measured by
+ * the {@link ComplexityAnalyzer} have values between 1 and n, so the length k of the keys, in decimal digits, grows
+ * with the size as well.
+ */
+public enum GrowthModel {
+    LINEAR("n") {
+        @Override
+        public double evaluate(double n) {
+            return n;
+        }
+    },
+    N_LOG_N("n log n") {
+        @Override
+        public double evaluate(double n) {
+            return n * Math.log(Math.max(2, n)) / Math.log(2);
+        }
+    },
+    QUADRATIC("n²") {
+        @Override
+        public double evaluate(double n) {
+            return n * n;
+        }
+    },
+    KEY_LENGTH("k·n") {
+        @Override
+        public double evaluate(double n) {
+            return n * Math.max(1, Math.ceil(Math.log10(n + 1)));
+        }
+    };
+
+    private final String displayName;
+
+    GrowthModel(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Returns the growth of the model for the given size, up to a constant factor.
+     *
+     * @param n the size of the array
+     *
+     * @return the value of the model
+     */
+    public abstract double evaluate(double n);
+
+    /**
+     * Returns the formula of the model, as shown to the user.
+     *
+     * @return the formula of the model
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
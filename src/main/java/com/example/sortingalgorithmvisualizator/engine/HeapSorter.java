@@ -0,0 +1,96 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements the heap sort algorithm on a primitive array.
+ *
+ * @see "https://en.wikipedia.org/wiki/Heapsort"
+ * @see "https://www.geeksforgeeks.org/heap-sort/"
+ */
+public class HeapSorter extends AbstractSorter {
+
+    public HeapSorter() {
+        super("Heap sort");
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        heapSort(array, 0, array.length - 1, listener);
+    }
+
+    /**
+     * Sorts a sub-array of the given array.
+     *
+     * @param array the array we want to sort
+     * @param first the index of the first element of the sub-array
+     * @param last the index of the last element of the sub-array
+     * @param listener the listener to notify
+     */
+    static void heapSort(int[] array, int first, int last, SortListener listener) {
+        int n = last - first + 1;
+        if (n < 1) {
+            return;
+        }
+
+        SortPhaseEvent event = SortPhaseEvent.start(SortPhaseEvent.BUILD_HEAP, first, last, 0);
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            heapify(array, first, n, i, listener);
+        }
+        if (event != null) {
+            event.commit();
+        }
+
+        event = SortPhaseEvent.start(SortPhaseEvent.EXTRACT, first, last, 0);
+        for (int i = n - 1; i > 0; i--) {
+            swap(array, first, first + i, listener);
+            heapify(array, first, i, 0, listener);
+            listener.onHighlight(first + i, SORTED);
+        }
+        if (event != null) {
+            event.commit();
+        }
+        listener.onHighlight(first, SORTED);
+    }
+
+    /**
+     * Sifts down the root of the given sub-heap so that it's a max heap again.
+     *
+     * @param array the array containing the heap
+     * @param offset the index of the first element of the heap inside the array
+     * @param n the size of the heap
+     * @param i the index of the root, relative to the offset
+     * @param listener the listener to notify
+     */
+    private static void heapify(int[] array, int offset, int n, int i, SortListener listener) {
+        while (true) {
+            int largest = i; //At the beginning the root contains the max value
+            int leftChild = 2 * i + 1;
+            int rightChild = 2 * i + 2;
+            listener.onHighlight(offset + largest, PIVOT);
+
+            // If the left child is larger than the root
+            if (leftChild < n && greater(array, offset + leftChild, offset + largest, listener)) {
+                listener.onHighlight(offset + largest, NONE);
+                largest = leftChild;
+                listener.onHighlight(offset + largest, PIVOT);
+            }
+
+            // If the right child is larger than the root
+            if (rightChild < n && greater(array, offset + rightChild, offset + largest, listener)) {
+                listener.onHighlight(offset + largest, NONE);
+                largest = rightChild;
+                listener.onHighlight(offset + largest, PIVOT);
+            }
+
+            // If the largest is the root the heap is fixed
+            if (largest == i) {
+                listener.onHighlight(offset + largest, NONE);
+                return;
+            }
+            swap(array, offset + i, offset + largest, listener);
+            listener.onHighlight(offset + i, NONE);
+            i = largest;
+        }
+    }
+}
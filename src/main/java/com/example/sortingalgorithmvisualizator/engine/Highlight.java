@@ -0,0 +1,61 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * The highlights a {@link Sorter} can give to the elements of its array.
+ * The visualizer maps each of them to a color.
+ */
+public final class Highlight {
+    /**
+     * The element is drawn with the default color.
+     */
+    public static final byte NONE = 0;
+    /**
+     * The element is being compared or moved (cyan).
+     */
+    public static final byte ACTIVE = 1;
+    /**
+     * The element is a pivot, a max or a heap root (yellow).
+     */
+    public static final byte PIVOT = 2;
+    /**
+     * The element is in its final position or belongs to an ordered sub-array (light lime).
+     */
+    public static final byte SORTED = 3;
+    /**
+     * The element has a special meaning for the algorithm (red).
+     */
+    public static final byte SPECIAL = 4;
+    /**
+     * The first of the highlights identifying the worker thread which is processing the element.
+     */
+    public static final byte WORKER = 5;
+    /**
+     * The number of distinct worker highlights.
+     */
+    public static final int WORKER_COUNT = 8;
+
+    private Highlight() {
+    }
+
+    /**
+     * Returns the highlight identifying the given worker. Workers beyond {@link #WORKER_COUNT} share the highlights.
+     *
+     * @param worker the index of the worker, e.g. its index in the fork/join pool
+     *
+     * @return the highlight of the worker
+     */
+    public static byte worker(int worker) {
+        return (byte) (WORKER + Math.floorMod(worker, WORKER_COUNT));
+    }
+
+    /**
+     * Returns the highlight identifying the current worker thread of a fork/join pool.
+     *
+     * @return the highlight of the current worker, or of the first one if the current thread isn't a worker
+     */
+    public static byte currentWorker() {
+        return Thread.currentThread() instanceof ForkJoinWorkerThread worker ? worker(worker.getPoolIndex()) : WORKER;
+    }
+}
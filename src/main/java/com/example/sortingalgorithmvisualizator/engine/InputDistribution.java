@@ -0,0 +1,262 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * The distributions of the arrays the algorithms are visualized and benchmarked on. The values are between 1 and a
+ * given max value.
+ * The arrays are generated from a seed, so the same seed, size and max value always give the same array. The array is
+ * split in blocks of {@value #BLOCK_SIZE} elements, each one filled by its own {@link SplittableRandom} split from the
+ * seed in a fixed order: the blocks of a large array are filled in parallel, and the result doesn't depend on the
+ * number of threads.
+ */
+public enum InputDistribution {
+    UNIFORM("Uniform") {
+        @Override
+        void fill(int[] array, int from, int to, int maxValue, SplittableRandom random) {
+            for (int i = from; i < to; i++) {
+                array[i] = 1 + random.nextInt(maxValue);
+            }
+        }
+    },
+    SORTED("Sorted") {
+        @Override
+        void fill(int[] array, int from, int to, int maxValue, SplittableRandom random) {
+            for (int i = from; i < to; i++) {
+                array[i] = scale(i, array.length - 1, maxValue);
+            }
+        }
+    },
+    REVERSED("Reversed") {
+        @Override
+        void fill(int[] array, int from, int to, int maxValue, SplittableRandom random) {
+            for (int i = from; i < to; i++) {
+                array[i] = scale(array.length - 1 - i, array.length - 1, maxValue);
+            }
+        }
+    },
+    NEARLY_SORTED("Nearly sorted") {
+        @Override
+        void fill(int[] array, int from, int to, int maxValue, SplittableRandom random) {
+            SORTED.fill(array, from, to, maxValue, random);
+            // k = n / 100 swaps between close elements, which never cross the block
+            for (int k = (to - from) / 100; k > 0; k--) {
+                int i = random.nextInt(from, to);
+                int j = Math.min(to - 1, i + 1 + random.nextInt(10));
+                int tmp = array[i];
+                array[i] = array[j];
+                array[j] = tmp;
+            }
+        }
+    },
+    FEW_UNIQUE("Few unique") {
+        @Override
+        void fill(int[] array, int from, int to, int maxValue, SplittableRandom random) {
+            for (int i = from; i < to; i++) {
+                array[i] = scale(random.nextInt(10), 9, maxValue);
+            }
+        }
+    },
+    SAWTOOTH("Sawtooth") {
+        @Override
+        void fill(int[] array, int from, int to, int maxValue, SplittableRandom random) {
+            int tooth = Math.max(2, (array.length + TEETH - 1) / TEETH);
+            for (int i = from; i < to; i++) {
+                array[i] = scale(i % tooth, tooth - 1, maxValue);
+            }
+        }
+    },
+    ORGAN_PIPE("Organ pipe") {
+        @Override
+        void fill(int[] array, int from, int to, int maxValue, SplittableRandom random) {
+            int half = Math.max(1, (array.length - 1) / 2);
+            for (int i = from; i < to; i++) {
+                array[i] = scale(Math.min(i, array.length - 1 - i), half, maxValue);
+            }
+        }
+    },
+    GAUSSIAN("Gaussian") {
+        @Override
+        void fill(int[] array, int from, int to, int maxValue, SplittableRandom random) {
+            // Centered in the range, which is 6 standard deviations wide
+            double mean = (1.0 + maxValue) / 2, deviation = (maxValue - 1) / 6.0;
+            for (int i = from; i < to; i++) {
+                array[i] = (int) Math.max(1, Math.min(maxValue, Math.round(mean + random.nextGaussian() * deviation)));
+            }
+        }
+    },
+    ZIPF("Zipf") {
+        @Override
+        void fill(int[] array, int from, int to, int maxValue, SplittableRandom random) {
+            ZipfSampler sampler = new ZipfSampler(maxValue, ZIPF_EXPONENT);
+            for (int i = from; i < to; i++) {
+                array[i] = sampler.sample(random);
+            }
+        }
+    },
+    SORTED_RUNS("Sorted runs") {
+        @Override
+        void fill(int[] array, int from, int to, int maxValue, SplittableRandom random) {
+            // About sqrt(n) ascending runs of random length, as produced by appending sorted batches
+            UNIFORM.fill(array, from, to, maxValue, random);
+            int maxRun = 2 * (int) Math.sqrt(array.length) + 1;
+            for (int first = from; first < to; ) {
+                int end = Math.min(to, first + 1 + random.nextInt(maxRun));
+                Arrays.sort(array, first, end);
+                first = end;
+            }
+        }
+    };
+
+    /**
+     * The number of elements filled by each generator.
+     */
+    public static final int BLOCK_SIZE = 1 << 16;
+    private static final int TEETH = 8;
+    private static final double ZIPF_EXPONENT = 1.1;
+
+    private final String displayName;
+
+    InputDistribution(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Fills a block of the given array with values following the distribution.
+     *
+     * @param array the array to fill
+     * @param from the index of the first element of the block
+     * @param to the index after the last element of the block
+     * @param maxValue the max value, at least 1
+     * @param random the generator of the block
+     */
+    abstract void fill(int[] array, int from, int to, int maxValue, SplittableRandom random);
+
+    /**
+     * Fills the given array with values following the distribution, in parallel if it's large.
+     *
+     * @param array the array to fill
+     * @param maxValue the max value, at least 1
+     * @param seed the seed of the values
+     */
+    public void fill(int[] array, int maxValue, long seed) {
+        if (maxValue < 1) {
+            throw new IllegalArgumentException("The max value must be positive: " + maxValue);
+        }
+        int blocks = (array.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[blocks];
+        for (int i = 0; i < blocks; i++) {
+            randoms[i] = root.split();
+        }
+        IntStream indexes = IntStream.range(0, blocks);
+        if (blocks > 1) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> fill(array, i * BLOCK_SIZE, Math.min(array.length, (i + 1) * BLOCK_SIZE), maxValue,
+                randoms[i]));
+    }
+
+    /**
+     * Creates an array following the distribution.
+     *
+     * @param size the size of the array
+     * @param maxValue the max value, at least 1
+     * @param seed the seed of the values
+     *
+     * @return the new array
+     */
+    public int[] generate(int size, int maxValue, long seed) {
+        int[] array = new int[size];
+        fill(array, maxValue, seed);
+        return array;
+    }
+
+    /**
+     * Returns the name of the distribution, as shown to the user.
+     *
+     * @return the name of the distribution
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Maps a position linearly to a value.
+     *
+     * @param position the position, between 0 and max position
+     * @param maxPosition the max position
+     * @param maxValue the value of the max position
+     *
+     * @return the value, between 1 and max value
+     */
+    private static int scale(int position, int maxPosition, int maxValue) {
+        return maxPosition <= 0 ? 1 : 1 + (int) ((long) position * (maxValue - 1) / maxPosition);
+    }
+
+    /**
+     * Samples integers between 1 and n with a probability proportional to 1 / k^s, in constant time, with the
+     * rejection-inversion method of Hörmann and Derflinger.
+     *
+     * @see "https://doi.org/10.1145/235025.235029"
+     */
+    private static class ZipfSampler {
+        private final int n;
+        private final double exponent;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double s;
+
+        ZipfSampler(int n, double exponent) {
+            this.n = n;
+            this.exponent = exponent;
+            hIntegralX1 = hIntegral(1.5) - 1;
+            hIntegralN = hIntegral(n + 0.5);
+            s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+        }
+
+        int sample(SplittableRandom random) {
+            while (true) {
+                double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                int k = (int) Math.max(1, Math.min(n, x + 0.5));
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                    return k;
+                }
+            }
+        }
+
+        /**
+         * @return the integral of h, (x^(1 - s) - 1) / (1 - s), or log x when s = 1
+         */
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1 - exponent) * logX) * logX;
+        }
+
+        private double h(double x) {
+            return Math.exp(-exponent * Math.log(x));
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = Math.max(-1, x * (1 - exponent));
+            return Math.exp(helper1(t) * x);
+        }
+
+        /**
+         * @return log(1 + x) / x, accurate even for x close to 0
+         */
+        private static double helper1(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1 / 3.0 - 0.25 * x));
+        }
+
+        /**
+         * @return (e^x - 1) / x, accurate even for x close to 0
+         */
+        private static double helper2(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3.0 * (1 + 0.25 * x));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The features of an array which predict the fastest algorithm to sort it, computed with a single pass over the array
+ * and random samples of at most 1/{@value #SAMPLE_FRACTION} of its elements, so that profiling costs a small fraction
+ * of the sort.
+ *
+ * @param size the number of elements
+ * @param runs the number of runs as seen by TimSort: maximal non-descending or strictly descending sequences
+ * @param inversionRatio the fraction of the sampled pairs of elements which are in the wrong order, from 0 for a
+ *                       sorted array to 1 for a reversed one, about 0.5 for a shuffled one
+ * @param sampleSize the number of elements sampled to count the distinct values
+ * @param distinctInSample the number of distinct values among the sampled elements
+ * @param min the min value
+ * @param max the max value
+ */
+public record InputProfile(int size, int runs, double inversionRatio, int sampleSize, int distinctInSample, int min,
+                           int max) {
+    static final int SAMPLE_SIZE = 1 << 10;
+    static final int SAMPLE_FRACTION = 8;
+    private static final long SAMPLE_SEED = 0x50524F46L;
+
+    /**
+     * Profiles the given array, which isn't modified. The samples are drawn from a fixed seed, so the same array
+     * always gives the same profile.
+     *
+     * @param array the array to profile
+     *
+     * @return the profile of the array
+     */
+    public static InputProfile of(int[] array) {
+        int n = array.length;
+        if (n == 0) {
+            return new InputProfile(0, 0, 0, 0, 0, 0, 0);
+        }
+        int min = array[0], max = array[0], runs = 0;
+        for (int i = 0; i < n; ) {
+            int end = i + 1;
+            if (end < n && array[end] < array[i]) {
+                while (end < n && array[end] < array[end - 1]) {
+                    end++;
+                }
+            } else {
+                while (end < n && array[end] >= array[end - 1]) {
+                    end++;
+                }
+            }
+            for (; i < end; i++) {
+                min = Math.min(min, array[i]);
+                max = Math.max(max, array[i]);
+            }
+            runs++;
+        }
+
+        SplittableRandom random = new SplittableRandom(SAMPLE_SEED ^ n);
+        int samples = Math.max(1, Math.min(SAMPLE_SIZE, n / SAMPLE_FRACTION));
+        int pairs = n < 2 ? 0 : samples, inversions = 0;
+        for (int k = 0; k < pairs; k++) {
+            int i = random.nextInt(n), j = random.nextInt(n - 1);
+            j += j >= i ? 1 : 0;
+            if (array[Math.min(i, j)] > array[Math.max(i, j)]) {
+                inversions++;
+            }
+        }
+
+        int[] sample = new int[samples];
+        for (int k = 0; k < samples; k++) {
+            sample[k] = array[random.nextInt(n)];
+        }
+        Arrays.sort(sample);
+        int distinct = 1;
+        for (int k = 1; k < sample.length; k++) {
+            if (sample[k] != sample[k - 1]) {
+                distinct++;
+            }
+        }
+        return new InputProfile(n, runs, pairs == 0 ? 0 : (double) inversions / pairs, sample.length, distinct, min,
+                max);
+    }
+
+    /**
+     * Returns the number of pairs of elements in the wrong order, extrapolated from the sampled pairs.
+     *
+     * @return the estimated number of inversions
+     */
+    public double estimatedInversions() {
+        return inversionRatio * size * (size - 1.0) / 2;
+    }
+
+    /**
+     * Returns the number of distinct values, extrapolated from the sample: if the sample has few distinct values the
+     * array is assumed to have the same ones, otherwise its values are assumed to be mostly distinct.
+     *
+     * @return the estimated number of distinct values
+     */
+    public int estimatedDistinct() {
+        return distinctInSample <= sampleSize / 2 ? distinctInSample : size;
+    }
+
+    /**
+     * Returns the number of values between the min and the max.
+     *
+     * @return the width of the range of the values
+     */
+    public long range() {
+        return size == 0 ? 0 : (long) max - min + 1;
+    }
+
+    /**
+     * Returns the number of passes of a byte-wise radix sort: the bytes which are the same in the min and in the max
+     * are the same in all the values, so they're skipped.
+     *
+     * @return the number of passes, between 0 and 4
+     */
+    public int radixPasses() {
+        return (32 - Integer.numberOfLeadingZeros(min ^ max) + 7) / 8;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements the insertion sort algorithm on a primitive array.
+ *
+ * @see "https://en.wikipedia.org/wiki/Insertion_sort"
+ */
+public class InsertionSorter extends AbstractSorter {
+
+    public InsertionSorter() {
+        super("Insertion sort");
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        insertionSort(array, 0, array.length - 1, listener);
+    }
+
+    /**
+     * Sorts a sub-array of the given array. The other sorters use it for small sub-arrays.
+     *
+     * @param array the array we want to sort
+     * @param first the index of the first element of the sub-array
+     * @param last the index of the last element of the sub-array
+     * @param listener the listener to notify
+     */
+    static void insertionSort(int[] array, int first, int last, SortListener listener) {
+        for (int i = first + 1; i <= last; i++) {
+            insertMin(array, first, i, listener);
+        }
+    }
+
+    /**
+     * Places the element at the given index in the "right" position, shifting right the greater elements which
+     * precede it (where with "right" position we mean the position such that the elements of the sub-array which goes
+     * from the first index to the given index are ordered).
+     *
+     * @param array the array to which belongs the element we want to put in the "right" position
+     * @param first the index of the first element of the sub-array
+     * @param lastPos the index of the element we want to put in the "right" position
+     * @param listener the listener to notify
+     */
+    private static void insertMin(int[] array, int first, int lastPos, SortListener listener) {
+        int i, lastValue = array[lastPos];
+        for (i = lastPos - 1; i >= first && compareWith(array, i, lastValue, listener) > 0; i--) {
+            listener.onHighlight(i, ACTIVE);
+            listener.onHighlight(i + 1, ACTIVE);
+            write(array, i + 1, array[i], listener);
+            listener.onHighlight(i, SORTED);
+            listener.onHighlight(i + 1, SORTED);
+        }
+        if (i + 1 != lastPos) {
+            write(array, i + 1, lastValue, listener);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements an introsort: a quick sort guarded against its worst case, running on a fork/join pool.
+ * <ul>
+ *     <li>the pivot is the median of three elements, or the ninther (median of three medians) for large
+ *     sub-arrays;</li>
+ *     <li>the partition is three-way, so the elements equal to the pivot are put in their final position at once and
+ *     arrays with many duplicates don't degrade;</li>
+ *     <li>when the recursion gets deeper than 2*log n the sub-array is sorted with heap sort;</li>
+ *     <li>the recursion goes on the smaller side first and loops on the larger one, so the stack never exceeds
+ *     log n frames;</li>
+ *     <li>large partitions are forked to other workers, and small ones are sorted with insertion sort.</li>
+ * </ul>
+ * Each sub-array is highlighted with the color of the worker thread partitioning it.
+ *
+ * @see "https://en.wikipedia.org/wiki/Introsort"
+ * @see "https://en.wikipedia.org/wiki/Dutch_national_flag_problem"
+ */
+public class IntroSorter extends AbstractSorter {
+    static final int INSERTION_CUTOFF = 32;
+    static final int NINTHER_THRESHOLD = 1 << 10;
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private final ForkJoinPool pool;
+
+    public IntroSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool running the sort
+     */
+    public IntroSorter(ForkJoinPool pool) {
+        super("Introsort");
+        this.pool = pool;
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        if (array.length < 2) {
+            highlight(0, array.length - 1, SORTED, listener);
+            return;
+        }
+        pool.invoke(new SortTask(array, 0, array.length - 1, maxDepth(array.length),
+                SortListener.synchronizedListener(listener)));
+    }
+
+    /**
+     * Returns the number of partitions allowed on the way to any element before falling back to heap sort.
+     *
+     * @param length the length of the array
+     *
+     * @return twice the logarithm of the length
+     */
+    private static int maxDepth(int length) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(length));
+    }
+
+    /**
+     * Sorts a sub-array, forking the large partitions.
+     */
+    private static class SortTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int[] array;
+        private final int first, last, depthLimit;
+        private final SortListener listener;
+
+        SortTask(int[] array, int first, int last, int depthLimit, SortListener listener) {
+            this.array = array;
+            this.first = first;
+            this.last = last;
+            this.depthLimit = depthLimit;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            List<ForkJoinTask<?>> forked = new ArrayList<>();
+            introSort(array, first, last, depthLimit, forked, listener);
+            for (ForkJoinTask<?> task : forked) {
+                task.join();
+            }
+        }
+    }
+
+    /**
+     * Sorts a sub-array: partitions it, recurses on the smaller side and loops on the larger one. A larger side big
+     * enough to be worth it is forked instead.
+     *
+     * @param array the array we want to sort
+     * @param first the index of the first element of the sub-array
+     * @param last the index of the last element of the sub-array
+     * @param depthLimit the number of partitions allowed before falling back to heap sort
+     * @param forked collects the forked tasks, which must be joined by the caller
+     * @param listener the listener to notify
+     */
+    private static void introSort(int[] array, int first, int last, int depthLimit, List<ForkJoinTask<?>> forked,
+                                  SortListener listener) {
+        while (last - first + 1 > INSERTION_CUTOFF) {
+            if (depthLimit-- == 0) {
+                HeapSorter.heapSort(array, first, last, listener);
+                return;
+            }
+            highlight(first, last, currentWorker(), listener);
+            SortPhaseEvent event = SortPhaseEvent.startRepeated(SortPhaseEvent.PARTITION, first, last,
+                    maxDepth(array.length) - depthLimit - 1);
+            long bounds = partition(array, first, last, listener);
+            if (event != null) {
+                event.commit();
+            }
+            int lessLast = (int) (bounds >>> 32) - 1, greaterFirst = (int) bounds + 1;
+            highlight(lessLast + 1, greaterFirst - 1, SORTED, listener);
+
+            boolean lessIsSmaller = lessLast - first < last - greaterFirst;
+            int smallFirst = lessIsSmaller ? first : greaterFirst, smallLast = lessIsSmaller ? lessLast : last;
+            int largeFirst = lessIsSmaller ? greaterFirst : first, largeLast = lessIsSmaller ? last : lessLast;
+            if (largeLast - largeFirst + 1 > PARALLEL_THRESHOLD && ForkJoinTask.inForkJoinPool()) {
+                // Let another worker take the larger side, and go on with the smaller one
+                forked.add(new SortTask(array, largeFirst, largeLast, depthLimit, listener).fork());
+                first = smallFirst;
+                last = smallLast;
+            } else {
+                introSort(array, smallFirst, smallLast, depthLimit, forked, listener);
+                first = largeFirst;
+                last = largeLast;
+            }
+        }
+        if (first < last) {
+            InsertionSorter.insertionSort(array, first, last, listener);
+        }
+        highlight(first, last, SORTED, listener);
+    }
+
+    /**
+     * Partitions a sub-array in three parts: the elements less than the pivot, equal to it and greater than it.
+     *
+     * @param array the array containing the sub-array
+     * @param first the index of the first element of the sub-array
+     * @param last the index of the last element of the sub-array
+     * @param listener the listener to notify
+     *
+     * @return the index of the first element equal to the pivot in the upper 32 bits, and the index of the last one
+     * in the lower 32 bits
+     */
+    static long partition(int[] array, int first, int last, SortListener listener) {
+        int pivotIndex = choosePivot(array, first, last, listener);
+        int pivot = array[pivotIndex];
+        listener.onHighlight(pivotIndex, PIVOT);
+        int lt = first, i = first, gt = last;
+        while (i <= gt) {
+            int comparison = compareWith(array, i, pivot, listener);
+            if (comparison < 0) {
+                swap(array, lt++, i++, listener);
+            } else if (comparison > 0) {
+                swap(array, i, gt--, listener);
+            } else {
+                i++;
+            }
+        }
+        return (long) lt << 32 | gt;
+    }
+
+    /**
+     * Chooses the pivot of a sub-array: the median of its first, middle and last elements, or, for large
+     * sub-arrays, the median of the medians of three groups of three elements (Tukey's ninther).
+     *
+     * @param array the array containing the sub-array
+     * @param first the index of the first element of the sub-array
+     * @param last the index of the last element of the sub-array
+     * @param listener the listener to notify
+     *
+     * @return the index of the pivot
+     */
+    private static int choosePivot(int[] array, int first, int last, SortListener listener) {
+        int mid = (first + last) >>> 1;
+        if (last - first + 1 < NINTHER_THRESHOLD) {
+            return median(array, first, mid, last, listener);
+        }
+        int step = (last - first + 1) / 8;
+        int m1 = median(array, first, first + step, first + 2 * step, listener);
+        int m2 = median(array, mid - step, mid, mid + step, listener);
+        int m3 = median(array, last - 2 * step, last - step, last, listener);
+        return median(array, m1, m2, m3, listener);
+    }
+
+    /**
+     * Returns the index of the median of three elements.
+     *
+     * @param array the array containing the elements
+     * @param a the index of the first element
+     * @param b the index of the second element
+     * @param c the index of the third element
+     * @param listener the listener to notify
+     *
+     * @return the index of the median
+     */
+    private static int median(int[] array, int a, int b, int c, SortListener listener) {
+        if (greater(array, b, a, listener)) {
+            if (greater(array, c, b, listener)) {
+                return b;
+            }
+            return greater(array, c, a, listener) ? c : a;
+        }
+        if (greater(array, c, a, listener)) {
+            return a;
+        }
+        return greater(array, c, b, listener) ? c : b;
+    }
+}
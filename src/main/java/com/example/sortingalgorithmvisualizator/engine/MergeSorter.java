@@ -0,0 +1,89 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements the merge sort algorithm on a primitive array. It's a recursive algorithm which uses a single auxiliary
+ * buffer, allocated once for the whole sort.
+ *
+ * @see "https://en.wikipedia.org/wiki/Merge_sort"
+ */
+public class MergeSorter extends AbstractSorter {
+
+    public MergeSorter() {
+        super("Merge sort");
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        int[] buffer = new int[array.length];
+        listener.onAllocate((long) buffer.length * Integer.BYTES);
+        mergeSortRec(array, buffer, 0, array.length - 1, 0, listener);
+    }
+
+    /**
+     * Sorts recursively the given array.
+     *
+     * @param array the array we want to sort
+     * @param buffer the auxiliary buffer, as long as the array
+     * @param first the index of the first element of the currently considered sub-array
+     * @param last the index of the last element of the currently considered sub-array
+     * @param depth the depth of the recursion
+     * @param listener the listener to notify
+     */
+    private static void mergeSortRec(int[] array, int[] buffer, int first, int last, int depth,
+                                     SortListener listener) {
+        int mid;
+        if (first < last) {
+            mid = (first + last) >>> 1;
+
+            mergeSortRec(array, buffer, first, mid, depth + 1, listener);
+            mergeSortRec(array, buffer, mid + 1, last, depth + 1, listener);
+
+            SortPhaseEvent event = SortPhaseEvent.startRepeated(SortPhaseEvent.MERGE, first, last, depth);
+            mergeOperation(array, buffer, first, mid, last, listener);
+            if (event != null) {
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Merges the elements of the two ordered sub-arrays included in the given array so that they're ordered.
+     * Only the merged range is copied in the buffer.
+     *
+     * @param array the array whose sub-arrays we want to merge
+     * @param buffer the auxiliary buffer, as long as the array
+     * @param first the index of the first element of the first sub-array
+     * @param mid the index of the last element of the first sub-array
+     * @param last the index of the last element of the second sub-array
+     * @param listener the listener to notify
+     */
+    static void mergeOperation(int[] array, int[] buffer, int first, int mid, int last, SortListener listener) {
+        int i = first, j = mid + 1, k = first;
+        System.arraycopy(array, first, buffer, first, last - first + 1);
+
+        highlight(first, last, SORTED, listener);
+        while (i <= mid && j <= last) {
+            listener.onCompare(i, j);
+            listener.onHighlight(k, ACTIVE);
+            if (buffer[i] <= buffer[j]) {
+                write(array, k, buffer[i++], listener);
+            } else {
+                write(array, k, buffer[j++], listener);
+            }
+            listener.onHighlight(k++, SORTED);
+        }
+        for (; i <= mid; i++) {
+            listener.onHighlight(k, ACTIVE);
+            write(array, k, buffer[i], listener);
+            listener.onHighlight(k++, SORTED);
+        }
+        for (; j <= last; j++) {
+            listener.onHighlight(k, ACTIVE);
+            write(array, k, buffer[j], listener);
+            listener.onHighlight(k++, SORTED);
+        }
+        highlight(first, last, NONE, listener);
+    }
+}
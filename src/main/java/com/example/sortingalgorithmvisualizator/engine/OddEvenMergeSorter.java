@@ -0,0 +1,40 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Implements Batcher's odd-even merge sort network: sorted blocks are merged by merging recursively their elements at
+ * even and at odd positions, then comparing the neighbours. It performs O(n*log² n) comparisons, fewer than the
+ * bitonic sort, in O(log² n) parallel stages.
+ *
+ * @see "https://en.wikipedia.org/wiki/Batcher_odd%E2%80%93even_mergesort"
+ */
+public class OddEvenMergeSorter extends SortingNetworkSorter {
+
+    public OddEvenMergeSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool running the stages
+     */
+    public OddEvenMergeSorter(ForkJoinPool pool) {
+        super("Odd-even merge sort", pool);
+    }
+
+    @Override
+    void forEachStage(int length, Consumer<Stage> action) {
+        // Merges blocks of 2 * half elements, comparing elements at the given distance
+        for (int half = 1; half < length; half <<= 1) {
+            for (int distance = half; distance > 0; distance >>>= 1) {
+                int offset = distance % half, block = 2 * half, size = distance;
+                action.accept(index -> {
+                    int position = index - offset;
+                    return position >= 0 && position % (2 * size) < size && index / block == (index + size) / block
+                            ? index + size : -1;
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Implements the odd-even transposition sort network: a parallel bubble sort which compares alternately the pairs of
+ * adjacent elements starting at even and at odd positions. It takes n stages, so O(n²) comparisons, but each stage
+ * can be split among any number of workers.
+ *
+ * @see "https://en.wikipedia.org/wiki/Odd%E2%80%93even_sort"
+ */
+public class OddEvenTranspositionSorter extends SortingNetworkSorter {
+
+    public OddEvenTranspositionSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool running the stages
+     */
+    public OddEvenTranspositionSorter(ForkJoinPool pool) {
+        super("Odd-even transposition sort", pool);
+    }
+
+    @Override
+    void forEachStage(int length, Consumer<Stage> action) {
+        for (int stage = 0; stage < length; stage++) {
+            int parity = stage & 1;
+            action.accept(index -> (index & 1) == parity ? index + 1 : -1);
+        }
+    }
+}
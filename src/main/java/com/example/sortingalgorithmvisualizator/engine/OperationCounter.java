@@ -0,0 +1,136 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link SortListener} counting the operations of a sort: comparisons, swaps, reads and writes of the array, and
+ * the auxiliary memory allocated. The reads and the writes are the ones implied by the notified operations: a
+ * comparison of two elements reads both of them, a swap reads and writes two elements, a write writes one. The
+ * sorters moving the elements without comparing them, the radix sorts and the scatter of the sample sort, also notify
+ * the read of each element they move, see {@link SortListener#onRead(int)}. The comparisons and the writes in
+ * auxiliary buffers are counted as well, like the ones in the array.
+ * The counters are {@link LongAdder}s, so the counter can be notified by several threads at once without a lock and
+ * read at any time by another thread, e.g. to show them while the sort is running.
+ */
+public class OperationCounter implements SortListener {
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder reads = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    /**
+     * Measures the time taken by the given sorter to sort a copy of the given array without any listener, so
+     * neither the notifications nor any delay are included. The sort is repeated and the fastest run is returned, to
+     * smooth out the noise of a single run.
+     *
+     * @param sorter the sorter to run
+     * @param array the array to sort; it isn't modified
+     * @param repetitions the number of runs, at least 1
+     *
+     * @return the time taken by the fastest run, in nanoseconds
+     */
+    public static long computeNanos(Sorter sorter, int[] array, int repetitions) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < Math.max(1, repetitions); i++) {
+            int[] copy = Arrays.copyOf(array, array.length);
+            long startTime = System.nanoTime();
+            sorter.sort(copy);
+            best = Math.min(best, System.nanoTime() - startTime);
+        }
+        return best;
+    }
+
+    @Override
+    public void onCompare(int index1, int index2) {
+        comparisons.increment();
+        reads.add(index2 < 0 ? 1 : 2);
+    }
+
+    @Override
+    public void onSwap(int index1, int index2) {
+        swaps.increment();
+        reads.add(2);
+        writes.add(2);
+    }
+
+    @Override
+    public void onWrite(int index, int value) {
+        writes.increment();
+    }
+
+    @Override
+    public void onRead(int index) {
+        reads.increment();
+    }
+
+    @Override
+    public void onBufferCompare() {
+        comparisons.increment();
+        reads.add(2);
+    }
+
+    @Override
+    public void onBufferWrite() {
+        writes.increment();
+    }
+
+    @Override
+    public void onAllocate(long bytes) {
+        allocatedBytes.add(bytes);
+    }
+
+    public long getComparisons() {
+        return comparisons.sum();
+    }
+
+    public long getSwaps() {
+        return swaps.sum();
+    }
+
+    public long getReads() {
+        return reads.sum();
+    }
+
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /**
+     * Returns the total auxiliary memory allocated by the sort.
+     *
+     * @return the allocated memory, in bytes
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    /**
+     * Returns the number of notified operations: comparisons, swaps and writes, including the ones in auxiliary buffers
+     * which aren't shown by the visualization of the sort.
+     *
+     * @return the number of operations
+     */
+    public long getOperations() {
+        // Each swap has been counted as two writes too
+        return getComparisons() + getWrites() - getSwaps();
+    }
+
+    /**
+     * Sets every counter to zero.
+     */
+    public void reset() {
+        comparisons.reset();
+        swaps.reset();
+        reads.reset();
+        writes.reset();
+        allocatedBytes.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%,d comparisons, %,d swaps, %,d reads, %,d writes, %,d bytes allocated",
+                getComparisons(), getSwaps(), getReads(), getWrites(), getAllocatedBytes());
+    }
+}
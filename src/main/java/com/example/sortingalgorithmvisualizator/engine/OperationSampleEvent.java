@@ -0,0 +1,43 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+/**
+ * A periodic Java Flight Recorder event sampling the operations done so far by each counted run in progress, so the
+ * rate of the operations can be followed along the run. Emitted by {@link SortProfiler} every
+ * {@value #DEFAULT_PERIOD} by default.
+ */
+@Name(OperationSampleEvent.NAME)
+@Label("Sort Operation Sample")
+@Category({"Sorting Algorithm Visualizer"})
+@Description("The operations done so far by a sort in progress")
+@Period(OperationSampleEvent.DEFAULT_PERIOD)
+@StackTrace(false)
+public class OperationSampleEvent extends Event {
+    public static final String NAME = "com.example.sortingalgorithmvisualizator.OperationSample";
+    public static final String DEFAULT_PERIOD = "100 ms";
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Size")
+    int size;
+
+    @Label("Comparisons")
+    long comparisons;
+
+    @Label("Swaps")
+    long swaps;
+
+    @Label("Reads")
+    long reads;
+
+    @Label("Writes")
+    long writes;
+}
@@ -0,0 +1,225 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.io.Serial;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements a parallel merge sort on a fork/join pool.
+ * A single auxiliary buffer, holding a copy of the array, is allocated up front: at each level of the recursion the
+ * array and the buffer swap roles, so the halves sorted in one are merged into the other without copying them back.
+ * Small sub-arrays are sorted with insertion sort, and large merges are themselves split in parallel by binary search.
+ * Only the operations on the array are shown: at the levels whose target is the array, the writes, highlighted with
+ * the color of the worker thread doing them; at the levels whose target is the buffer, the compares, since they read
+ * the array. The compares reading the buffer and the writes in the buffer are notified as operations on the buffer, so
+ * every level is counted the same way.
+ *
+ * @see "https://en.wikipedia.org/wiki/Merge_sort#Parallel_merge_sort"
+ */
+public class ParallelMergeSorter extends AbstractSorter {
+    static final int INSERTION_CUTOFF = 32;
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private final ForkJoinPool pool;
+
+    public ParallelMergeSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool running the sort
+     */
+    public ParallelMergeSorter(ForkJoinPool pool) {
+        super("Parallel merge sort");
+        this.pool = pool;
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        if (array.length < 2) {
+            return;
+        }
+        SortListener safeListener = SortListener.synchronizedListener(listener);
+        int[] buffer = array.clone();
+        safeListener.onAllocate((long) buffer.length * Integer.BYTES);
+        pool.invoke(new SortTask(array, buffer, 0, array.length - 1, true, safeListener));
+        highlight(0, array.length - 1, SORTED, safeListener);
+    }
+
+    /**
+     * Sorts a sub-array of the target, using the same range of the source as scratch space.
+     * The target and the source must contain the same elements in the range.
+     */
+    private static class SortTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int[] target, source;
+        private final int first, last;
+        private final boolean targetIsArray;
+        private final SortListener listener;
+
+        /**
+         * @param target the array which will contain the sorted sub-array
+         * @param source the array used as scratch space
+         * @param first the index of the first element of the sub-array
+         * @param last the index of the last element of the sub-array
+         * @param targetIsArray true if the target is the array being sorted, false if it's the buffer
+         * @param listener the listener to notify
+         */
+        SortTask(int[] target, int[] source, int first, int last, boolean targetIsArray, SortListener listener) {
+            this.target = target;
+            this.source = source;
+            this.first = first;
+            this.last = last;
+            this.targetIsArray = targetIsArray;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            int size = last - first + 1;
+            if (size <= INSERTION_CUTOFF) {
+                SortListener leafListener = targetIsArray ? listener : SortListener.bufferListener(listener);
+                InsertionSorter.insertionSort(target, first, last, leafListener);
+                return;
+            }
+            int mid = (first + last) >>> 1;
+            SortTask left = new SortTask(source, target, first, mid, !targetIsArray, listener);
+            SortTask right = new SortTask(source, target, mid + 1, last, !targetIsArray, listener);
+            if (size > PARALLEL_THRESHOLD) {
+                invokeAll(left, right);
+            } else {
+                left.compute();
+                right.compute();
+            }
+            new MergeTask(source, first, mid, mid + 1, last, target, first, targetIsArray, listener).compute();
+        }
+    }
+
+    /**
+     * Merges two ordered runs of the source into the target. Large merges are split in two independent merges by
+     * cutting the longest run in half and finding, by binary search, where its middle element falls in the other run.
+     */
+    private static class MergeTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int[] source, target;
+        private final int first1, last1, first2, last2, targetFirst;
+        private final boolean targetIsArray;
+        private final SortListener listener;
+
+        MergeTask(int[] source, int first1, int last1, int first2, int last2, int[] target, int targetFirst,
+                  boolean targetIsArray, SortListener listener) {
+            this.source = source;
+            this.first1 = first1;
+            this.last1 = last1;
+            this.first2 = first2;
+            this.last2 = last2;
+            this.target = target;
+            this.targetFirst = targetFirst;
+            this.targetIsArray = targetIsArray;
+            this.listener = listener;
+        }
+
+        @Override
+        protected void compute() {
+            int size1 = last1 - first1 + 1, size2 = last2 - first2 + 1;
+            if (size1 + size2 <= PARALLEL_THRESHOLD) {
+                merge();
+                return;
+            }
+            int split1, split2;
+            if (size1 >= size2) {
+                split1 = (first1 + last1) >>> 1;
+                split2 = lowerBound(source, first2, last2 + 1, source[split1]);
+            } else {
+                split2 = (first2 + last2) >>> 1;
+                split1 = upperBound(source, first1, last1 + 1, source[split2]);
+            }
+            int targetSplit = targetFirst + (split1 - first1) + (split2 - first2);
+            invokeAll(new MergeTask(source, first1, split1 - 1, first2, split2 - 1, target, targetFirst,
+                            targetIsArray, listener),
+                    new MergeTask(source, split1, last1, split2, last2, target, targetSplit, targetIsArray, listener));
+        }
+
+        /**
+         * Merges the two runs sequentially. Equal elements are taken from the first run, so the sort is stable.
+         */
+        private void merge() {
+            byte workerHighlight = currentWorker();
+            int i = first1, j = first2, k = targetFirst;
+            while (i <= last1 && j <= last2) {
+                if (targetIsArray) {
+                    listener.onBufferCompare();
+                } else {
+                    listener.onCompare(i, j);
+                }
+                put(k++, source[i] <= source[j] ? source[i++] : source[j++], workerHighlight);
+            }
+            while (i <= last1) {
+                put(k++, source[i++], workerHighlight);
+            }
+            while (j <= last2) {
+                put(k++, source[j++], workerHighlight);
+            }
+        }
+
+        private void put(int index, int value, byte workerHighlight) {
+            if (targetIsArray) {
+                write(target, index, value, listener);
+                listener.onHighlight(index, workerHighlight);
+            } else {
+                target[index] = value;
+                listener.onBufferWrite();
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the first element of the ordered range which is greater than or equal to the given value.
+     *
+     * @param array the array containing the range
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param value the value to look for
+     *
+     * @return the index of the first element not less than the value, or {@code to} if there's none
+     */
+    static int lowerBound(int[] array, int from, int to, int value) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (array[mid] < value) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    /**
+     * Returns the index of the first element of the ordered range which is greater than the given value.
+     *
+     * @param array the array containing the range
+     * @param from the first index of the range, inclusive
+     * @param to the last index of the range, exclusive
+     * @param value the value to look for
+     *
+     * @return the index of the first element greater than the value, or {@code to} if there's none
+     */
+    static int upperBound(int[] array, int from, int to, int value) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (array[mid] <= value) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+}
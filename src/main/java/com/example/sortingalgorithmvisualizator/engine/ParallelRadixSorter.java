@@ -0,0 +1,285 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements a least significant digit radix sort in base 256, for 32 bit and 64 bit signed keys.
+ * <ul>
+ *     <li>the histograms of all the bytes are computed with a single read of the array, so the passes in which all
+ *     the keys share the same byte are skipped;</li>
+ *     <li>the array is split in one chunk per worker: each pass computes the histogram of every chunk in parallel,
+ *     turns them into the starting position of each (digit, chunk) pair with a prefix sum, and scatters the chunks in
+ *     parallel, which keeps the sort stable;</li>
+ *     <li>the passes go back and forth between the array and a single buffer;</li>
+ *     <li>the sign bit of the most significant byte is flipped, so negative keys come first.</li>
+ * </ul>
+ * When the sort is listened, each pass instead scatters a copy of the array back into the array, so that every pass is
+ * visible, and the elements are highlighted with a different color at each pass.
+ *
+ * @see "https://en.wikipedia.org/wiki/Radix_sort#Least_significant_digit"
+ */
+public class ParallelRadixSorter extends AbstractSorter {
+    static final int RADIX = 256;
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    private static final byte[] PASS_HIGHLIGHTS = {ACTIVE, PIVOT, SORTED, SPECIAL};
+
+    private final ForkJoinPool pool;
+
+    public ParallelRadixSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool running the sort
+     */
+    public ParallelRadixSorter(ForkJoinPool pool) {
+        super("Parallel radix sort");
+        this.pool = pool;
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        int n = array.length;
+        if (n < 2) {
+            return;
+        }
+        boolean visible = listener != SortListener.NONE;
+        SortListener safeListener = SortListener.synchronizedListener(listener);
+        int chunks = chunkCount(n);
+        int[][] counts = new int[chunks][Integer.BYTES * RADIX];
+        forEachChunk(chunks, chunk -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = chunkFirst(chunk, chunks, n), end = chunkFirst(chunk + 1, chunks, n); i < end; i++) {
+                int value = array[i];
+                for (int pass = 0; pass < Integer.BYTES; pass++) {
+                    chunkCounts[pass * RADIX + digit(value, pass)]++;
+                }
+            }
+        });
+
+        int[] buffer = new int[n];
+        listener.onAllocate(((long) n + (long) chunks * Integer.BYTES * RADIX) * Integer.BYTES);
+        int[] source = array, target = buffer;
+        boolean firstPass = true;
+        for (int pass = 0, executed = 0; pass < Integer.BYTES; pass++) {
+            if (isConstant(counts, pass, n)) {
+                continue;
+            }
+            SortPhaseEvent event = SortPhaseEvent.start(SortPhaseEvent.COUNT_PASS, 0, n - 1, pass);
+            if (visible) {
+                System.arraycopy(array, 0, buffer, 0, n);
+                source = buffer;
+                target = array;
+            }
+            int currentPass = pass;
+            int[] from = source, to = target;
+            if (!firstPass) {
+                // The elements have moved since the histograms were computed
+                forEachChunk(chunks, chunk -> {
+                    int[] chunkCounts = counts[chunk];
+                    Arrays.fill(chunkCounts, currentPass * RADIX, (currentPass + 1) * RADIX, 0);
+                    for (int i = chunkFirst(chunk, chunks, n), end = chunkFirst(chunk + 1, chunks, n); i < end; i++) {
+                        chunkCounts[currentPass * RADIX + digit(from[i], currentPass)]++;
+                    }
+                });
+            }
+            int[][] offsets = offsets(counts, pass);
+            listener.onAllocate((long) chunks * RADIX * Integer.BYTES);
+            byte passHighlight = PASS_HIGHLIGHTS[executed++ % PASS_HIGHLIGHTS.length];
+            forEachChunk(chunks, chunk -> {
+                int[] chunkOffsets = offsets[chunk];
+                for (int i = chunkFirst(chunk, chunks, n), end = chunkFirst(chunk + 1, chunks, n); i < end; i++) {
+                    int value = from[i];
+                    int position = chunkOffsets[digit(value, currentPass)]++;
+                    if (visible) {
+                        safeListener.onHighlight(i, passHighlight);
+                        safeListener.onRead(i);
+                        write(to, position, value, safeListener);
+                    } else {
+                        to[position] = value;
+                    }
+                }
+            });
+            if (!visible) {
+                source = to;
+                target = from;
+            }
+            firstPass = false;
+            if (event != null) {
+                event.commit();
+            }
+        }
+        if (source != array && !visible) {
+            System.arraycopy(source, 0, array, 0, n);
+        }
+    }
+
+    /**
+     * Sorts the given array of 64 bit keys in ascending order.
+     *
+     * @param array the array we want to sort
+     */
+    public void sort(long[] array) {
+        int n = array.length;
+        if (n < 2) {
+            return;
+        }
+        int chunks = chunkCount(n);
+        int[][] counts = new int[chunks][Long.BYTES * RADIX];
+        forEachChunk(chunks, chunk -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = chunkFirst(chunk, chunks, n), end = chunkFirst(chunk + 1, chunks, n); i < end; i++) {
+                long value = array[i];
+                for (int pass = 0; pass < Long.BYTES; pass++) {
+                    chunkCounts[pass * RADIX + digit(value, pass)]++;
+                }
+            }
+        });
+
+        long[] source = array, target = new long[n];
+        boolean firstPass = true;
+        for (int pass = 0; pass < Long.BYTES; pass++) {
+            if (isConstant(counts, pass, n)) {
+                continue;
+            }
+            int currentPass = pass;
+            long[] from = source, to = target;
+            if (!firstPass) {
+                forEachChunk(chunks, chunk -> {
+                    int[] chunkCounts = counts[chunk];
+                    Arrays.fill(chunkCounts, currentPass * RADIX, (currentPass + 1) * RADIX, 0);
+                    for (int i = chunkFirst(chunk, chunks, n), end = chunkFirst(chunk + 1, chunks, n); i < end; i++) {
+                        chunkCounts[currentPass * RADIX + digit(from[i], currentPass)]++;
+                    }
+                });
+            }
+            int[][] offsets = offsets(counts, pass);
+            forEachChunk(chunks, chunk -> {
+                int[] chunkOffsets = offsets[chunk];
+                for (int i = chunkFirst(chunk, chunks, n), end = chunkFirst(chunk + 1, chunks, n); i < end; i++) {
+                    long value = from[i];
+                    to[chunkOffsets[digit(value, currentPass)]++] = value;
+                }
+            });
+            source = to;
+            target = from;
+            firstPass = false;
+        }
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, n);
+        }
+    }
+
+    /**
+     * Returns the given byte of a 32 bit key, with the sign bit flipped in the most significant byte.
+     *
+     * @param value the key
+     * @param pass the index of the byte, 0 being the least significant one
+     *
+     * @return the digit, between 0 and 255
+     */
+    static int digit(int value, int pass) {
+        int digit = value >>> (pass << 3) & 0xFF;
+        return pass == Integer.BYTES - 1 ? digit ^ 0x80 : digit;
+    }
+
+    /**
+     * Returns the given byte of a 64 bit key, with the sign bit flipped in the most significant byte.
+     *
+     * @param value the key
+     * @param pass the index of the byte, 0 being the least significant one
+     *
+     * @return the digit, between 0 and 255
+     */
+    static int digit(long value, int pass) {
+        int digit = (int) (value >>> (pass << 3)) & 0xFF;
+        return pass == Long.BYTES - 1 ? digit ^ 0x80 : digit;
+    }
+
+    /**
+     * Returns true if all the keys have the same digit in the given pass, so that the pass can be skipped.
+     *
+     * @param counts the histograms of the chunks
+     * @param pass the index of the pass
+     * @param n the number of keys
+     *
+     * @return true if the pass wouldn't move any key
+     */
+    private static boolean isConstant(int[][] counts, int pass, int n) {
+        for (int digit = 0; digit < RADIX; digit++) {
+            int total = 0;
+            for (int[] chunkCounts : counts) {
+                total += chunkCounts[pass * RADIX + digit];
+            }
+            if (total == n) {
+                return true;
+            }
+            if (total > 0) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes, with an exclusive prefix sum over the (digit, chunk) pairs, the position where each chunk starts
+     * writing the keys having each digit. The histograms are only read: the ones of a later pass are cleared and
+     * computed again by the caller, since the keys have moved in the meantime.
+     *
+     * @param counts the histograms of the chunks
+     * @param pass the index of the pass
+     *
+     * @return the starting positions, indexed by chunk and digit
+     */
+    private static int[][] offsets(int[][] counts, int pass) {
+        int[][] offsets = new int[counts.length][RADIX];
+        int position = 0;
+        for (int digit = 0; digit < RADIX; digit++) {
+            for (int chunk = 0; chunk < counts.length; chunk++) {
+                offsets[chunk][digit] = position;
+                position += counts[chunk][pass * RADIX + digit];
+            }
+        }
+        return offsets;
+    }
+
+    private int chunkCount(int n) {
+        return n < PARALLEL_THRESHOLD ? 1 : Math.max(1, Math.min(pool.getParallelism(), n / PARALLEL_THRESHOLD));
+    }
+
+    private static int chunkFirst(int chunk, int chunks, int n) {
+        return (int) ((long) chunk * n / chunks);
+    }
+
+    /**
+     * Runs the given body once for each chunk, in parallel if there's more than one chunk.
+     *
+     * @param chunks the number of chunks
+     * @param body the code to run, receiving the index of the chunk
+     */
+    private void forEachChunk(int chunks, IntConsumer body) {
+        if (chunks == 1) {
+            body.accept(0);
+            return;
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                List<ForkJoinTask<?>> tasks = new ArrayList<>(chunks);
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    int index = chunk;
+                    tasks.add(ForkJoinTask.adapt(() -> body.accept(index)));
+                }
+                invokeAll(tasks);
+            }
+        });
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements the quick sort algorithm on a primitive array. It's a recursive algorithm, which recurses on the smaller
+ * side of each partition and loops on the larger one, so the recursion is at most log n deep even when the middle
+ * pivot splits the array badly, e.g. on an organ pipe.
+ *
+ * @see "https://en.wikipedia.org/wiki/Quicksort"
+ */
+public class QuickSorter extends AbstractSorter {
+
+    public QuickSorter() {
+        super("Quick sort");
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        quickSortRec(array, 0, array.length - 1, 0, listener);
+    }
+
+    /**
+     * Sorts recursively the given array: the smaller side of each partition is sorted by a recursive call, the larger
+     * one by the next iteration.
+     *
+     * @param array the array we want to sort
+     * @param first the index of the first element of the currently considered sub-array
+     * @param last the index of the last element of the currently considered sub-array
+     * @param depth the depth of the recursion
+     * @param listener the listener to notify
+     */
+    private static void quickSortRec(int[] array, int first, int last, int depth, SortListener listener) {
+        int pivot, i, j, pivotIndex;
+        while (first < last) {
+            SortPhaseEvent event = SortPhaseEvent.startRepeated(SortPhaseEvent.PARTITION, first, last, depth);
+            highlight(first, last, SORTED, listener);
+            i = first;
+            j = last;
+            pivotIndex = (first + last) >>> 1;
+            pivot = array[pivotIndex];
+            listener.onHighlight(pivotIndex, PIVOT);
+            do {
+                for (; compareWith(array, i, pivot, listener) < 0; i++)
+                    ;
+                for (; compareWith(array, j, pivot, listener) > 0; j--)
+                    ;
+
+                if (i <= j) {
+                    listener.onHighlight(i, ACTIVE);
+                    listener.onHighlight(j, ACTIVE);
+                    swap(array, i, j, listener);
+                    listener.onHighlight(i, SORTED);
+                    listener.onHighlight(j, SORTED);
+                    listener.onHighlight(pivotIndex, PIVOT);
+                    i++;
+                    j--;
+                }
+            } while (i <= j);
+            if (event != null) {
+                event.commit();
+            }
+            highlight(first, last, NONE, listener);
+            if (j - first < last - i) {
+                quickSortRec(array, first, j, depth + 1, listener);
+                first = i;
+            } else {
+                quickSortRec(array, i, last, depth + 1, listener);
+                last = j;
+            }
+            depth++;
+        }
+    }
+}
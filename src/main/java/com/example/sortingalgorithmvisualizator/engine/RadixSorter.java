@@ -0,0 +1,92 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.Arrays;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements the radix sort algorithm on a primitive array, processing the keys digit by digit in base 10.
+ * Negative values are handled by shifting every key by the minimum of the array.
+ *
+ * @see "https://en.wikipedia.org/wiki/Radix_sort"
+ * @see "https://www.geeksforgeeks.org/radix-sort/"
+ */
+public class RadixSorter extends AbstractSorter {
+    private static final int BASE = 10;
+    private static final byte[] PASS_HIGHLIGHTS = {ACTIVE, PIVOT, SORTED, SPECIAL};
+
+    public RadixSorter() {
+        super("Radix sort");
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        if (array.length < 2) {
+            return;
+        }
+        int min = array[0], max = array[0];
+        for (int value : array) {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        long maxKey = (long) max - min;
+        int[] buffer = new int[array.length];
+        int[] count = new int[BASE];
+        listener.onAllocate((long) (buffer.length + count.length) * Integer.BYTES);
+        int i = 0;
+        for (long exp = 1; maxKey / exp > 0; exp *= BASE, i++) {
+            SortPhaseEvent event = SortPhaseEvent.start(SortPhaseEvent.COUNT_PASS, 0, array.length - 1, i);
+            countSort(array, buffer, count, min, exp, PASS_HIGHLIGHTS[i % PASS_HIGHLIGHTS.length], listener);
+            if (event != null) {
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Performs counting sort on the given array according to the currently considered digit.
+     *
+     * @param array the array we want to sort
+     * @param buffer the auxiliary buffer, as long as the array
+     * @param count the array used to count the occurrences of each digit
+     * @param min the minimum of the array, subtracted from each value to get its key
+     * @param exp represents the currently considered digit
+     * @param passHighlight the highlight associated with the current iteration
+     * @param listener the listener to notify
+     */
+    private static void countSort(int[] array, int[] buffer, int[] count, int min, long exp, byte passHighlight,
+                                  SortListener listener) {
+        System.arraycopy(array, 0, buffer, 0, array.length);
+        Arrays.fill(count, 0);
+
+        // Store count of occurrences in count
+        for (int value : buffer) {
+            count[digit(value, min, exp)]++;
+        }
+
+        //Change count[i] to the number of elements whose digit is less or equal than i
+        for (int i = 1; i < count.length; i++) {
+            count[i] += count[i - 1];
+        }
+
+        // Order the array
+        for (int i = buffer.length - 1; i >= 0; i--) {
+            listener.onHighlight(i, passHighlight);
+            listener.onRead(i);
+            write(array, --count[digit(buffer[i], min, exp)], buffer[i], listener);
+        }
+    }
+
+    /**
+     * Returns the currently considered digit of the key of the given value.
+     *
+     * @param value the value
+     * @param min the minimum of the array
+     * @param exp represents the currently considered digit
+     *
+     * @return the digit, between 0 and 9
+     */
+    private static int digit(int value, int min, long exp) {
+        return (int) (((long) value - min) / exp % BASE);
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Controls a run of a sort, or of its replay: pauses, resumes, single steps, changes its speed and cancels it.
+ * The worker asks the controller for permission before performing operations, and the controller grants them
+ * according to the current speed, parking the worker with {@link LockSupport} in the meantime. Every command unparks
+ * the worker, so it takes effect on the next operation: a pause doesn't wait for a delay to expire, a new speed applies
+ * immediately, and a cancelled worker never performs another operation.
+ * The operations of a run must be performed by one thread at a time, which is the case for a sorter notifying a
+ * {@link SortListener#synchronizedListener(SortListener) synchronized listener}.
+ */
+public class RunController {
+    private static final long MAX_CREDIT = 1 << 16;
+    private static final long MAX_PARK_NANOS = 16_000_000;
+
+    private volatile double operationsPerSecond;
+    private volatile boolean paused;
+    private volatile boolean cancelled;
+    private volatile boolean wokenUp;
+    private volatile Thread worker;
+    private final AtomicLong steps = new AtomicLong();
+
+    // Only accessed by the worker
+    private double credit;
+    private long lastTime = System.nanoTime();
+    private boolean fullSpeed;
+
+    /**
+     * @param operationsPerSecond the initial speed of the run, infinite to run at full speed
+     */
+    public RunController(double operationsPerSecond) {
+        this.operationsPerSecond = operationsPerSecond;
+    }
+
+    /**
+     * Waits until the worker is allowed to perform some operations.
+     *
+     * @param max the max number of operations the worker wants to perform
+     *
+     * @return the number of operations the worker can perform now, between 0 and max: it's 0 if the worker has been
+     * woken up with {@link #wakeUp()}, so that it can serve a request of its own (e.g. a seek) before waiting again
+     *
+     * @throws CancellationException if the run has been cancelled
+     */
+    public long acquire(long max) {
+        Thread current = Thread.currentThread();
+        if (worker != current) {
+            worker = current;
+        }
+        while (true) {
+            if (cancelled) {
+                throw new CancellationException("The run has been cancelled");
+            }
+            if (wokenUp) {
+                wokenUp = false;
+                return 0;
+            }
+            if (paused) {
+                long granted = Math.min(max, steps.getAndUpdate(available -> available - Math.min(available, max)));
+                if (granted > 0) {
+                    return granted;
+                }
+                LockSupport.park(this);
+                restartClock();
+                continue;
+            }
+            double speed = operationsPerSecond;
+            if (Double.isInfinite(speed)) {
+                fullSpeed = true;
+                return max;
+            }
+            if (fullSpeed) {
+                // Don't count the time spent at full speed as credit
+                fullSpeed = false;
+                restartClock();
+            }
+            long now = System.nanoTime();
+            credit = Math.min(credit + (now - lastTime) * speed / 1e9, MAX_CREDIT);
+            lastTime = now;
+            if (credit >= 1) {
+                long granted = Math.min(max, (long) credit);
+                credit -= granted;
+                return granted;
+            }
+            // Sleep until the next operation is due, or a frame at most so that clock drifts are corrected
+            LockSupport.parkNanos(this, (long) Math.min(MAX_PARK_NANOS, (1 - credit) * 1e9 / speed));
+        }
+    }
+
+    /**
+     * Waits until the worker is allowed to perform one operation.
+     *
+     * @throws CancellationException if the run has been cancelled
+     */
+    public void awaitOperation() {
+        while (acquire(1) == 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Returns a listener which waits for the permission of this controller before forwarding each comparison, swap
+     * or write to the given listener, including the ones on auxiliary buffers: every operation counted by
+     * {@link OperationCounter#getOperations()} is paced, so sorters working in a buffer run at the same speed as the
+     * in-place ones. Highlights and reads are forwarded at once.
+     *
+     * @param listener the listener to notify
+     *
+     * @return the controlled listener
+     */
+    public SortListener control(SortListener listener) {
+        return new SortListener() {
+            @Override
+            public void onCompare(int index1, int index2) {
+                awaitOperation();
+                listener.onCompare(index1, index2);
+            }
+
+            @Override
+            public void onSwap(int index1, int index2) {
+                awaitOperation();
+                listener.onSwap(index1, index2);
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                awaitOperation();
+                listener.onWrite(index, value);
+            }
+
+            @Override
+            public void onRead(int index) {
+                listener.onRead(index);
+            }
+
+            @Override
+            public void onBufferCompare() {
+                awaitOperation();
+                listener.onBufferCompare();
+            }
+
+            @Override
+            public void onBufferWrite() {
+                awaitOperation();
+                listener.onBufferWrite();
+            }
+
+            @Override
+            public void onHighlight(int index, byte highlight) {
+                listener.onHighlight(index, highlight);
+            }
+
+            @Override
+            public void onAllocate(long bytes) {
+                listener.onAllocate(bytes);
+            }
+        };
+    }
+
+    public double getOperationsPerSecond() {
+        return operationsPerSecond;
+    }
+
+    /**
+     * Changes the speed of the run, from the next operation.
+     *
+     * @param operationsPerSecond the number of operations per second, infinite to run at full speed
+     */
+    public void setOperationsPerSecond(double operationsPerSecond) {
+        this.operationsPerSecond = operationsPerSecond;
+        unparkWorker();
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public void pause() {
+        steps.set(0);
+        paused = true;
+        unparkWorker();
+    }
+
+    public void resume() {
+        steps.set(0);
+        paused = false;
+        unparkWorker();
+    }
+
+    /**
+     * Lets a paused run perform the given number of operations, then pause again.
+     *
+     * @param operations the number of operations to perform
+     */
+    public void step(long operations) {
+        steps.addAndGet(operations);
+        unparkWorker();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels the run: the worker throws a {@link CancellationException} as soon as it asks for another operation.
+     */
+    public void cancel() {
+        cancelled = true;
+        unparkWorker();
+    }
+
+    /**
+     * Makes the worker return from the current or the next {@link #acquire(long)} without any operation, so that it
+     * can serve a request of its own.
+     */
+    public void wakeUp() {
+        wokenUp = true;
+        unparkWorker();
+    }
+
+    /**
+     * Unparks the worker, so that it sees the latest commands.
+     */
+    private void unparkWorker() {
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void restartClock() {
+        credit = 0;
+        lastTime = System.nanoTime();
+    }
+}
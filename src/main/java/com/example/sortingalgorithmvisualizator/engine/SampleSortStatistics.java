@@ -0,0 +1,153 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The statistics of a run of a {@link SampleSorter}: the time spent in each phase and the size of each bucket, which
+ * shows how well the splitters balanced the load of the workers sorting the buckets.
+ * The buckets are in the order of their keys: the range buckets, holding the keys between two consecutive splitters,
+ * alternate with the equality buckets, holding the keys equal to a splitter, which don't need to be sorted.
+ */
+public final class SampleSortStatistics {
+
+    /**
+     * The phases of a sample sort.
+     */
+    public enum Phase {
+        /**
+         * A random sample of the array is sorted, and the splitters are picked from it at regular intervals.
+         */
+        SAMPLING,
+        /**
+         * The bucket of each element is found by binary search among the splitters, and each chunk of the array
+         * counts the elements of each bucket.
+         */
+        CLASSIFICATION,
+        /**
+         * The chunks move their elements to the position of their bucket in a single output buffer.
+         */
+        SCATTER,
+        /**
+         * The buckets are sorted independently.
+         */
+        BUCKET_SORT
+    }
+
+    private final int size;
+    private final Map<Phase, Long> phaseNanos;
+    private final int[] bucketSizes;
+
+    SampleSortStatistics(int size, Map<Phase, Long> phaseNanos, int[] bucketSizes) {
+        this.size = size;
+        this.phaseNanos = new EnumMap<>(phaseNanos);
+        this.bucketSizes = bucketSizes.clone();
+    }
+
+    /**
+     * Returns the number of elements sorted.
+     *
+     * @return the size of the array
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the time spent in the given phase.
+     *
+     * @param phase the phase
+     *
+     * @return the duration of the phase in nanoseconds, or 0 if it has been skipped
+     */
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos.getOrDefault(phase, 0L);
+    }
+
+    public int getBucketCount() {
+        return bucketSizes.length;
+    }
+
+    public int getBucketSize(int bucket) {
+        return bucketSizes[bucket];
+    }
+
+    /**
+     * Returns true if the given bucket holds the keys equal to a splitter.
+     *
+     * @param bucket the index of the bucket
+     *
+     * @return true for an equality bucket, false for a range bucket
+     */
+    public boolean isEqualityBucket(int bucket) {
+        return (bucket & 1) != 0;
+    }
+
+    /**
+     * Returns the load of the given range bucket relative to the average range bucket: 1 is a perfect balance, 2
+     * means the worker sorting it has twice the average work.
+     *
+     * @param bucket the index of a range bucket
+     *
+     * @return the size of the bucket divided by the average size of the range buckets
+     */
+    public double getImbalance(int bucket) {
+        double average = getAverageRangeBucketSize();
+        return average == 0 ? 0 : bucketSizes[bucket] / average;
+    }
+
+    /**
+     * Returns the load of the largest range bucket relative to the average one, which bounds the speedup of the
+     * bucket sort phase.
+     *
+     * @return the max of the imbalances of the range buckets
+     */
+    public double getMaxImbalance() {
+        double max = 0;
+        for (int bucket = 0; bucket < bucketSizes.length; bucket += 2) {
+            max = Math.max(max, getImbalance(bucket));
+        }
+        return max;
+    }
+
+    /**
+     * Returns the phase timings and the balance of the buckets on a single line.
+     *
+     * @return a summary of the statistics
+     */
+    public String getSummary() {
+        StringJoiner phases = new StringJoiner("   ");
+        for (Phase phase : Phase.values()) {
+            phases.add(String.format(Locale.ROOT, "%s %.3f ms", phase.name().toLowerCase(Locale.ROOT).replace('_', ' '),
+                    getPhaseNanos(phase) / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+        int rangeBuckets = (bucketSizes.length + 1) / 2;
+        return String.format(Locale.ROOT, "%s   %,d buckets, largest %.2fx the average", phases, rangeBuckets,
+                getMaxImbalance());
+    }
+
+    /**
+     * Returns the summary followed by the imbalance of each range bucket.
+     *
+     * @return the statistics
+     */
+    @Override
+    public String toString() {
+        StringJoiner imbalances = new StringJoiner(" ", "Bucket imbalance: ", "");
+        for (int bucket = 0; bucket < bucketSizes.length; bucket += 2) {
+            imbalances.add(String.format(Locale.ROOT, "%.2f", getImbalance(bucket)));
+        }
+        return getSummary() + System.lineSeparator() + imbalances;
+    }
+
+    private double getAverageRangeBucketSize() {
+        long total = 0;
+        for (int bucket = 0; bucket < bucketSizes.length; bucket += 2) {
+            total += bucketSizes[bucket];
+        }
+        return (double) total / ((bucketSizes.length + 1) / 2);
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements a parallel sample sort, which splits the array in buckets of keys that can be sorted independently.
+ * <ul>
+ *     <li>a random sample of {@value #OVERSAMPLING}*log n elements per bucket (the oversampling) is sorted, and the
+ *     splitters are picked from it at regular intervals, so the buckets have about the same size whatever the
+ *     distribution;</li>
+ *     <li>the array is split in one chunk per worker, and the chunks find the bucket of each of their elements in
+ *     parallel, counting the elements of each bucket;</li>
+ *     <li>an exclusive prefix sum over the (bucket, chunk) pairs gives the position where each chunk writes each
+ *     bucket, and the chunks scatter their elements in parallel into a single output buffer;</li>
+ *     <li>the buckets are sorted in parallel, the largest first, by another sorter of the engine.</li>
+ * </ul>
+ * The keys equal to a splitter go to an equality bucket of their own, which doesn't need to be sorted, so arrays with
+ * many duplicates don't produce a huge bucket.
+ * Each element is highlighted with the color of its destination bucket, and the keys equal to a splitter in yellow.
+ * The phase timings and the bucket sizes of the last sort are available from {@link #getLastStatistics()}.
+ *
+ * @see "https://en.wikipedia.org/wiki/Samplesort"
+ */
+public class SampleSorter extends AbstractSorter {
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+    static final int BUCKETS_PER_WORKER = 4;
+    /**
+     * The number of range buckets used at least, so the array is still split on a pool with few workers.
+     */
+    static final int MIN_RANGE_BUCKETS = 8;
+    static final int MIN_BUCKET_SIZE = 16;
+    static final int OVERSAMPLING = 4;
+    static final int MAX_SPLITTERS = 1 << 12;
+    private static final long SAMPLE_SEED = 0x5A4D504C45L;
+
+    private final ForkJoinPool pool;
+    private final Sorter bucketSorter;
+    private volatile SampleSortStatistics lastStatistics;
+
+    public SampleSorter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool running the sort, whose buckets are sorted with an {@link IntroSorter}
+     */
+    public SampleSorter(ForkJoinPool pool) {
+        this(pool, new IntroSorter(pool));
+    }
+
+    /**
+     * @param pool the pool running the sort
+     * @param bucketSorter the sorter of the buckets, e.g. an {@link IntroSorter} or a {@link ParallelRadixSorter}
+     */
+    public SampleSorter(ForkJoinPool pool, Sorter bucketSorter) {
+        super("Parallel sample sort");
+        this.pool = pool;
+        this.bucketSorter = bucketSorter;
+    }
+
+    /**
+     * Returns the statistics of the last sort performed by this sorter.
+     *
+     * @return the statistics of the last sort, or null if it hasn't sorted anything yet
+     */
+    public SampleSortStatistics getLastStatistics() {
+        return lastStatistics;
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        int n = array.length;
+        Map<SampleSortStatistics.Phase, Long> phaseNanos = new EnumMap<>(SampleSortStatistics.Phase.class);
+        int rangeBuckets = Math.min(Math.max(MIN_RANGE_BUCKETS, pool.getParallelism() * BUCKETS_PER_WORKER),
+                Math.min(MAX_SPLITTERS + 1, n / MIN_BUCKET_SIZE));
+        if (rangeBuckets < 2) {
+            long startTime = System.nanoTime();
+            bucketSorter.sort(array, listener);
+            phaseNanos.put(SampleSortStatistics.Phase.BUCKET_SORT, System.nanoTime() - startTime);
+            lastStatistics = new SampleSortStatistics(n, phaseNanos, new int[]{n});
+            return;
+        }
+        boolean visible = listener != SortListener.NONE;
+        SortListener safeListener = SortListener.synchronizedListener(listener);
+
+        long startTime = System.nanoTime();
+        int[] splitters = splitters(array, rangeBuckets, safeListener);
+        int buckets = 2 * splitters.length + 1;
+        long time = System.nanoTime();
+        phaseNanos.put(SampleSortStatistics.Phase.SAMPLING, time - startTime);
+
+        int chunks = chunkCount(n);
+        short[] bucketIndexes = new short[n];
+        int[][] counts = new int[chunks][buckets];
+        listener.onAllocate(((long) n * Short.BYTES) + ((long) chunks * buckets + splitters.length) * Integer.BYTES);
+        forEach(chunks, chunk -> {
+            int[] chunkCounts = counts[chunk];
+            for (int i = chunkFirst(chunk, chunks, n), end = chunkFirst(chunk + 1, chunks, n); i < end; i++) {
+                int bucket;
+                if (visible) {
+                    bucket = bucket(array, i, splitters, safeListener);
+                    safeListener.onHighlight(i, bucketHighlight(bucket));
+                } else {
+                    bucket = bucket(array[i], splitters);
+                }
+                bucketIndexes[i] = (short) bucket;
+                chunkCounts[bucket]++;
+            }
+        });
+        int[][] offsets = new int[chunks][buckets];
+        int[] bucketFirsts = new int[buckets + 1];
+        int position = 0;
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            bucketFirsts[bucket] = position;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                offsets[chunk][bucket] = position;
+                position += counts[chunk][bucket];
+            }
+        }
+        bucketFirsts[buckets] = n;
+        long classified = System.nanoTime();
+        phaseNanos.put(SampleSortStatistics.Phase.CLASSIFICATION, classified - time);
+
+        // When the sort is listened, the elements are scattered from a copy back into the array, so that they're seen
+        int[] buffer = new int[n];
+        listener.onAllocate((long) n * Integer.BYTES);
+        int[] source = array, target = buffer;
+        if (visible) {
+            System.arraycopy(array, 0, buffer, 0, n);
+            source = buffer;
+            target = array;
+        }
+        int[] from = source, to = target;
+        forEach(chunks, chunk -> {
+            int[] chunkOffsets = offsets[chunk];
+            for (int i = chunkFirst(chunk, chunks, n), end = chunkFirst(chunk + 1, chunks, n); i < end; i++) {
+                int bucket = bucketIndexes[i];
+                int destination = chunkOffsets[bucket]++;
+                if (visible) {
+                    safeListener.onRead(i);
+                    write(to, destination, from[i], safeListener);
+                    safeListener.onHighlight(destination, bucketHighlight(bucket));
+                } else {
+                    to[destination] = from[i];
+                }
+            }
+        });
+        time = System.nanoTime();
+        phaseNanos.put(SampleSortStatistics.Phase.SCATTER, time - classified);
+
+        // The buckets are sorted from the target into the array, the largest first, so the workers end together
+        int[] bucketSizes = new int[buckets];
+        List<Integer> order = new ArrayList<>(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            bucketSizes[bucket] = bucketFirsts[bucket + 1] - bucketFirsts[bucket];
+            order.add(bucket);
+        }
+        order.sort(Comparator.comparingInt((Integer bucket) -> bucketSizes[bucket]).reversed());
+        forEach(buckets, rank -> {
+            int bucket = order.get(rank), first = bucketFirsts[bucket], size = bucketSizes[bucket];
+            if (size > 1 && (bucket & 1) == 0) {
+                int[] keys = Arrays.copyOfRange(to, first, first + size);
+                safeListener.onAllocate((long) size * Integer.BYTES);
+                bucketSorter.sort(keys, visible ? shift(safeListener, first) : SortListener.NONE);
+                System.arraycopy(keys, 0, array, first, size);
+            } else if (!visible) {
+                System.arraycopy(to, first, array, first, size);
+            }
+            if (visible) {
+                highlight(first, first + size - 1, NONE, safeListener);
+            }
+        });
+        phaseNanos.put(SampleSortStatistics.Phase.BUCKET_SORT, System.nanoTime() - time);
+        lastStatistics = new SampleSortStatistics(n, phaseNanos, bucketSizes);
+    }
+
+    /**
+     * Picks the splitters from a sorted random sample of the array. The sample is drawn from a fixed seed, so sorting
+     * the same array always gives the same buckets.
+     *
+     * @param array the array to sort
+     * @param rangeBuckets the wanted number of range buckets
+     * @param listener the listener to notify
+     *
+     * @return the distinct splitters, in ascending order
+     */
+    private static int[] splitters(int[] array, int rangeBuckets, SortListener listener) {
+        int n = array.length;
+        int oversampling = OVERSAMPLING * Math.max(1, 31 - Integer.numberOfLeadingZeros(n));
+        int[] sample = new int[rangeBuckets * oversampling];
+        int[] positions = new int[sample.length];
+        listener.onAllocate((long) 2 * sample.length * Integer.BYTES);
+        SplittableRandom random = new SplittableRandom(SAMPLE_SEED ^ n);
+        for (int i = 0; i < sample.length; i++) {
+            positions[i] = random.nextInt(n);
+            sample[i] = array[positions[i]];
+            listener.onHighlight(positions[i], SPECIAL);
+        }
+        Arrays.sort(sample);
+        int[] splitters = new int[rangeBuckets - 1];
+        int count = 0;
+        for (int bucket = 1; bucket < rangeBuckets; bucket++) {
+            int splitter = sample[bucket * oversampling];
+            if (count == 0 || splitters[count - 1] != splitter) {
+                splitters[count++] = splitter;
+            }
+        }
+        for (int position : positions) {
+            listener.onHighlight(position, NONE);
+        }
+        return Arrays.copyOf(splitters, count);
+    }
+
+    /**
+     * Finds the bucket of the given key: the range bucket 2*i holds the keys between the splitters i - 1 and i, and the
+     * equality bucket 2*i + 1 holds the keys equal to the splitter i.
+     *
+     * @param key the key
+     * @param splitters the distinct splitters, in ascending order
+     *
+     * @return the index of the bucket
+     */
+    static int bucket(int key, int[] splitters) {
+        int low = 0, high = splitters.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (splitters[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < splitters.length && splitters[low] == key ? 2 * low + 1 : 2 * low;
+    }
+
+    /**
+     * Finds the bucket of the element at the given index, notifying the comparisons with the splitters.
+     *
+     * @param array the array containing the element
+     * @param index the index of the element
+     * @param splitters the distinct splitters, in ascending order
+     * @param listener the listener to notify
+     *
+     * @return the index of the bucket
+     */
+    private static int bucket(int[] array, int index, int[] splitters, SortListener listener) {
+        int low = 0, high = splitters.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareWith(array, index, splitters[mid], listener) > 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < splitters.length && compareWith(array, index, splitters[low], listener) == 0 ? 2 * low + 1
+                : 2 * low;
+    }
+
+    private static byte bucketHighlight(int bucket) {
+        return (bucket & 1) != 0 ? PIVOT : worker(bucket >>> 1);
+    }
+
+    /**
+     * Returns a listener forwarding the operations on a bucket, sorted apart, to the position of the bucket in the
+     * array.
+     *
+     * @param listener the listener of the array
+     * @param offset the index of the first element of the bucket in the array
+     *
+     * @return the listener of the bucket
+     */
+    private static SortListener shift(SortListener listener, int offset) {
+        return new SortListener() {
+            @Override
+            public void onCompare(int index1, int index2) {
+                listener.onCompare(index1 + offset, index2 < 0 ? index2 : index2 + offset);
+            }
+
+            @Override
+            public void onSwap(int index1, int index2) {
+                listener.onSwap(index1 + offset, index2 + offset);
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                listener.onWrite(index + offset, value);
+            }
+
+            @Override
+            public void onRead(int index) {
+                listener.onRead(index + offset);
+            }
+
+            @Override
+            public void onBufferCompare() {
+                listener.onBufferCompare();
+            }
+
+            @Override
+            public void onBufferWrite() {
+                listener.onBufferWrite();
+            }
+
+            @Override
+            public void onHighlight(int index, byte highlight) {
+                listener.onHighlight(index + offset, highlight);
+            }
+
+            @Override
+            public void onAllocate(long bytes) {
+                listener.onAllocate(bytes);
+            }
+        };
+    }
+
+    private int chunkCount(int n) {
+        return n < PARALLEL_THRESHOLD ? 1 : Math.max(1, Math.min(pool.getParallelism(), n / PARALLEL_THRESHOLD));
+    }
+
+    private static int chunkFirst(int chunk, int chunks, int n) {
+        return (int) ((long) chunk * n / chunks);
+    }
+
+    /**
+     * Runs the given body once for each index, in parallel if there's more than one.
+     *
+     * @param count the number of indexes
+     * @param body the code to run, receiving the index
+     */
+    private void forEach(int count, IntConsumer body) {
+        if (count == 1) {
+            body.accept(0);
+            return;
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+                for (int index = 0; index < count; index++) {
+                    int current = index;
+                    tasks.add(ForkJoinTask.adapt(() -> body.accept(current)));
+                }
+                invokeAll(tasks);
+            }
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements the selection sort algorithm on a primitive array.
+ *
+ * @see "https://en.wikipedia.org/wiki/Selection_sort"
+ */
+public class SelectionSorter extends AbstractSorter {
+
+    public SelectionSorter() {
+        super("Selection sort");
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        int maxIndex;
+        for (int size = array.length; size > 1; size--) {
+            maxIndex = findMax(array, size, listener);
+            if (maxIndex < size - 1) {
+                swap(array, maxIndex, size - 1, listener);
+                listener.onHighlight(maxIndex, NONE);
+            }
+            listener.onHighlight(size - 1, SORTED);
+        }
+        if (array.length > 0) {
+            listener.onHighlight(0, SORTED);
+        }
+    }
+
+    /**
+     * Finds the index of the max value inside a sub-array of the given array.
+     *
+     * @param array the array of which we want to discover the max value
+     * @param range determines the portion of the array we want to examine
+     * @param listener the listener to notify
+     *
+     * @return the index of the max value
+     */
+    private static int findMax(int[] array, int range, SortListener listener) {
+        int maxIndex = 0; // Hp: first element is the max
+        listener.onHighlight(maxIndex, PIVOT);
+        for (int i = 1; i < range; ++i) {
+            listener.onHighlight(i, ACTIVE);
+            if (greater(array, i, maxIndex, listener)) {
+                listener.onHighlight(maxIndex, NONE);
+                maxIndex = i;
+                listener.onHighlight(maxIndex, PIVOT);
+            } else {
+                listener.onHighlight(i, NONE);
+            }
+        }
+        return maxIndex;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event spanning a whole run of a sorter, committed by {@link SortProfiler} when the run ends.
+ * The operation counts are only known when the run is counted, and are -1 otherwise.
+ */
+@Name(SortEvent.NAME)
+@Label("Sort")
+@Category({"Sorting Algorithm Visualizer"})
+@Description("A run of a sorting algorithm")
+public class SortEvent extends Event {
+    public static final String NAME = "com.example.sortingalgorithmvisualizator.Sort";
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Size")
+    @Description("The number of elements sorted")
+    int size;
+
+    @Label("Comparisons")
+    long comparisons;
+
+    @Label("Swaps")
+    long swaps;
+
+    @Label("Writes")
+    long writes;
+}
@@ -0,0 +1,250 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+/**
+ * Receives the operations performed by a {@link Sorter} on its array.
+ * Every method is invoked after the operation has been applied to the array and does nothing by default.
+ */
+public interface SortListener {
+
+    /**
+     * A listener which ignores every operation, used when sorting at full speed.
+     */
+    SortListener NONE = new SortListener() {
+    };
+
+    /**
+     * Called when two elements of the array are compared.
+     *
+     * @param index1 the index of the first element
+     * @param index2 the index of the second element, or -1 if the first element has been compared with a value held
+     *               outside the array (e.g. a pivot)
+     */
+    default void onCompare(int index1, int index2) {
+    }
+
+    /**
+     * Called when two elements of the array have been swapped.
+     *
+     * @param index1 the index of the first element
+     * @param index2 the index of the second element
+     */
+    default void onSwap(int index1, int index2) {
+    }
+
+    /**
+     * Called when a value has been written in the array.
+     *
+     * @param index the index of the written element
+     * @param value the new value of the element
+     */
+    default void onWrite(int index, int value) {
+    }
+
+    /**
+     * Called when an element is read without being compared, e.g. to find its digit or its bucket before moving it.
+     * Only the sorters distributing the elements without comparing them notify it, once for each element they move:
+     * the radix sorts and the scatter of the sample sort.
+     *
+     * @param index the index of the element, in the array or in the copy of the array being distributed
+     */
+    default void onRead(int index) {
+    }
+
+    /**
+     * Called when two elements of an auxiliary buffer are compared, or an element of the buffer is compared with a
+     * value held outside it. The buffer isn't shown, so only the cost of the comparison is notified.
+     */
+    default void onBufferCompare() {
+    }
+
+    /**
+     * Called when a value has been written in an auxiliary buffer. The buffer isn't shown, so only the cost of the
+     * write is notified.
+     */
+    default void onBufferWrite() {
+    }
+
+    /**
+     * Called when the highlight of an element changes.
+     *
+     * @param index the index of the element
+     * @param highlight the new highlight of the element, one of the {@link Highlight} constants
+     */
+    default void onHighlight(int index, byte highlight) {
+    }
+
+    /**
+     * Called when the algorithm allocates auxiliary memory, such as a buffer or a table of counters.
+     *
+     * @param bytes the size of the allocated memory, in bytes
+     */
+    default void onAllocate(long bytes) {
+    }
+
+    /**
+     * Returns a listener which forwards every operation to this listener, then to the given one.
+     *
+     * @param next the listener notified after this one
+     *
+     * @return the combined listener
+     */
+    default SortListener andThen(SortListener next) {
+        SortListener first = this;
+        return new SortListener() {
+            @Override
+            public void onCompare(int index1, int index2) {
+                first.onCompare(index1, index2);
+                next.onCompare(index1, index2);
+            }
+
+            @Override
+            public void onSwap(int index1, int index2) {
+                first.onSwap(index1, index2);
+                next.onSwap(index1, index2);
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                first.onWrite(index, value);
+                next.onWrite(index, value);
+            }
+
+            @Override
+            public void onRead(int index) {
+                first.onRead(index);
+                next.onRead(index);
+            }
+
+            @Override
+            public void onBufferCompare() {
+                first.onBufferCompare();
+                next.onBufferCompare();
+            }
+
+            @Override
+            public void onBufferWrite() {
+                first.onBufferWrite();
+                next.onBufferWrite();
+            }
+
+            @Override
+            public void onHighlight(int index, byte highlight) {
+                first.onHighlight(index, highlight);
+                next.onHighlight(index, highlight);
+            }
+
+            @Override
+            public void onAllocate(long bytes) {
+                first.onAllocate(bytes);
+                next.onAllocate(bytes);
+            }
+        };
+    }
+
+    /**
+     * Returns a listener which forwards every operation to the given one while holding a lock, so that a sorter
+     * running on several threads can notify a listener which isn't thread safe.
+     *
+     * @param listener the listener to protect
+     *
+     * @return the synchronized listener, or {@link #NONE} if the given listener is {@link #NONE}
+     */
+    static SortListener synchronizedListener(SortListener listener) {
+        if (listener == NONE) {
+            return NONE;
+        }
+        return new SortListener() {
+            @Override
+            public synchronized void onCompare(int index1, int index2) {
+                listener.onCompare(index1, index2);
+            }
+
+            @Override
+            public synchronized void onSwap(int index1, int index2) {
+                listener.onSwap(index1, index2);
+            }
+
+            @Override
+            public synchronized void onWrite(int index, int value) {
+                listener.onWrite(index, value);
+            }
+
+            @Override
+            public synchronized void onRead(int index) {
+                listener.onRead(index);
+            }
+
+            @Override
+            public synchronized void onBufferCompare() {
+                listener.onBufferCompare();
+            }
+
+            @Override
+            public synchronized void onBufferWrite() {
+                listener.onBufferWrite();
+            }
+
+            @Override
+            public synchronized void onHighlight(int index, byte highlight) {
+                listener.onHighlight(index, highlight);
+            }
+
+            @Override
+            public synchronized void onAllocate(long bytes) {
+                listener.onAllocate(bytes);
+            }
+        };
+    }
+
+    /**
+     * Returns a listener for a sort running on an auxiliary buffer rather than on the array: the comparisons, swaps
+     * and writes are forwarded to the given listener as operations on the buffer, so they're counted without being
+     * shown, and the highlights are ignored.
+     *
+     * @param listener the listener of the array
+     *
+     * @return the listener of the buffer, or {@link #NONE} if the given listener is {@link #NONE}
+     */
+    static SortListener bufferListener(SortListener listener) {
+        if (listener == NONE) {
+            return NONE;
+        }
+        return new SortListener() {
+            @Override
+            public void onCompare(int index1, int index2) {
+                listener.onBufferCompare();
+            }
+
+            @Override
+            public void onSwap(int index1, int index2) {
+                listener.onBufferWrite();
+                listener.onBufferWrite();
+            }
+
+            @Override
+            public void onWrite(int index, int value) {
+                listener.onBufferWrite();
+            }
+
+            @Override
+            public void onRead(int index) {
+                listener.onRead(index);
+            }
+
+            @Override
+            public void onBufferCompare() {
+                listener.onBufferCompare();
+            }
+
+            @Override
+            public void onBufferWrite() {
+                listener.onBufferWrite();
+            }
+
+            @Override
+            public void onAllocate(long bytes) {
+                listener.onAllocate(bytes);
+            }
+        };
+    }
+}
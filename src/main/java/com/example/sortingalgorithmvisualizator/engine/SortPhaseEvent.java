@@ -0,0 +1,107 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Java Flight Recorder event spanning a phase of a sorter on a range of the array: building the heap or extracting
+ * its elements, a partition, a merge, a pass of a radix sort. A sorter wraps the phase this way:
+ * <pre>{@code
+ * SortPhaseEvent event = SortPhaseEvent.start(SortPhaseEvent.BUILD_HEAP, first, last, 0);
+ * ...
+ * if (event != null) {
+ *     event.commit();
+ * }
+ * }</pre>
+ * No event is allocated when the event isn't enabled in a recording. The phases repeated all along a sort, the
+ * partitions and the merges, are started with {@link #startRepeated(String, int, int, int)} instead, which doesn't
+ * allocate an event either when the range has fewer than {@value #MIN_REPEATED_SIZE} elements, so the myriad of tiny
+ * partitions and merges at the bottom of the recursion costs nothing. When the event is enabled, the phases shorter
+ * than the threshold, by default {@value #DEFAULT_THRESHOLD}, are discarded too.
+ */
+@Name(SortPhaseEvent.NAME)
+@Label("Sort Phase")
+@Category({"Sorting Algorithm Visualizer"})
+@Description("A phase of a sorting algorithm on a range of the array")
+@Threshold(SortPhaseEvent.DEFAULT_THRESHOLD)
+public class SortPhaseEvent extends Event {
+    public static final String NAME = "com.example.sortingalgorithmvisualizator.SortPhase";
+    public static final String DEFAULT_THRESHOLD = "20 us";
+
+    public static final String BUILD_HEAP = "Build heap";
+    public static final String EXTRACT = "Heap extraction";
+    public static final String PARTITION = "Partition";
+    public static final String MERGE = "Merge";
+    public static final String COUNT_PASS = "Count pass";
+
+    /**
+     * The number of elements from which a repeated phase is reported.
+     */
+    public static final int MIN_REPEATED_SIZE = 1 << 12;
+
+    /**
+     * An event which is never committed, only asked whether the event is enabled.
+     */
+    private static final SortPhaseEvent PROBE = new SortPhaseEvent();
+
+    @Label("Phase")
+    String phase;
+
+    @Label("First")
+    @Description("The index of the first element of the range")
+    int first;
+
+    @Label("Last")
+    @Description("The index of the last element of the range")
+    int last;
+
+    @Label("Depth")
+    @Description("The depth of the recursion, the index of the pass of a radix sort, or the position of the run on "
+            + "the stack of Timsort")
+    int depth;
+
+    /**
+     * Creates an event and starts its timing, unless the event isn't enabled.
+     *
+     * @param phase the name of the phase
+     * @param first the index of the first element of the range
+     * @param last the index of the last element of the range
+     * @param depth the depth of the recursion, or the index of the pass
+     *
+     * @return the started event, to commit at the end of the phase, or null if the phase isn't reported
+     */
+    public static SortPhaseEvent start(String phase, int first, int last, int depth) {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        SortPhaseEvent event = new SortPhaseEvent();
+        event.phase = phase;
+        event.first = first;
+        event.last = last;
+        event.depth = depth;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Creates an event for a phase repeated all along a sort and starts its timing, unless the event isn't enabled or
+     * the range has fewer than {@value #MIN_REPEATED_SIZE} elements.
+     *
+     * @param phase the name of the phase
+     * @param first the index of the first element of the range
+     * @param last the index of the last element of the range
+     * @param depth the depth of the recursion, or the position of the run on the stack of Timsort
+     *
+     * @return the started event, to commit at the end of the phase, or null if the phase isn't reported
+     */
+    public static SortPhaseEvent startRepeated(String phase, int first, int last, int depth) {
+        if (last - first + 1 < MIN_REPEATED_SIZE) {
+            return null;
+        }
+        return start(phase, first, last, depth);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports the runs of the sorters to Java Flight Recorder: a {@link SortEvent} spans each run, the sorters emit a
+ * {@link SortPhaseEvent} for each of their phases, and while a counted run is in progress an
+ * {@link OperationSampleEvent} periodically samples its counter. The events can be recorded by starting the
+ * application with {@code -XX:StartFlightRecording}, or for a single run with {@link #record(Sorter, int[], Path)},
+ * and opened in JDK Mission Control. When the events aren't enabled in a recording, they aren't even created, so a run
+ * costs the same as without the profiler.
+ */
+public class SortProfiler {
+    private static final Set<Run> RUNS = ConcurrentHashMap.newKeySet();
+    /**
+     * An event which is never committed, only telling whether the sort events are enabled.
+     */
+    private static final SortEvent PROBE = new SortEvent();
+
+    static {
+        FlightRecorder.addPeriodicEvent(OperationSampleEvent.class, SortProfiler::sampleRuns);
+    }
+
+    /**
+     * A counted run in progress.
+     */
+    private record Run(String algorithm, int size, OperationCounter counter) {
+    }
+
+    private SortProfiler() {
+    }
+
+    /**
+     * Sorts the given array with the given sorter, reporting the run to Java Flight Recorder.
+     *
+     * @param sorter the sorter to run
+     * @param array the array we want to sort
+     * @param listener the listener to notify
+     * @param counter the counter of the operations of the run, which must be notified by the listener, or null if
+     * the run isn't counted
+     */
+    public static void sort(Sorter sorter, int[] array, SortListener listener, OperationCounter counter) {
+        SortEvent event = begin();
+        Run run = counter == null ? null : new Run(sorter.getName(), array.length, counter);
+        if (run != null) {
+            RUNS.add(run);
+        }
+        try {
+            sorter.sort(array, listener);
+        } finally {
+            if (run != null) {
+                RUNS.remove(run);
+            }
+            if (event != null && event.shouldCommit()) {
+                event.algorithm = sorter.getName();
+                event.size = array.length;
+                event.comparisons = counter == null ? -1 : counter.getComparisons();
+                event.swaps = counter == null ? -1 : counter.getSwaps();
+                event.writes = counter == null ? -1 : counter.getWrites();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Records a counted run of the given sorter on a copy of the given array, and writes the recording to a file.
+     * Besides the events of the run, with its {@link OperationSampleEvent}s, the recording has the samples of the
+     * JDK's "profile" configuration: the hot methods, the allocations and the garbage collections. The counting of
+     * the operations shows among the hot methods too, as the run notifies its counter.
+     *
+     * @param sorter the sorter to run
+     * @param array the array to sort; it isn't modified
+     * @param file the file of the recording, usually with the .jfr extension
+     *
+     * @return the counter of the recorded run
+     *
+     * @throws IOException if the recording cannot be written
+     */
+    public static OperationCounter record(Sorter sorter, int[] array, Path file) throws IOException {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration("profile");
+        } catch (ParseException e) {
+            throw new IOException("Cannot read the profile configuration of the JDK", e);
+        }
+        OperationCounter counter = new OperationCounter();
+        try (Recording recording = new Recording(configuration)) {
+            recording.setName(sorter.getName());
+            recording.enable(SortEvent.class);
+            recording.enable(SortPhaseEvent.class);
+            recording.enable(OperationSampleEvent.class);
+            recording.start();
+            sort(sorter, Arrays.copyOf(array, array.length), counter, counter);
+            recording.stop();
+            recording.dump(file);
+        }
+        return counter;
+    }
+
+    /**
+     * Begins the event of a run.
+     *
+     * @return the event, or null if the sort events aren't enabled in a recording
+     */
+    private static SortEvent begin() {
+        if (!PROBE.isEnabled()) {
+            return null;
+        }
+        SortEvent event = new SortEvent();
+        event.begin();
+        return event;
+    }
+
+    private static void sampleRuns() {
+        for (Run run : RUNS) {
+            OperationSampleEvent event = new OperationSampleEvent();
+            event.algorithm = run.algorithm();
+            event.size = run.size();
+            event.comparisons = run.counter().getComparisons();
+            event.swaps = run.counter().getSwaps();
+            event.reads = run.counter().getReads();
+            event.writes = run.counter().getWrites();
+            event.commit();
+        }
+    }
+}
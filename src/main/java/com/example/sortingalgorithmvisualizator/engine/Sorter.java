@@ -0,0 +1,33 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+/**
+ * A sorting algorithm working on a primitive int array.
+ * Implementations don't depend on JavaFX, so they can run headless at full speed or drive the visualizer through a
+ * {@link SortListener}.
+ */
+public interface Sorter {
+
+    /**
+     * Returns the name of the algorithm, as shown to the user.
+     *
+     * @return the name of the algorithm
+     */
+    String getName();
+
+    /**
+     * Sorts the given array in ascending order, notifying every operation to the given listener.
+     *
+     * @param array the array we want to sort
+     * @param listener the listener notified of every compare, swap, write and highlight
+     */
+    void sort(int[] array, SortListener listener);
+
+    /**
+     * Sorts the given array in ascending order without notifying anyone.
+     *
+     * @param array the array we want to sort
+     */
+    default void sort(int[] array) {
+        sort(array, SortListener.NONE);
+    }
+}
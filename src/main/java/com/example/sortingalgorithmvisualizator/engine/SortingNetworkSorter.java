@@ -0,0 +1,158 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import java.io.Serial;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * The base class of the sorting networks: data-oblivious algorithms performing a fixed sequence of stages of
+ * compare-exchange operations, whatever the values of the array. The operations of a stage involve distinct elements,
+ * so they're independent: each stage is split among the workers of a fork/join pool, and the next one starts when all
+ * of them are done.
+ * Every comparator puts the min at the lower index. A network for the next power of 2 sorts any length: the missing
+ * elements behave as if they were greater than any value, so the comparators involving them are skipped.
+ * The comparators of a stage are all highlighted before the stage runs, each one then takes the color of the worker
+ * performing it, and they're cleared once the whole stage is done.
+ *
+ * @see "https://en.wikipedia.org/wiki/Sorting_network"
+ */
+public abstract class SortingNetworkSorter extends AbstractSorter {
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * A stage of a sorting network.
+     */
+    @FunctionalInterface
+    interface Stage {
+        /**
+         * Returns the element compared with the given one in this stage, if it comes after it.
+         *
+         * @param index the index of an element
+         *
+         * @return the index of the other element of the comparator, or a value less than or equal to the given index
+         * if the element isn't the lower one of a comparator
+         */
+        int partner(int index);
+    }
+
+    /**
+     * An action performed on each comparator of a stage.
+     */
+    @FunctionalInterface
+    private interface ComparatorAction {
+        void apply(int index1, int index2);
+    }
+
+    protected SortingNetworkSorter(String name, ForkJoinPool pool) {
+        super(name);
+        this.pool = pool;
+    }
+
+    /**
+     * Passes the stages of the network sorting an array of the given length to the given action, in order.
+     *
+     * @param length the length of the array
+     * @param action the action running a stage
+     */
+    abstract void forEachStage(int length, Consumer<Stage> action);
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        SortListener safeListener = SortListener.synchronizedListener(listener);
+        boolean highlighted = safeListener != SortListener.NONE;
+        int length = array.length;
+        forEachStage(length, stage -> {
+            if (highlighted) {
+                highlightStage(length, stage, ACTIVE, safeListener);
+            }
+            forEachComparator(length, stage, (index1, index2) -> {
+                if (highlighted) {
+                    byte workerHighlight = currentWorker();
+                    safeListener.onHighlight(index1, workerHighlight);
+                    safeListener.onHighlight(index2, workerHighlight);
+                }
+                if (greater(array, index1, index2, safeListener)) {
+                    swap(array, index1, index2, safeListener);
+                }
+            });
+            if (highlighted) {
+                highlightStage(length, stage, NONE, safeListener);
+            }
+        });
+    }
+
+    /**
+     * Gives a highlight to both elements of every comparator of a stage, from the calling thread.
+     *
+     * @param length the length of the array
+     * @param stage the stage
+     * @param highlight the highlight to give
+     * @param listener the listener to notify
+     */
+    private static void highlightStage(int length, Stage stage, byte highlight, SortListener listener) {
+        forEachComparator(0, length, length, stage, (index1, index2) -> {
+            listener.onHighlight(index1, highlight);
+            listener.onHighlight(index2, highlight);
+        });
+    }
+
+    /**
+     * Performs the given action on every comparator of a stage, in parallel if the array is large.
+     *
+     * @param length the length of the array
+     * @param stage the stage
+     * @param action the action to perform
+     */
+    private void forEachComparator(int length, Stage stage, ComparatorAction action) {
+        if (length > PARALLEL_THRESHOLD && pool.getParallelism() > 1) {
+            pool.invoke(new StageTask(0, length, length, stage, action));
+        } else {
+            forEachComparator(0, length, length, stage, action);
+        }
+    }
+
+    private static void forEachComparator(int from, int to, int length, Stage stage, ComparatorAction action) {
+        for (int index = from; index < to; index++) {
+            int partner = stage.partner(index);
+            if (partner > index && partner < length) {
+                action.apply(index, partner);
+            }
+        }
+    }
+
+    /**
+     * Performs an action on the comparators of a stage whose lower element is in a range, splitting the range among
+     * the workers.
+     */
+    private static class StageTask extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to, length;
+        private final Stage stage;
+        private final ComparatorAction action;
+
+        StageTask(int from, int to, int length, Stage stage, ComparatorAction action) {
+            this.from = from;
+            this.to = to;
+            this.length = length;
+            this.stage = stage;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                forEachComparator(from, to, length, stage, action);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new StageTask(from, mid, length, stage, action), new StageTask(mid, to, length, stage, action));
+        }
+    }
+}
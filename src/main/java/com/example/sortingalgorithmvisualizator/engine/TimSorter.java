@@ -0,0 +1,599 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import static com.example.sortingalgorithmvisualizator.engine.Highlight.*;
+
+/**
+ * Implements TimSort on a primitive array: an adaptive, stable merge sort which takes advantage of the ordered
+ * sequences already present in the array.
+ * <ul>
+ *     <li>the array is split in natural runs, ascending or strictly descending (which are reversed in place);</li>
+ *     <li>runs shorter than minrun (between 16 and 32, chosen so the number of runs is close to a power of 2) are
+ *     extended with binary insertion sort;</li>
+ *     <li>the runs are pushed on a stack whose lengths are kept decreasing faster than the Fibonacci numbers, merging
+ *     the top runs when the invariant breaks, so merges stay balanced and the stack stays small;</li>
+ *     <li>before a merge, the elements of the runs which are already in place are skipped by galloping, and the merge
+ *     itself switches to galloping mode when one run keeps winning, copying whole blocks at once.</li>
+ * </ul>
+ * The first element of each run waiting on the stack is highlighted as a run boundary, and the sub-array being
+ * merged is highlighted as ordered. A sorted or reversed array is sorted with n - 1 comparisons.
+ *
+ * @see "https://en.wikipedia.org/wiki/Timsort"
+ * @see "https://github.com/python/cpython/blob/main/Objects/listsort.txt"
+ */
+public class TimSorter extends AbstractSorter {
+    static final int MIN_MERGE = 32;
+    static final int MIN_GALLOP = 7;
+
+    public TimSorter() {
+        super("TimSort");
+    }
+
+    @Override
+    public void sort(int[] array, SortListener listener) {
+        int length = array.length;
+        if (length < 2) {
+            return;
+        }
+        if (length < MIN_MERGE) {
+            int runLength = countRunAndMakeAscending(array, 0, length, listener);
+            binarySort(array, 0, length, runLength, listener);
+            return;
+        }
+
+        TimSort timSort = new TimSort(array, listener);
+        int minRun = minRunLength(length);
+        int first = 0;
+        do {
+            int runLength = countRunAndMakeAscending(array, first, length, listener);
+            if (runLength < minRun) {
+                int forced = Math.min(minRun, length - first);
+                binarySort(array, first, first + forced, first + runLength, listener);
+                runLength = forced;
+            }
+            timSort.pushRun(first, runLength);
+            timSort.mergeCollapse();
+            first += runLength;
+        } while (first < length);
+        timSort.mergeForceCollapse();
+        listener.onHighlight(0, NONE);
+    }
+
+    /**
+     * Returns the min length of a run: if the length of the array is a power of 2 it's MIN_MERGE / 2, otherwise it's
+     * a length between MIN_MERGE / 2 and MIN_MERGE such that the length of the array divided by it is close to, but
+     * strictly less than, a power of 2.
+     *
+     * @param length the length of the array
+     *
+     * @return the min length of a run
+     */
+    static int minRunLength(int length) {
+        int remainder = 0;
+        while (length >= MIN_MERGE) {
+            remainder |= length & 1;
+            length >>= 1;
+        }
+        return length + remainder;
+    }
+
+    /**
+     * Returns the length of the run starting at the given index, reversing it if it's descending. Descending runs must
+     * be strictly descending, so reversing them keeps the sort stable.
+     *
+     * @param array the array we want to sort
+     * @param first the index of the first element of the run
+     * @param end the index after the last element which can belong to the run
+     * @param listener the listener to notify
+     *
+     * @return the length of the run
+     */
+    private static int countRunAndMakeAscending(int[] array, int first, int end, SortListener listener) {
+        int runEnd = first + 1;
+        if (runEnd == end) {
+            return 1;
+        }
+        if (greater(array, first, runEnd++, listener)) {
+            while (runEnd < end && greater(array, runEnd - 1, runEnd, listener)) {
+                runEnd++;
+            }
+            for (int i = first, j = runEnd - 1; i < j; i++, j--) {
+                swap(array, i, j, listener);
+            }
+        } else {
+            while (runEnd < end && !greater(array, runEnd - 1, runEnd, listener)) {
+                runEnd++;
+            }
+        }
+        return runEnd - first;
+    }
+
+    /**
+     * Sorts a sub-array whose first elements are already ordered, inserting each of the other elements in its
+     * position, found with a binary search.
+     *
+     * @param array the array we want to sort
+     * @param first the index of the first element of the sub-array
+     * @param end the index after the last element of the sub-array
+     * @param start the index of the first element which isn't known to be ordered
+     * @param listener the listener to notify
+     */
+    private static void binarySort(int[] array, int first, int end, int start, SortListener listener) {
+        for (; start < end; start++) {
+            int pivot = array[start];
+            int left = first, right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (compareWith(array, mid, pivot, listener) > 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            if (left == start) {
+                continue;
+            }
+            listener.onHighlight(left, ACTIVE);
+            for (int i = start; i > left; i--) {
+                write(array, i, array[i - 1], listener);
+            }
+            write(array, left, pivot, listener);
+            listener.onHighlight(left, NONE);
+        }
+    }
+
+    /**
+     * The state of a sort: the stack of the pending runs, and the buffer used by the merges.
+     */
+    private static class TimSort {
+        private final int[] array;
+        private final int[] buffer;
+        private final SortListener listener;
+        private final int[] runBase;
+        private final int[] runLength;
+        private int stackSize;
+        private int minGallop = MIN_GALLOP;
+
+        TimSort(int[] array, SortListener listener) {
+            this.array = array;
+            this.listener = listener;
+            // A merge never copies more than the shorter run, which is at most half of the array
+            buffer = new int[array.length >>> 1];
+            listener.onAllocate((long) buffer.length * Integer.BYTES);
+            // Enough for the invariant on the run lengths, as computed for java.util.TimSort
+            int stackLength = array.length < 120 ? 5 : array.length < 1542 ? 10 : array.length < 119151 ? 24 : 49;
+            runBase = new int[stackLength];
+            runLength = new int[stackLength];
+        }
+
+        void pushRun(int base, int length) {
+            runBase[stackSize] = base;
+            runLength[stackSize++] = length;
+            listener.onHighlight(base, SPECIAL);
+        }
+
+        /**
+         * Merges the runs on top of the stack until the invariants on their lengths hold again:
+         * <ol>
+         *     <li>runLength[i - 3] > runLength[i - 2] + runLength[i - 1]</li>
+         *     <li>runLength[i - 2] > runLength[i - 1]</li>
+         * </ol>
+         */
+        void mergeCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+                        || n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]) {
+                    if (runLength[n - 1] < runLength[n + 1]) {
+                        n--;
+                    }
+                } else if (runLength[n] > runLength[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges all the runs of the stack, once the whole array has been split in runs.
+         */
+        void mergeForceCollapse() {
+            while (stackSize > 1) {
+                int n = stackSize - 2;
+                if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * Merges the runs at the given position of the stack and at the next one.
+         *
+         * @param i the position of the first run, which is the third or the second from the top
+         */
+        private void mergeAt(int i) {
+            int base1 = runBase[i], length1 = runLength[i];
+            int base2 = runBase[i + 1], length2 = runLength[i + 1];
+            runLength[i] = length1 + length2;
+            if (i == stackSize - 3) {
+                runBase[i + 1] = runBase[i + 2];
+                runLength[i + 1] = runLength[i + 2];
+            }
+            stackSize--;
+            listener.onHighlight(base2, NONE);
+
+            // The elements of the first run which are less than the first element of the second run are in place
+            int skipped = gallopRight(array[base2], base2, array, base1, length1, 0);
+            base1 += skipped;
+            length1 -= skipped;
+            if (length1 == 0) {
+                return;
+            }
+            // So are the elements of the second run which are greater than the last element of the first run
+            length2 = gallopLeft(array[base1 + length1 - 1], base1 + length1 - 1, array, base2, length2, length2 - 1);
+            if (length2 == 0) {
+                return;
+            }
+
+            highlight(base1, base2 + length2 - 1, SORTED, listener);
+            SortPhaseEvent event = SortPhaseEvent.startRepeated(SortPhaseEvent.MERGE, base1, base2 + length2 - 1, i);
+            if (length1 <= length2) {
+                mergeLow(base1, length1, base2, length2);
+            } else {
+                mergeHigh(base1, length1, base2, length2);
+            }
+            if (event != null) {
+                event.commit();
+            }
+            highlight(base1, base2 + length2 - 1, NONE, listener);
+            listener.onHighlight(runBase[i], SPECIAL);
+        }
+
+        /**
+         * Merges two adjacent runs from left to right, copying the first one, which must be the shorter, in the
+         * buffer. The first element of the first run must be greater than the first element of the second run, and
+         * the last element of the first run must be greater than all the elements of the second run.
+         *
+         * @param base1 the index of the first element of the first run
+         * @param length1 the length of the first run
+         * @param base2 the index of the first element of the second run
+         * @param length2 the length of the second run
+         */
+        private void mergeLow(int base1, int length1, int base2, int length2) {
+            System.arraycopy(array, base1, buffer, 0, length1);
+            int cursor1 = 0, cursor2 = base2, dest = base1;
+
+            write(array, dest++, array[cursor2++], listener);
+            if (--length2 == 0) {
+                copy(buffer, cursor1, dest, length1);
+                return;
+            }
+            if (length1 == 1) {
+                copy(array, cursor2, dest, length2);
+                write(array, dest + length2, buffer[cursor1], listener);
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                // One element at a time, until a run wins minGallop times in a row
+                do {
+                    if (compare(array[cursor2], cursor2, buffer, cursor1) < 0) {
+                        write(array, dest++, array[cursor2++], listener);
+                        count2++;
+                        count1 = 0;
+                        if (--length2 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        write(array, dest++, buffer[cursor1++], listener);
+                        count1++;
+                        count2 = 0;
+                        if (--length1 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // Galloping, until neither run wins MIN_GALLOP times in a row
+                do {
+                    count1 = gallopRight(array[cursor2], cursor2, buffer, cursor1, length1, 0);
+                    if (count1 != 0) {
+                        copy(buffer, cursor1, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        length1 -= count1;
+                        if (length1 <= 1) {
+                            break outer;
+                        }
+                    }
+                    write(array, dest++, array[cursor2++], listener);
+                    if (--length2 == 0) {
+                        break outer;
+                    }
+
+                    count2 = gallopLeft(buffer[cursor1], -1, array, cursor2, length2, 0);
+                    if (count2 != 0) {
+                        copy(array, cursor2, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        length2 -= count2;
+                        if (length2 == 0) {
+                            break outer;
+                        }
+                    }
+                    write(array, dest++, buffer[cursor1++], listener);
+                    if (--length1 == 1) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                // Leaving the galloping mode is penalized, since it's likely to pay off again
+                minGallop = Math.max(minGallop, 0) + 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (length1 == 1) {
+                copy(array, cursor2, dest, length2);
+                write(array, dest + length2, buffer[cursor1], listener);
+            } else {
+                copy(buffer, cursor1, dest, length1);
+            }
+        }
+
+        /**
+         * Merges two adjacent runs from right to left, copying the second one, which must be the shorter, in the
+         * buffer. The first element of the first run must be greater than the first element of the second run, and
+         * the last element of the first run must be greater than all the elements of the second run.
+         *
+         * @param base1 the index of the first element of the first run
+         * @param length1 the length of the first run
+         * @param base2 the index of the first element of the second run
+         * @param length2 the length of the second run
+         */
+        private void mergeHigh(int base1, int length1, int base2, int length2) {
+            System.arraycopy(array, base2, buffer, 0, length2);
+            int cursor1 = base1 + length1 - 1, cursor2 = length2 - 1, dest = base2 + length2 - 1;
+
+            write(array, dest--, array[cursor1--], listener);
+            if (--length1 == 0) {
+                copy(buffer, 0, dest - (length2 - 1), length2);
+                return;
+            }
+            if (length2 == 1) {
+                dest -= length1;
+                cursor1 -= length1;
+                copy(array, cursor1 + 1, dest + 1, length1);
+                write(array, dest, buffer[cursor2], listener);
+                return;
+            }
+
+            int minGallop = this.minGallop;
+            outer:
+            while (true) {
+                int count1 = 0, count2 = 0;
+                // One element at a time, until a run wins minGallop times in a row
+                do {
+                    if (compare(buffer[cursor2], -1, array, cursor1) < 0) {
+                        write(array, dest--, array[cursor1--], listener);
+                        count1++;
+                        count2 = 0;
+                        if (--length1 == 0) {
+                            break outer;
+                        }
+                    } else {
+                        write(array, dest--, buffer[cursor2--], listener);
+                        count2++;
+                        count1 = 0;
+                        if (--length2 == 1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // Galloping, until neither run wins MIN_GALLOP times in a row
+                do {
+                    count1 = length1 - gallopRight(buffer[cursor2], -1, array, base1, length1, length1 - 1);
+                    if (count1 != 0) {
+                        dest -= count1;
+                        cursor1 -= count1;
+                        length1 -= count1;
+                        copy(array, cursor1 + 1, dest + 1, count1);
+                        if (length1 == 0) {
+                            break outer;
+                        }
+                    }
+                    write(array, dest--, buffer[cursor2--], listener);
+                    if (--length2 == 1) {
+                        break outer;
+                    }
+
+                    count2 = length2 - gallopLeft(array[cursor1], cursor1, buffer, 0, length2, length2 - 1);
+                    if (count2 != 0) {
+                        dest -= count2;
+                        cursor2 -= count2;
+                        length2 -= count2;
+                        copy(buffer, cursor2 + 1, dest + 1, count2);
+                        if (length2 <= 1) {
+                            break outer;
+                        }
+                    }
+                    write(array, dest--, array[cursor1--], listener);
+                    if (--length1 == 0) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+                // Leaving the galloping mode is penalized, since it's likely to pay off again
+                minGallop = Math.max(minGallop, 0) + 2;
+            }
+            this.minGallop = Math.max(minGallop, 1);
+
+            if (length2 == 1) {
+                dest -= length1;
+                cursor1 -= length1;
+                copy(array, cursor1 + 1, dest + 1, length1);
+                write(array, dest, buffer[cursor2], listener);
+            } else {
+                copy(buffer, 0, dest - (length2 - 1), length2);
+            }
+        }
+
+        /**
+         * Finds the position where the given key should be inserted in an ordered range, before the elements equal
+         * to it. The search starts at the hint and gallops away from it, doubling the distance at each step, then
+         * ends with a binary search: it's fast when the position is close to the hint.
+         *
+         * @param key the value to insert
+         * @param keyIndex the index of the key in the array, or -1 if the key comes from the buffer
+         * @param source the array or the buffer holding the range
+         * @param base the index of the first element of the range
+         * @param length the length of the range
+         * @param hint the index in the range, relative to its base, where the search starts
+         *
+         * @return the number of elements of the range which are less than the key
+         */
+        private int gallopLeft(int key, int keyIndex, int[] source, int base, int length, int hint) {
+            int lastOffset = 0, offset = 1;
+            if (compare(key, keyIndex, source, base + hint) > 0) {
+                // Gallop right, until source[base + hint + lastOffset] < key <= source[base + hint + offset]
+                int maxOffset = length - hint;
+                while (offset < maxOffset && compare(key, keyIndex, source, base + hint + offset) > 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) {
+                        offset = maxOffset;
+                    }
+                }
+                offset = Math.min(offset, maxOffset);
+                lastOffset += hint;
+                offset += hint;
+            } else {
+                // Gallop left, until source[base + hint - offset] < key <= source[base + hint - lastOffset]
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && compare(key, keyIndex, source, base + hint - offset) <= 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) {
+                        offset = maxOffset;
+                    }
+                }
+                offset = Math.min(offset, maxOffset);
+                int tmp = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - tmp;
+            }
+
+            lastOffset++;
+            while (lastOffset < offset) {
+                int mid = lastOffset + ((offset - lastOffset) >>> 1);
+                if (compare(key, keyIndex, source, base + mid) > 0) {
+                    lastOffset = mid + 1;
+                } else {
+                    offset = mid;
+                }
+            }
+            return offset;
+        }
+
+        /**
+         * Like {@link #gallopLeft(int, int, int[], int, int, int)}, but finds the position after the elements equal
+         * to the key.
+         *
+         * @param key the value to insert
+         * @param keyIndex the index of the key in the array, or -1 if the key comes from the buffer
+         * @param source the array or the buffer holding the range
+         * @param base the index of the first element of the range
+         * @param length the length of the range
+         * @param hint the index in the range, relative to its base, where the search starts
+         *
+         * @return the number of elements of the range which are less than or equal to the key
+         */
+        private int gallopRight(int key, int keyIndex, int[] source, int base, int length, int hint) {
+            int lastOffset = 0, offset = 1;
+            if (compare(key, keyIndex, source, base + hint) < 0) {
+                // Gallop left, until source[base + hint - offset] <= key < source[base + hint - lastOffset]
+                int maxOffset = hint + 1;
+                while (offset < maxOffset && compare(key, keyIndex, source, base + hint - offset) < 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) {
+                        offset = maxOffset;
+                    }
+                }
+                offset = Math.min(offset, maxOffset);
+                int tmp = lastOffset;
+                lastOffset = hint - offset;
+                offset = hint - tmp;
+            } else {
+                // Gallop right, until source[base + hint + lastOffset] <= key < source[base + hint + offset]
+                int maxOffset = length - hint;
+                while (offset < maxOffset && compare(key, keyIndex, source, base + hint + offset) >= 0) {
+                    lastOffset = offset;
+                    offset = (offset << 1) + 1;
+                    if (offset <= 0) {
+                        offset = maxOffset;
+                    }
+                }
+                offset = Math.min(offset, maxOffset);
+                lastOffset += hint;
+                offset += hint;
+            }
+
+            lastOffset++;
+            while (lastOffset < offset) {
+                int mid = lastOffset + ((offset - lastOffset) >>> 1);
+                if (compare(key, keyIndex, source, base + mid) < 0) {
+                    offset = mid;
+                } else {
+                    lastOffset = mid + 1;
+                }
+            }
+            return offset;
+        }
+
+        /**
+         * Compares a key with an element of the array or of the buffer. Only the elements of the array are notified
+         * to the listener: an element of the buffer is a value held outside the array.
+         *
+         * @param key the key to compare
+         * @param keyIndex the index of the key in the array, or -1 if the key comes from the buffer
+         * @param source the array or the buffer holding the element
+         * @param index the index of the element in the source
+         *
+         * @return a negative integer, zero, or a positive integer as the key is less than, equal to, or greater than
+         * the element
+         */
+        private int compare(int key, int keyIndex, int[] source, int index) {
+            if (source == array) {
+                listener.onCompare(index, keyIndex);
+            } else {
+                listener.onCompare(keyIndex, -1);
+            }
+            return Integer.compare(key, source[index]);
+        }
+
+        /**
+         * Copies elements of the array or of the buffer to the array, writing them one by one. The copy is
+         * correct even if the source and the destination ranges overlap.
+         *
+         * @param source the array or the buffer
+         * @param from the index of the first copied element in the source
+         * @param to the index of the first written element in the array
+         * @param length the number of copied elements
+         */
+        private void copy(int[] source, int from, int to, int length) {
+            if (source == array && from < to) {
+                for (int i = length - 1; i >= 0; i--) {
+                    write(array, to + i, source[from + i], listener);
+                }
+            } else {
+                for (int i = 0; i < length; i++) {
+                    write(array, to + i, source[from + i], listener);
+                }
+            }
+        }
+    }
+}
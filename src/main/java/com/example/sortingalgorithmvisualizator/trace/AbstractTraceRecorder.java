@@ -0,0 +1,113 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+
+import java.util.Arrays;
+
+import static com.example.sortingalgorithmvisualizator.trace.Trace.*;
+
+/**
+ * The base class of the listeners recording a sort as a {@link Trace}. It packs every operation in a long and passes
+ * it to the subclass, which stores it. It keeps its own copy of the array and of the highlights, so it can store
+ * writes and highlights as deltas. Highlights which don't change anything aren't recorded.
+ */
+abstract class AbstractTraceRecorder implements SortListener {
+    private static final int OPCODE_SHIFT = 60;
+    private static final int INDEX_SHIFT = 32;
+
+    final String algorithmName;
+    final int[] initialArray;
+    private final int[] values;
+    private final byte[] highlights;
+    private long operationCount;
+
+    /**
+     * @param algorithmName the name of the recorded algorithm
+     * @param array the array which is going to be sorted; it's copied, so it must be passed before sorting it
+     */
+    AbstractTraceRecorder(String algorithmName, int[] array) {
+        if (array.length > MAX_ARRAY_LENGTH) {
+            throw new IllegalArgumentException("Cannot record the sort of more than " + MAX_ARRAY_LENGTH + " elements");
+        }
+        this.algorithmName = algorithmName;
+        this.initialArray = Arrays.copyOf(array, array.length);
+        this.values = Arrays.copyOf(array, array.length);
+        this.highlights = new byte[array.length];
+    }
+
+    @Override
+    public void onCompare(int index1, int index2) {
+        operationCount++;
+        add(pack(COMPARE, index1, index2));
+    }
+
+    @Override
+    public void onSwap(int index1, int index2) {
+        int tmp = values[index1];
+        values[index1] = values[index2];
+        values[index2] = tmp;
+        operationCount++;
+        add(pack(SWAP, index1, index2));
+    }
+
+    @Override
+    public void onWrite(int index, int value) {
+        int delta = values[index] ^ value;
+        values[index] = value;
+        operationCount++;
+        add(pack(WRITE, index, delta));
+    }
+
+    @Override
+    public void onRead(int index) {
+        add(pack(READ, index, 0));
+    }
+
+    @Override
+    public void onBufferCompare() {
+        add(pack(BUFFER_COMPARE, 0, 0));
+    }
+
+    @Override
+    public void onBufferWrite() {
+        add(pack(BUFFER_WRITE, 0, 0));
+    }
+
+    @Override
+    public void onHighlight(int index, byte highlight) {
+        int delta = highlights[index] ^ highlight;
+        if (delta != 0) {
+            highlights[index] = highlight;
+            add(pack(HIGHLIGHT, index, delta));
+        }
+    }
+
+    /**
+     * Returns the number of records stored so far.
+     *
+     * @return the number of records
+     */
+    public abstract long length();
+
+    /**
+     * Returns the number of operations recorded so far, highlights, reads and operations in auxiliary buffers
+     * excluded, so the trace can be indexed by {@link TraceCheckpoints#build(Trace, long, long)} without counting them
+     * again.
+     *
+     * @return the number of comparisons, swaps and writes
+     */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Stores a record after the previous ones.
+     *
+     * @param record the packed record
+     */
+    abstract void add(long record);
+
+    static long pack(int opcode, int index, int operand) {
+        return (long) opcode << OPCODE_SHIFT | (long) index << INDEX_SHIFT | (operand & 0xFFFFFFFFL);
+    }
+}
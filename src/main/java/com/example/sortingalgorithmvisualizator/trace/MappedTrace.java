@@ -0,0 +1,133 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.example.sortingalgorithmvisualizator.trace.TraceFile.*;
+
+/**
+ * A {@link Trace} read from a trace file written by a {@link TraceFileWriter}. The file is memory-mapped, and the
+ * records are read directly from the mapping when they're replayed, so a trace far larger than the heap can be
+ * replayed without being loaded. Since a single mapping can't exceed 2 GB, the records are mapped in segments of
+ * 1 GB.
+ * The mappings stay valid until they're garbage collected, even after the trace is closed.
+ */
+public final class MappedTrace implements Trace, Closeable {
+    private static final int SEGMENT_SHIFT = 27;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final FileChannel channel;
+    private final String algorithmName;
+    private final long seed;
+    private final IntBuffer initialArray;
+    private final LongBuffer[] segments;
+    private final long length;
+
+    private MappedTrace(FileChannel channel, String algorithmName, long seed, IntBuffer initialArray,
+                        LongBuffer[] segments, long length) {
+        this.channel = channel;
+        this.algorithmName = algorithmName;
+        this.seed = seed;
+        this.initialArray = initialArray;
+        this.segments = segments;
+        this.length = length;
+    }
+
+    /**
+     * Maps the given trace file.
+     *
+     * @param path the path of the file
+     *
+     * @return the trace of the file
+     *
+     * @throws IOException if the file can't be read, or isn't a valid trace file
+     */
+    public static MappedTrace open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() < NAME_OFFSET) {
+                throw new IOException("Not a trace file: " + path);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, NAME_OFFSET).order(ORDER);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a trace file: " + path);
+            }
+            if (header.getInt(VERSION_OFFSET) < 1 || header.getInt(VERSION_OFFSET) > VERSION) {
+                throw new IOException("Unsupported version " + header.getInt(VERSION_OFFSET) + " of " + path);
+            }
+            long seed = header.getLong(SEED_OFFSET);
+            long length = header.getLong(LENGTH_OFFSET);
+            int arraySize = header.getInt(ARRAY_SIZE_OFFSET);
+            int nameLength = header.getInt(NAME_LENGTH_OFFSET);
+            if (arraySize < 0 || arraySize > MAX_ARRAY_LENGTH || nameLength < 0 || length < 0
+                    || channel.size() < recordsOffset(nameLength, arraySize) + length * Long.BYTES) {
+                throw new IOException("Truncated or corrupted trace file: " + path);
+            }
+
+            ByteBuffer name = channel.map(FileChannel.MapMode.READ_ONLY, NAME_OFFSET, nameLength);
+            IntBuffer initialArray = channel.map(FileChannel.MapMode.READ_ONLY, arrayOffset(nameLength),
+                    (long) arraySize * Integer.BYTES).order(ORDER).asIntBuffer();
+            long recordsOffset = recordsOffset(nameLength, arraySize);
+            LongBuffer[] segments = new LongBuffer[(int) ((length + SEGMENT_MASK) >>> SEGMENT_SHIFT)];
+            for (int i = 0; i < segments.length; i++) {
+                long first = (long) i << SEGMENT_SHIFT;
+                long records = Math.min(length - first, 1L << SEGMENT_SHIFT);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, recordsOffset + first * Long.BYTES,
+                        records * Long.BYTES).order(ORDER).asLongBuffer();
+            }
+            return new MappedTrace(channel, StandardCharsets.UTF_8.decode(name).toString(), seed, initialArray,
+                    segments, length);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    /**
+     * Returns the seed the initial array was generated from.
+     *
+     * @return the seed of the array
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public int getArraySize() {
+        return initialArray.capacity();
+    }
+
+    @Override
+    public int[] getInitialArray() {
+        int[] array = new int[initialArray.capacity()];
+        initialArray.get(0, array);
+        return array;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public long record(long position) {
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & SEGMENT_MASK));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+import java.util.Arrays;
+
+/**
+ * A {@link Trace} kept in memory, in an array of packed records.
+ */
+final class MemoryTrace implements Trace {
+    private final String algorithmName;
+    private final int[] initialArray;
+    private final long[] records;
+    private final int length;
+
+    MemoryTrace(String algorithmName, int[] initialArray, long[] records, int length) {
+        this.algorithmName = algorithmName;
+        this.initialArray = initialArray;
+        this.records = records;
+        this.length = length;
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    @Override
+    public int getArraySize() {
+        return initialArray.length;
+    }
+
+    @Override
+    public int[] getInitialArray() {
+        return Arrays.copyOf(initialArray, initialArray.length);
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public long record(long position) {
+        return records[(int) position];
+    }
+}
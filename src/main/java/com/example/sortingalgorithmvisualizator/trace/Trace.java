@@ -0,0 +1,137 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+/**
+ * The recording of a sort: the initial array and the sequence of operations performed on it.
+ * Every operation is packed in a single long, so a trace doesn't need any object per operation:
+ * <ul>
+ *     <li>bits 60-63: the opcode</li>
+ *     <li>bits 32-59: the index of the (first) element</li>
+ *     <li>bits 0-31: the operand, whose meaning depends on the opcode</li>
+ * </ul>
+ * Writes and highlights store the xor between the old and the new value, so the same record can be applied both
+ * forwards and backwards. Highlights, reads and the operations in auxiliary buffers aren't operations of the replay:
+ * they're applied together with the operations around them.
+ * A trace is either kept in memory, as recorded by a {@link TraceRecorder}, or read from a file written by a
+ * {@link TraceFileWriter} and mapped by a {@link MappedTrace}.
+ *
+ * @see TracePlayer
+ */
+public interface Trace {
+    /**
+     * Two elements have been compared. The operand is the index of the second element, or -1.
+     */
+    int COMPARE = 0;
+    /**
+     * Two elements have been swapped. The operand is the index of the second element.
+     */
+    int SWAP = 1;
+    /**
+     * A value has been written. The operand is the xor between the old and the new value.
+     */
+    int WRITE = 2;
+    /**
+     * The highlight of an element has changed. The operand is the xor between the old and the new highlight.
+     */
+    int HIGHLIGHT = 3;
+    /**
+     * An element has been read without being compared. The operand is unused.
+     */
+    int READ = 4;
+    /**
+     * Two elements of an auxiliary buffer have been compared. The buffer isn't replayed, so the index and the operand
+     * are unused: the record is only counted.
+     */
+    int BUFFER_COMPARE = 5;
+    /**
+     * A value has been written in an auxiliary buffer. The index and the operand are unused: the record is only
+     * counted.
+     */
+    int BUFFER_WRITE = 6;
+
+    /**
+     * The max number of elements of an array whose sort can be recorded.
+     */
+    int MAX_ARRAY_LENGTH = 1 << 28;
+
+    /**
+     * Returns the name of the recorded algorithm.
+     *
+     * @return the name of the algorithm
+     */
+    String getAlgorithmName();
+
+    /**
+     * Returns the number of elements of the sorted array.
+     *
+     * @return the size of the array
+     */
+    int getArraySize();
+
+    /**
+     * Returns a copy of the array before the sort.
+     *
+     * @return the initial array
+     */
+    int[] getInitialArray();
+
+    /**
+     * Returns the number of records of the trace.
+     *
+     * @return the number of records
+     */
+    long length();
+
+    /**
+     * Returns the record at the given position.
+     *
+     * @param position the position of the record, between 0 and {@link #length()} excluded
+     *
+     * @return the packed record
+     */
+    long record(long position);
+
+    /**
+     * Returns the opcode of the given record.
+     *
+     * @param record a packed record
+     *
+     * @return one of {@link #COMPARE}, {@link #SWAP}, {@link #WRITE}, {@link #HIGHLIGHT}, {@link #READ},
+     * {@link #BUFFER_COMPARE} or {@link #BUFFER_WRITE}
+     */
+    static int opcode(long record) {
+        return (int) (record >>> 60);
+    }
+
+    /**
+     * Returns true if the given record is an operation of the replay: a comparison, a swap or a write.
+     *
+     * @param record a packed record
+     *
+     * @return false if the record is a highlight, a read or an operation in an auxiliary buffer
+     */
+    static boolean isOperation(long record) {
+        return opcode(record) <= WRITE;
+    }
+
+    /**
+     * Returns the index of the (first) element of the given record.
+     *
+     * @param record a packed record
+     *
+     * @return the index of the element
+     */
+    static int index(long record) {
+        return (int) (record >>> 32 & MAX_ARRAY_LENGTH - 1);
+    }
+
+    /**
+     * Returns the operand of the given record.
+     *
+     * @param record a packed record
+     *
+     * @return the operand
+     */
+    static int operand(long record) {
+        return (int) record;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+
+import java.util.Arrays;
+
+import static com.example.sortingalgorithmvisualizator.trace.Trace.*;
+
+/**
+ * Periodic snapshots of the array taken while replaying a {@link Trace}, which let a {@link TracePlayer} seek to any
+ * operation by restoring the closest preceding snapshot and replaying at most one interval of operations.
+ * The interval between two snapshots is chosen so that all the snapshots fit in a memory budget: small arrays get a
+ * snapshot every few thousand operations, while for an array of a million elements (5 MB per snapshot) a 64 MB budget
+ * holds a dozen of them.
+ */
+public class TraceCheckpoints {
+    /**
+     * The default memory budget of the snapshots: 64 MB, or 1/16 of the max heap if less.
+     */
+    public static final long DEFAULT_MEMORY_BUDGET = Math.min(64L << 20, Runtime.getRuntime().maxMemory() / 16);
+
+    private static final long MIN_INTERVAL = 1 << 10;
+
+    private final long interval;
+    private final long operationCount;
+    private final long[] positions;
+    private final long[][] counts;
+    private final int[][] values;
+    private final byte[][] highlights;
+
+    private TraceCheckpoints(long interval, long operationCount, long[] positions, long[][] counts, int[][] values,
+                             byte[][] highlights) {
+        this.interval = interval;
+        this.operationCount = operationCount;
+        this.positions = positions;
+        this.counts = counts;
+        this.values = values;
+        this.highlights = highlights;
+    }
+
+    /**
+     * Counts the operations of the given trace, then replays it once, taking a snapshot at regular intervals.
+     *
+     * @param trace the trace to index
+     * @param memoryBudget the max number of bytes taken by the snapshots
+     *
+     * @return the snapshots of the trace
+     */
+    public static TraceCheckpoints build(Trace trace, long memoryBudget) {
+        long operationCount = 0;
+        for (long position = 0; position < trace.length(); position++) {
+            if (isOperation(trace.record(position))) {
+                operationCount++;
+            }
+        }
+        return build(trace, operationCount, memoryBudget);
+    }
+
+    /**
+     * Replays the given trace once, taking a snapshot at regular intervals.
+     *
+     * @param trace the trace to index
+     * @param operationCount the number of operations of the trace, as counted by its recorder
+     * @param memoryBudget the max number of bytes taken by the snapshots
+     *
+     * @return the snapshots of the trace
+     */
+    public static TraceCheckpoints build(Trace trace, long operationCount, long memoryBudget) {
+        long snapshotBytes = Math.max(1L, trace.getArraySize() * (long) (Integer.BYTES + 1));
+        long maxSnapshots = Math.max(1, Math.min(Integer.MAX_VALUE, memoryBudget / snapshotBytes));
+        long interval = Math.max(MIN_INTERVAL, -Math.floorDiv(-operationCount, maxSnapshots));
+        int snapshots = (int) Math.max(1, -Math.floorDiv(-operationCount, interval));
+
+        long[] positions = new long[snapshots];
+        long[][] counts = new long[snapshots][];
+        int[][] values = new int[snapshots][];
+        byte[][] highlights = new byte[snapshots][];
+        TracePlayer player = new TracePlayer(trace, SortListener.NONE);
+        for (int i = 0; i < snapshots; i++) {
+            if (i > 0) {
+                player.step(interval);
+            }
+            positions[i] = player.getPosition();
+            counts[i] = player.getCounts();
+            values[i] = Arrays.copyOf(player.getValues(), trace.getArraySize());
+            highlights[i] = Arrays.copyOf(player.getHighlights(), trace.getArraySize());
+        }
+        return new TraceCheckpoints(interval, operationCount, positions, counts, values, highlights);
+    }
+
+    /**
+     * Returns the number of operations between two snapshots.
+     *
+     * @return the interval of the snapshots
+     */
+    public long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Returns the number of operations of the trace, highlights excluded.
+     *
+     * @return the number of operations
+     */
+    public long getOperationCount() {
+        return operationCount;
+    }
+
+    /**
+     * Returns the index of the last snapshot taken before the given operation.
+     *
+     * @param operation the index of an operation
+     *
+     * @return the index of the snapshot
+     */
+    int floor(long operation) {
+        return (int) Math.min(positions.length - 1, Math.max(0, operation / interval));
+    }
+
+    long operation(int snapshot) {
+        return snapshot * interval;
+    }
+
+    long position(int snapshot) {
+        return positions[snapshot];
+    }
+
+    long[] counts(int snapshot) {
+        return counts[snapshot];
+    }
+
+    int[] values(int snapshot) {
+        return values[snapshot];
+    }
+
+    byte[] highlights(int snapshot) {
+        return highlights[snapshot];
+    }
+}
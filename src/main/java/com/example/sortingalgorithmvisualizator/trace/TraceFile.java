@@ -0,0 +1,49 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+import java.nio.ByteOrder;
+
+/**
+ * The layout of a trace file, written by a {@link TraceFileWriter} and read by a {@link MappedTrace}.
+ * All the values are little endian:
+ * <pre>
+ *  0  magic number "SAVT"
+ *  4  version of the format
+ *  8  seed of the generator of the initial array (long)
+ * 16  number of records (long), written when the file is closed
+ * 24  number of elements of the array
+ * 28  length of the name of the algorithm, in bytes
+ * 32  name of the algorithm, UTF-8
+ *  .  initial array (ints), aligned to 8 bytes
+ *  .  records (longs), aligned to 8 bytes
+ * </pre>
+ */
+final class TraceFile {
+    static final int MAGIC = 0x54564153; // "SAVT" in little endian
+    /**
+     * The version written. Version 1 had no records of the operations in auxiliary buffers, and can still be read.
+     */
+    static final int VERSION = 2;
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int VERSION_OFFSET = 4;
+    static final int SEED_OFFSET = 8;
+    static final int LENGTH_OFFSET = 16;
+    static final int ARRAY_SIZE_OFFSET = 24;
+    static final int NAME_LENGTH_OFFSET = 28;
+    static final int NAME_OFFSET = 32;
+
+    private TraceFile() {
+    }
+
+    static long arrayOffset(int nameLength) {
+        return align(NAME_OFFSET + nameLength);
+    }
+
+    static long recordsOffset(int nameLength, int arraySize) {
+        return align(arrayOffset(nameLength) + (long) arraySize * Integer.BYTES);
+    }
+
+    private static long align(long offset) {
+        return offset + 7 & ~7L;
+    }
+}
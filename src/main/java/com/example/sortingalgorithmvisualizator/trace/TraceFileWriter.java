@@ -0,0 +1,125 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.example.sortingalgorithmvisualizator.trace.TraceFile.*;
+
+/**
+ * A {@link SortListener} which streams every operation of a sort to a trace file while the sort is running, so the
+ * length of the trace is limited by the disk instead of the heap. The records are gathered in a direct buffer and
+ * written to a {@link FileChannel} when it's full; the number of records is written in the header when the writer is
+ * closed. The file can be replayed with a {@link MappedTrace}.
+ * The header holds the initial array and the seed it was generated from, so the run can be reproduced exactly by
+ * sorting the same array with the same algorithm.
+ */
+public class TraceFileWriter extends AbstractTraceRecorder implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ORDER);
+    private long length;
+
+    /**
+     * Creates the trace file of a sort of the given array, replacing any existing file, and writes its header.
+     *
+     * @param path the path of the file
+     * @param algorithmName the name of the recorded algorithm
+     * @param seed the seed the array was generated from
+     * @param array the array which is going to be sorted; it's copied, so it must be passed before sorting it
+     *
+     * @throws IOException if the file can't be written
+     */
+    public TraceFileWriter(Path path, String algorithmName, long seed, int[] array) throws IOException {
+        super(algorithmName, array);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        try {
+            byte[] name = algorithmName.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer header = ByteBuffer.allocate((int) recordsOffset(name.length, array.length)).order(ORDER);
+            header.putInt(MAGIC).putInt(VERSION).putLong(seed).putLong(0).putInt(array.length).putInt(name.length)
+                    .put(name);
+            header.position((int) arrayOffset(name.length));
+            header.asIntBuffer().put(initialArray);
+            header.rewind();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a trace to a file.
+     *
+     * @param trace the trace to write
+     * @param seed the seed the initial array of the trace was generated from
+     * @param path the path of the file
+     *
+     * @throws IOException if the file can't be written
+     */
+    public static void write(Trace trace, long seed, Path path) throws IOException {
+        try (TraceFileWriter writer = new TraceFileWriter(path, trace.getAlgorithmName(), seed,
+                trace.getInitialArray())) {
+            for (long position = 0; position < trace.length(); position++) {
+                writer.add(trace.record(position));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @throws UncheckedIOException if the buffer can't be written to the file
+     */
+    @Override
+    void add(long record) {
+        if (!buffer.hasRemaining()) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        buffer.putLong(record);
+        length++;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes the pending records and the number of records, and closes the file.
+     *
+     * @throws IOException if the file can't be written
+     */
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES).order(ORDER).putLong(0, length);
+            channel.write(header, LENGTH_OFFSET);
+            channel.force(false);
+        }
+    }
+}
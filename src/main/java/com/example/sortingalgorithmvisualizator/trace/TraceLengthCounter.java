@@ -0,0 +1,39 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+
+/**
+ * A {@link SortListener} counting the records of the trace of a sort without storing them, so the size of a trace can
+ * be known before it's recorded. Only a copy of the array and of its highlights is kept.
+ */
+public class TraceLengthCounter extends AbstractTraceRecorder {
+    private long length;
+
+    /**
+     * Creates a counter for a sort of the given array. The array is copied, so it must be passed before sorting it.
+     *
+     * @param array the array which is going to be sorted
+     */
+    public TraceLengthCounter(int[] array) {
+        super("", array);
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns the number of bytes taken by the records counted so far.
+     *
+     * @return the size of the records
+     */
+    public long getRecordBytes() {
+        return length * Long.BYTES;
+    }
+
+    @Override
+    void add(long record) {
+        length++;
+    }
+}
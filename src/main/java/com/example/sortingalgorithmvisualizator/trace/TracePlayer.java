@@ -0,0 +1,259 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+
+import static com.example.sortingalgorithmvisualizator.trace.Trace.*;
+
+/**
+ * Replays a {@link Trace}, forwards or backwards, on its own copy of the array and of the highlights.
+ * Every applied record is notified to a listener, so the replay can be mirrored on the screen.
+ * Highlights, reads and the operations in auxiliary buffers don't count as operations: they're applied together with
+ * the compare, swap or write preceding them, so the player always stops right before an operation.
+ * The player also counts the comparisons, swaps, reads and writes replayed so far, including the ones in auxiliary
+ * buffers, the same way as an {@link com.example.sortingalgorithmvisualizator.engine.OperationCounter}, and can seek
+ * to any operation using the {@link TraceCheckpoints} of the trace.
+ */
+public class TracePlayer {
+    private final Trace trace;
+    private final int[] values;
+    private final byte[] highlights;
+    private final SortListener listener;
+    private final TraceCheckpoints checkpoints;
+    private long position;
+    private long operation;
+    private long comparisons, swaps, reads, writes;
+
+    /**
+     * Creates a player positioned at the beginning of the given trace.
+     *
+     * @param trace the trace to replay
+     * @param listener the listener notified of every applied record
+     */
+    public TracePlayer(Trace trace, SortListener listener) {
+        this(trace, null, listener);
+    }
+
+    /**
+     * Creates a player positioned at the beginning of the given trace, which seeks using the given snapshots.
+     *
+     * @param trace the trace to replay
+     * @param checkpoints the snapshots of the trace, or null to seek by replaying every operation
+     * @param listener the listener notified of every applied record
+     */
+    public TracePlayer(Trace trace, TraceCheckpoints checkpoints, SortListener listener) {
+        this.trace = trace;
+        this.checkpoints = checkpoints;
+        this.values = trace.getInitialArray();
+        this.highlights = new byte[values.length];
+        this.listener = listener;
+    }
+
+    public Trace getTrace() {
+        return trace;
+    }
+
+    /**
+     * Returns the current values of the array. The returned array is modified while replaying.
+     *
+     * @return the values of the array at the current position
+     */
+    public int[] getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the current highlights of the array. The returned array is modified while replaying.
+     *
+     * @return the highlights of the array at the current position
+     */
+    public byte[] getHighlights() {
+        return highlights;
+    }
+
+    /**
+     * Returns the number of records applied so far.
+     *
+     * @return the position in the trace
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the number of operations applied so far, highlights excluded.
+     *
+     * @return the index of the next operation
+     */
+    public long getOperation() {
+        return operation;
+    }
+
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    public long getSwaps() {
+        return swaps;
+    }
+
+    public long getReads() {
+        return reads;
+    }
+
+    public long getWrites() {
+        return writes;
+    }
+
+    long[] getCounts() {
+        return new long[]{comparisons, swaps, reads, writes};
+    }
+
+    public boolean isAtStart() {
+        return position == 0;
+    }
+
+    public boolean isAtEnd() {
+        return position == trace.length();
+    }
+
+    /**
+     * Applies the given number of operations.
+     *
+     * @param operations the number of operations to apply: if negative, the operations are undone going backwards
+     *
+     * @return the number of operations actually applied, less than requested if the trace ended
+     */
+    public long step(long operations) {
+        long applied = 0;
+        if (operations >= 0) {
+            while (applied < operations && position < trace.length()) {
+                if (apply(trace.record(position++), 1)) {
+                    applied++;
+                }
+            }
+            // Apply the highlights and the reads following the last operation, if any
+            while (operation + applied > 0 && position < trace.length() && !isOperation(trace.record(position))) {
+                apply(trace.record(position++), 1);
+            }
+        } else {
+            while (applied < -operations && position > 0) {
+                if (apply(trace.record(--position), -1)) {
+                    applied++;
+                }
+            }
+            if (operation == applied) {
+                // Undo the highlights and the reads preceding the first operation too
+                while (position > 0) {
+                    apply(trace.record(--position), -1);
+                }
+            }
+        }
+        operation += operations >= 0 ? applied : -applied;
+        return applied;
+    }
+
+    /**
+     * Moves to the given operation. With checkpoints, if the operation is farther than one interval, the closest
+     * preceding snapshot is restored first, notifying only the elements which differ from the current ones; so the
+     * cost of a seek doesn't depend on the distance.
+     *
+     * @param target the index of the operation, clamped to the operations of the trace
+     */
+    public void seek(long target) {
+        target = Math.max(0, target);
+        if (checkpoints != null) {
+            target = Math.min(target, checkpoints.getOperationCount());
+            if (Math.abs(target - operation) > checkpoints.getInterval()) {
+                restore(checkpoints.floor(target));
+            }
+        }
+        step(target - operation);
+    }
+
+    /**
+     * Restores a snapshot of the checkpoints.
+     *
+     * @param snapshot the index of the snapshot
+     */
+    private void restore(int snapshot) {
+        int[] snapshotValues = checkpoints.values(snapshot);
+        byte[] snapshotHighlights = checkpoints.highlights(snapshot);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != snapshotValues[i]) {
+                values[i] = snapshotValues[i];
+                listener.onWrite(i, values[i]);
+            }
+            if (highlights[i] != snapshotHighlights[i]) {
+                highlights[i] = snapshotHighlights[i];
+                listener.onHighlight(i, highlights[i]);
+            }
+        }
+        long[] counts = checkpoints.counts(snapshot);
+        comparisons = counts[0];
+        swaps = counts[1];
+        reads = counts[2];
+        writes = counts[3];
+        position = checkpoints.position(snapshot);
+        operation = checkpoints.operation(snapshot);
+    }
+
+    /**
+     * Applies a record to the array. Since swaps, writes and highlights are stored as their own inverse, the same
+     * method applies and undoes a record.
+     *
+     * @param record the packed record
+     * @param direction 1 if the record is applied, -1 if it's undone
+     *
+     * @return true if the record is an operation, false if it's a highlight, a read or an operation in a buffer
+     */
+    private boolean apply(long record, int direction) {
+        int index = index(record);
+        switch (opcode(record)) {
+            case COMPARE -> {
+                comparisons += direction;
+                reads += operand(record) < 0 ? direction : 2 * direction;
+                listener.onCompare(index, operand(record));
+            }
+            case SWAP -> {
+                swaps += direction;
+                reads += 2 * direction;
+                writes += 2 * direction;
+                swap(index, operand(record));
+            }
+            case WRITE -> {
+                writes += direction;
+                values[index] ^= operand(record);
+                listener.onWrite(index, values[index]);
+            }
+            case HIGHLIGHT -> {
+                highlights[index] ^= operand(record);
+                listener.onHighlight(index, highlights[index]);
+                return false;
+            }
+            case READ -> {
+                reads += direction;
+                listener.onRead(index);
+                return false;
+            }
+            case BUFFER_COMPARE -> {
+                comparisons += direction;
+                reads += 2 * direction;
+                listener.onBufferCompare();
+                return false;
+            }
+            case BUFFER_WRITE -> {
+                writes += direction;
+                listener.onBufferWrite();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void swap(int index1, int index2) {
+        int tmp = values[index1];
+        values[index1] = values[index2];
+        values[index2] = tmp;
+        listener.onSwap(index1, index2);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+
+import java.util.Arrays;
+
+/**
+ * A {@link SortListener} which records every operation of a sort in a growable buffer of packed longs.
+ * The trace must fit in memory: longer sorts can be streamed to a file with a {@link TraceFileWriter}.
+ */
+public class TraceRecorder extends AbstractTraceRecorder {
+    /**
+     * The max number of records of a trace kept in memory.
+     */
+    public static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    private long[] records;
+    private int length;
+
+    /**
+     * Creates a recorder for a sort of the given array. The array is copied, so it must be passed before sorting it.
+     *
+     * @param algorithmName the name of the recorded algorithm
+     * @param array the array which is going to be sorted
+     */
+    public TraceRecorder(String algorithmName, int[] array) {
+        this(algorithmName, array, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a recorder for a sort of the given array, whose trace is expected to have the given length, e.g. as
+     * counted by a {@link TraceLengthCounter}, so the records are allocated once.
+     *
+     * @param algorithmName the name of the recorded algorithm
+     * @param array the array which is going to be sorted
+     * @param expectedLength the expected number of records
+     */
+    public TraceRecorder(String algorithmName, int[] array, long expectedLength) {
+        super(algorithmName, array);
+        records = new long[(int) Math.min(MAX_LENGTH, Math.max(INITIAL_CAPACITY, expectedLength))];
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns the trace of the operations recorded so far. The records aren't copied, so the recorder mustn't be used
+     * anymore.
+     *
+     * @return the recorded trace
+     */
+    public Trace toTrace() {
+        return new MemoryTrace(algorithmName, initialArray, records, length);
+    }
+
+    @Override
+    void add(long record) {
+        if (length == records.length) {
+            if (length == MAX_LENGTH) {
+                throw new IllegalStateException("The trace is too long to be kept in memory");
+            }
+            records = Arrays.copyOf(records, (int) Math.min(MAX_LENGTH, 2L * length));
+        }
+        records[length++] = record;
+    }
+}
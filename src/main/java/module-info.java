@@ -2,7 +2,10 @@ module com.example.sortingalgorithmvisualizator {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.desktop;
+    requires jdk.jfr;
 
     opens com.example.sortingalgorithmvisualizator to javafx.fxml;
     exports com.example.sortingalgorithmvisualizator;
+    exports com.example.sortingalgorithmvisualizator.engine;
+    exports com.example.sortingalgorithmvisualizator.trace;
 }
\ No newline at end of file
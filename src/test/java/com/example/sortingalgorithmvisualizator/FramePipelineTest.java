@@ -0,0 +1,117 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.Highlight;
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the pipeline coalesces the operations between two frames into one update per element, and that a
+ * consumer draining it while the producer runs ends up with the producer's array.
+ */
+class FramePipelineTest {
+
+    @Test
+    void coalescesTheChangesOfAnElement() {
+        FramePipeline pipeline = new FramePipeline(new int[] {5, 6, 7, 8});
+        pipeline.onWrite(1, 10);
+        pipeline.onWrite(1, 11);
+        pipeline.onHighlight(1, Highlight.ACTIVE);
+        pipeline.onSwap(1, 3);
+        pipeline.onSwap(1, 3);
+        pipeline.onHighlight(3, Highlight.PIVOT);
+
+        Mirror mirror = new Mirror(new int[] {5, 6, 7, 8});
+        assertEquals(2, pipeline.drainTo(mirror));
+        assertEquals(List.of(1, 3), mirror.updated);
+        assertArrayEquals(new int[] {5, 11, 7, 8}, mirror.values);
+        assertArrayEquals(new byte[] {0, Highlight.ACTIVE, 0, Highlight.PIVOT}, mirror.highlights);
+
+        mirror.updated.clear();
+        assertEquals(0, pipeline.drainTo(mirror), "Drained");
+        assertEquals(List.of(), mirror.updated);
+    }
+
+    @Test
+    void drainsTheElementsOfEveryWord() {
+        int[] array = new int[200];
+        FramePipeline pipeline = new FramePipeline(array);
+        int[] indexes = {0, 63, 64, 127, 128, 199};
+        for (int index : indexes) {
+            pipeline.onWrite(index, index + 1);
+        }
+        Mirror mirror = new Mirror(array);
+        assertEquals(indexes.length, pipeline.drainTo(mirror));
+        assertEquals(List.of(0, 63, 64, 127, 128, 199), mirror.updated);
+        for (int index : indexes) {
+            assertEquals(index + 1, mirror.values[index]);
+        }
+    }
+
+    @Test
+    void endsWithTheArrayOfTheProducer() throws InterruptedException {
+        int size = 1000;
+        int[] array = new SplittableRandom(42).ints(size, 0, size).toArray();
+        FramePipeline pipeline = new FramePipeline(array);
+        int[] expected = array.clone();
+        byte[] expectedHighlights = new byte[size];
+        SplittableRandom random = new SplittableRandom(7);
+        int[] operations = random.ints(300_000, 0, size).toArray();
+        for (int i = 0; i + 1 < operations.length; i += 2) {
+            int tmp = expected[operations[i]];
+            expected[operations[i]] = expected[operations[i + 1]];
+            expected[operations[i + 1]] = tmp;
+            expectedHighlights[operations[i]] = (byte) (i & 3);
+        }
+
+        AtomicBoolean done = new AtomicBoolean();
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i + 1 < operations.length; i += 2) {
+                pipeline.onSwap(operations[i], operations[i + 1]);
+                pipeline.onHighlight(operations[i], (byte) (i & 3));
+            }
+            done.set(true);
+        });
+        Mirror mirror = new Mirror(array);
+        producer.start();
+        while (!done.get()) {
+            pipeline.drainTo(mirror);
+        }
+        producer.join();
+        pipeline.drainTo(mirror);
+        assertArrayEquals(expected, mirror.values);
+        assertArrayEquals(expectedHighlights, mirror.highlights);
+    }
+
+    /**
+     * The consumer side of a pipeline, like the renderer.
+     */
+    private static class Mirror implements SortListener {
+        final int[] values;
+        final byte[] highlights;
+        final List<Integer> updated = new ArrayList<>();
+
+        Mirror(int[] array) {
+            values = array.clone();
+            highlights = new byte[array.length];
+        }
+
+        @Override
+        public void onWrite(int index, int value) {
+            values[index] = value;
+            updated.add(index);
+        }
+
+        @Override
+        public void onHighlight(int index, byte highlight) {
+            highlights[index] = highlight;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.sortingalgorithmvisualizator;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Encodes animated GIFs and decodes them back with ImageIO's reader.
+ */
+class GifEncoderTest {
+    private static final int WIDTH = 200, HEIGHT = 150;
+    private static final int[] PALETTE = {0x000000, 0xFFFFFF, 0xFF0000, 0x00FF00, 0x0000FF};
+
+    @Test
+    void decodesBackWithImageIO() throws IOException {
+        // Noise fills the LZW dictionary, so the codes are cleared several times in the first frame
+        SplittableRandom random = new SplittableRandom(42);
+        byte[] first = new byte[WIDTH * HEIGHT];
+        for (int i = 0; i < first.length; i++) {
+            first[i] = (byte) random.nextInt(PALETTE.length);
+        }
+        byte[] second = first.clone();
+        for (int y = 20; y <= 29; y++) {
+            for (int x = 50; x <= 89; x++) {
+                second[y * WIDTH + x] = (byte) ((second[y * WIDTH + x] + 1) % PALETTE.length);
+            }
+        }
+
+        GifEncoder encoder = new GifEncoder(WIDTH, HEIGHT, PALETTE);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        encoder.writeHeader(out);
+        out.write(encoder.encodeFrame(first, null, 5));
+        out.write(encoder.encodeFrame(second, first, 7));
+        out.write(encoder.encodeFrame(second, second, 9));
+        encoder.writeTrailer(out);
+
+        ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+        try (ImageInputStream stream = ImageIO.createImageInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            reader.setInput(stream);
+            assertEquals(3, reader.getNumImages(true));
+
+            assertFrame(reader, 0, first, 0, 0, WIDTH, HEIGHT, 5);
+            // Only the changed rectangle is stored
+            assertFrame(reader, 1, second, 50, 20, 40, 10, 7);
+            // An unchanged frame keeps a single pixel, to hold its delay
+            assertFrame(reader, 2, second, 0, 0, 1, 1, 9);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    @Test
+    void rejectsMoreThan256Colors() {
+        assertThrows(IllegalArgumentException.class, () -> new GifEncoder(10, 10, new int[257]));
+    }
+
+    private static void assertFrame(ImageReader reader, int index, byte[] pixels, int left, int top, int width,
+                                    int height, int delay) throws IOException {
+        BufferedImage image = reader.read(index);
+        assertEquals(width, image.getWidth(), "Width of frame " + index);
+        assertEquals(height, image.getHeight(), "Height of frame " + index);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                assertEquals(PALETTE[pixels[(top + y) * WIDTH + left + x]], image.getRGB(x, y) & 0xFFFFFF,
+                        "Pixel " + (left + x) + ", " + (top + y) + " of frame " + index);
+            }
+        }
+        IIOMetadata metadata = reader.getImageMetadata(index);
+        Node root = metadata.getAsTree(metadata.getNativeMetadataFormatName());
+        assertEquals(left, Integer.parseInt(attribute(root, "ImageDescriptor", "imageLeftPosition")));
+        assertEquals(top, Integer.parseInt(attribute(root, "ImageDescriptor", "imageTopPosition")));
+        assertEquals(delay, Integer.parseInt(attribute(root, "GraphicControlExtension", "delayTime")));
+    }
+
+    private static String attribute(Node root, String node, String attribute) {
+        for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeName().equals(node)) {
+                return ((Element) child).getAttribute(attribute);
+            }
+        }
+        throw new AssertionError("No " + node + " in the metadata");
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.sortingalgorithmvisualizator;
+
+import com.example.sortingalgorithmvisualizator.engine.Highlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the queries of the tree against a scan of the range, after random batches of changes flushed like the
+ * renderer does once per frame.
+ */
+class MinMaxTreeTest {
+    private static final int HIGHLIGHTS = Highlight.WORKER + Highlight.WORKER_COUNT;
+
+    @Test
+    void answersLikeAScan() {
+        // Not a multiple of the block size, so the last block is partial
+        for (int size : new int[] {1, 15, 16, 17, 1000, 4099}) {
+            SplittableRandom random = new SplittableRandom(size);
+            int[] values = random.ints(size, -1000, 1000).toArray();
+            byte[] highlights = new byte[size];
+            MinMaxTree tree = new MinMaxTree(values, highlights);
+            assertQueries(tree, values, highlights, random, "Size " + size);
+
+            for (int batch = 0; batch < 20; batch++) {
+                // Batches of a few changes, or of many changes to the same few blocks
+                int changes = random.nextInt(1, 2 * MinMaxTree.BLOCK_SIZE);
+                int area = random.nextBoolean() ? size : Math.min(size, 3 * MinMaxTree.BLOCK_SIZE);
+                for (int change = 0; change < changes; change++) {
+                    int index = random.nextInt(area);
+                    if (random.nextBoolean()) {
+                        values[index] = random.nextInt(4) == 0
+                                ? (random.nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE)
+                                : random.nextInt(-1000, 1000);
+                    } else {
+                        highlights[index] = (byte) random.nextInt(HIGHLIGHTS);
+                    }
+                    tree.invalidate(index);
+                }
+                tree.flush();
+                assertQueries(tree, values, highlights, random, "Size " + size + ", batch " + batch);
+            }
+        }
+    }
+
+    @Test
+    void clearsTheHighlightOfABlock() {
+        int[] values = new int[64];
+        byte[] highlights = new byte[64];
+        highlights[20] = Highlight.SPECIAL;
+        MinMaxTree tree = new MinMaxTree(values, highlights);
+        tree.query(0, 64);
+        assertEquals(Highlight.SPECIAL, tree.getHighlight());
+
+        highlights[20] = Highlight.NONE;
+        tree.invalidate(20);
+        tree.flush();
+        tree.query(0, 64);
+        assertEquals(Highlight.NONE, tree.getHighlight());
+    }
+
+    private static void assertQueries(MinMaxTree tree, int[] values, byte[] highlights, SplittableRandom random,
+                                      String message) {
+        for (int query = 0; query < 50; query++) {
+            int from = random.nextInt(values.length);
+            int to = random.nextInt(from + 1, values.length + 1);
+            assertQuery(tree, values, highlights, from, to, message);
+        }
+        assertQuery(tree, values, highlights, 0, values.length, message);
+    }
+
+    private static void assertQuery(MinMaxTree tree, int[] values, byte[] highlights, int from, int to,
+                                    String message) {
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE, priority = -1;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+            priority = Math.max(priority, priority(highlights[i]));
+        }
+        tree.query(from, to);
+        String range = message + ", range [" + from + ", " + to + ")";
+        assertEquals(min, tree.getMin(), range);
+        assertEquals(max, tree.getMax(), range);
+        // The workers share a priority, so any of them may represent the range
+        assertEquals(priority, priority(tree.getHighlight()), range);
+        assertTrue(contains(highlights, from, to, tree.getHighlight()), range);
+    }
+
+    /**
+     * Returns the priority of a highlight sharing a pixel column, as documented by the tree.
+     */
+    private static int priority(byte highlight) {
+        return switch (highlight) {
+            case Highlight.NONE -> 0;
+            case Highlight.SORTED -> 1;
+            case Highlight.ACTIVE -> 3;
+            case Highlight.PIVOT -> 4;
+            case Highlight.SPECIAL -> 5;
+            default -> 2;
+        };
+    }
+
+    private static boolean contains(byte[] highlights, int from, int to, byte highlight) {
+        for (int i = from; i < to; i++) {
+            if (highlights[i] == highlight) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
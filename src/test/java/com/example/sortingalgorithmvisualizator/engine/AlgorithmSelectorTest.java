@@ -0,0 +1,129 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the features of {@link InputProfile} and the rule {@link AlgorithmSelector} picks for each kind of array.
+ */
+class AlgorithmSelectorTest {
+    private static final int SIZE = 100_000;
+
+    private final AlgorithmSelector selector = new AlgorithmSelector();
+
+    @Test
+    void profilesASortedArray() {
+        InputProfile profile = InputProfile.of(IntStream.range(0, SIZE).toArray());
+        assertEquals(SIZE, profile.size());
+        assertEquals(1, profile.runs());
+        assertEquals(0, profile.inversionRatio());
+        assertEquals(0, profile.min());
+        assertEquals(SIZE - 1, profile.max());
+        assertEquals(SIZE, profile.estimatedDistinct());
+        assertEquals(3, profile.radixPasses());
+    }
+
+    @Test
+    void profilesAReversedArray() {
+        InputProfile profile = InputProfile.of(IntStream.range(0, SIZE).map(i -> SIZE - i).toArray());
+        assertEquals(1, profile.runs());
+        assertEquals(1, profile.inversionRatio());
+        assertEquals(SIZE, profile.range());
+    }
+
+    @Test
+    void profilesFewDistinctValues() {
+        InputProfile profile = InputProfile.of(new SplittableRandom(42).ints(SIZE, 0, 4).toArray());
+        assertEquals(4, profile.estimatedDistinct());
+        assertEquals(1, profile.radixPasses());
+        assertEquals(0.375, profile.inversionRatio(), 0.05);
+    }
+
+    @Test
+    void profilesNegativeValuesAndEmptyArrays() {
+        assertEquals(4, InputProfile.of(new int[] {-1, 0, 1}).radixPasses());
+        assertEquals(0, InputProfile.of(new int[] {7, 7, 7}).radixPasses());
+        InputProfile empty = InputProfile.of(new int[0]);
+        assertEquals(0, empty.size());
+        assertEquals(0, empty.range());
+    }
+
+    @Test
+    void profilesTheSameArrayTheSameWay() {
+        int[] array = new SplittableRandom(42).ints(SIZE).toArray();
+        assertEquals(InputProfile.of(array), InputProfile.of(array.clone()));
+    }
+
+    @Test
+    void sortsTinyArraysWithInsertionSort() {
+        assertRule(AlgorithmSelector.Rule.TINY, new SplittableRandom(42).ints(AlgorithmSelector.TINY_SIZE).toArray());
+    }
+
+    @Test
+    void sortsArraysWithFewInversionsWithInsertionSort() {
+        int[] array = IntStream.range(0, 1000).toArray();
+        swap(array, 10, 11);
+        assertRule(AlgorithmSelector.Rule.FEW_INVERSIONS, array);
+    }
+
+    @Test
+    void sortsNearlySortedArraysWithTimSort() {
+        // Too large for insertion sort, and made of 2 runs
+        int[] array = IntStream.range(0, SIZE).map(i -> i < SIZE / 2 ? i + SIZE : i).toArray();
+        assertRule(AlgorithmSelector.Rule.NEARLY_SORTED, array);
+    }
+
+    @Test
+    void sortsSmallRangesWithTheRadixSort() {
+        int[] array = new SplittableRandom(42).ints(SIZE, 0, 256).toArray();
+        assertEquals(1, InputProfile.of(array).radixPasses());
+        assertRule(AlgorithmSelector.Rule.RADIX, array);
+    }
+
+    @Test
+    void sortsLargeArraysOfDistinctValuesWithTheRadixSort() {
+        // The full range of ints takes 4 passes, fewer than the 17 partitioning levels of 100,000 distinct values
+        int[] array = new SplittableRandom(42).ints(SIZE).toArray();
+        assertEquals(4, InputProfile.of(array).radixPasses());
+        AlgorithmSelector.Selection selection = selector.select(InputProfile.of(array));
+        assertEquals(AlgorithmSelector.Rule.RADIX, selection.rule(), selection.reason());
+        assertTrue(selection.reason().startsWith("4 radix passes"), selection.reason());
+    }
+
+    @Test
+    void sortsLongRunsOfFewDistinctValuesWithTimSort() {
+        // Runs of 64 elements, each going from 0 to 2^30: 2 distinct values but 4 radix passes
+        int[] array = IntStream.range(0, SIZE).map(i -> i % 64 < 32 ? 0 : 1 << 30).toArray();
+        assertRule(AlgorithmSelector.Rule.LONG_RUNS, array);
+    }
+
+    @Test
+    void sortsUnorderedArraysOfFewDistinctValuesWithIntrosort() {
+        int[] array = new SplittableRandom(42).ints(SIZE, 0, 2).map(bit -> bit << 30).toArray();
+        assertRule(AlgorithmSelector.Rule.UNORDERED, array);
+    }
+
+    @Test
+    void explainsTheSelection() {
+        AlgorithmSelector.Selection selection = selector.select(InputProfile.of(new int[] {3, 1, 2}));
+        assertEquals(Algorithm.INSERTION, selection.algorithm());
+        assertTrue(selection.reason().contains("tiny"), selection.reason());
+    }
+
+    private void assertRule(AlgorithmSelector.Rule rule, int[] array) {
+        AlgorithmSelector.Selection selection = selector.select(InputProfile.of(array));
+        assertEquals(rule, selection.rule(), selection.reason());
+        assertEquals(rule.getAlgorithm(), selection.algorithm());
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int value = array[i];
+        array[i] = array[j];
+        array[j] = value;
+    }
+}
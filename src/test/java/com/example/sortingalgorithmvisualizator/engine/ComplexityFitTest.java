@@ -0,0 +1,85 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fits synthetic measurements following known growth models.
+ */
+class ComplexityFitTest {
+    private static final int[] SIZES = ComplexityAnalyzer.geometricSizes(64, 1 << 20);
+
+    @Test
+    void fitsALinearGrowth() {
+        ComplexityFit fit = fit(GrowthModel.LINEAR, 3, 0);
+        assertEquals(1, fit.getExponent(), 1e-9);
+        assertEquals(1, fit.getRSquared(), 1e-9);
+        assertEquals(GrowthModel.LINEAR, fit.getBestModel());
+        assertEquals(3 * 1000, fit.predict(GrowthModel.LINEAR, 1000), 1e-6);
+    }
+
+    @Test
+    void fitsAQuadraticGrowth() {
+        ComplexityFit fit = fit(GrowthModel.QUADRATIC, 0.5, 0);
+        assertEquals(2, fit.getExponent(), 1e-9);
+        assertEquals(GrowthModel.QUADRATIC, fit.getBestModel());
+        assertEquals(1, fit.getConfidence(GrowthModel.QUADRATIC), 1e-6);
+    }
+
+    @Test
+    void tellsNLogNFromLinearDespiteNoise() {
+        ComplexityFit fit = fit(GrowthModel.N_LOG_N, 20, 0.05);
+        assertEquals(GrowthModel.N_LOG_N, fit.getBestModel());
+        assertTrue(fit.getConfidence(GrowthModel.N_LOG_N) > fit.getConfidence(GrowthModel.LINEAR));
+        // The logarithm bends the power law a little above 1
+        assertTrue(fit.getExponent() > 1 && fit.getExponent() < 1.2, "Exponent " + fit.getExponent());
+        assertTrue(fit.getExponentMargin() > 0 && fit.getExponentMargin() < 0.1);
+    }
+
+    @Test
+    void givesTheModelsProbabilitiesSummingTo1() {
+        ComplexityFit fit = fit(GrowthModel.LINEAR, 1, 0.1);
+        double total = 0;
+        for (GrowthModel model : GrowthModel.values()) {
+            total += fit.getConfidence(model);
+        }
+        assertEquals(1, total, 1e-9);
+        assertEquals(SIZES.length, fit.getPoints());
+    }
+
+    @Test
+    void needsAtLeast2Measurements() {
+        assertThrows(IllegalArgumentException.class, () -> ComplexityFit.fit(new double[] {10}, new double[] {5}));
+    }
+
+    @Test
+    void generatesPowersOf2() {
+        assertArrayEquals(new int[] {64, 128, 256}, ComplexityAnalyzer.geometricSizes(50, 300));
+        assertArrayEquals(new int[] {1}, ComplexityAnalyzer.geometricSizes(1, 1));
+    }
+
+    /**
+     * Fits measurements following a model, with a multiplicative noise.
+     *
+     * @param model the model of the measurements
+     * @param coefficient the constant factor of the model
+     * @param noise the max relative error of each measurement
+     *
+     * @return the fit of the measurements
+     */
+    private static ComplexityFit fit(GrowthModel model, double coefficient, double noise) {
+        SplittableRandom random = new SplittableRandom(42);
+        double[] sizes = new double[SIZES.length], values = new double[SIZES.length];
+        for (int i = 0; i < SIZES.length; i++) {
+            sizes[i] = SIZES[i];
+            values[i] = coefficient * model.evaluate(SIZES[i]) * (1 + noise * (2 * random.nextDouble() - 1));
+        }
+        return ComplexityFit.fit(sizes, values);
+    }
+}
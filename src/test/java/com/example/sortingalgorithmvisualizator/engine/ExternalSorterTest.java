@@ -0,0 +1,89 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Sorts files with chunks small enough, and a fan-in low enough, that the runs are merged in several passes.
+ */
+class ExternalSorterTest {
+    private static final int CHUNK_SIZE = 100;
+    private static final int FAN_IN = 2;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void sortsInSeveralMergePasses() throws IOException {
+        // 11 runs, the last one shorter: merged into 6, 3, 2 and then 1
+        int[] values = new SplittableRandom(42).ints(1050).toArray();
+        Path input = write(values);
+        Path output = directory.resolve("sorted.bin");
+        Path temp = Files.createDirectory(directory.resolve("runs"));
+        ExternalSortProgress progress = new ExternalSortProgress();
+
+        new ExternalSorter(new IntroSorter(), CHUNK_SIZE, 2, FAN_IN, temp).sort(input, output, progress);
+
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+        assertArrayEquals(expected, read(output));
+        assertEquals(ExternalSortProgress.Phase.DONE, progress.getPhase());
+        assertEquals(11, progress.getRunsProduced());
+        assertEquals(4, progress.getMergePasses());
+        assertEquals(1, progress.getFraction());
+        try (Stream<Path> files = Files.list(temp)) {
+            assertEquals(0, files.count(), "The run files are deleted");
+        }
+    }
+
+    @Test
+    void sortsAnEmptyFileAndASingleChunk() throws IOException {
+        for (int[] values : new int[][] {{}, {3, -1, 2, Integer.MIN_VALUE, 2}}) {
+            Path output = directory.resolve("sorted.bin");
+            new ExternalSorter(new MergeSorter(), CHUNK_SIZE, 1, FAN_IN, directory)
+                    .sort(write(values), output, new ExternalSortProgress());
+            int[] expected = values.clone();
+            Arrays.sort(expected);
+            assertArrayEquals(expected, read(output));
+        }
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        Path input = Files.write(directory.resolve("truncated.bin"), new byte[10]);
+        ExternalSorter sorter = new ExternalSorter(new IntroSorter(), CHUNK_SIZE, 1, FAN_IN, directory);
+        assertThrows(IOException.class,
+                () -> sorter.sort(input, directory.resolve("sorted.bin"), new ExternalSortProgress()));
+    }
+
+    @Test
+    void rejectsAFanInBelow2() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExternalSorter(new IntroSorter(), CHUNK_SIZE, 1, 1, directory));
+    }
+
+    private Path write(int[] values) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * Integer.BYTES).order(ExternalSorter.ORDER);
+        buffer.asIntBuffer().put(values);
+        return Files.write(directory.resolve("input.bin"), buffer.array());
+    }
+
+    private static int[] read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path)).order(ExternalSorter.ORDER);
+        int[] values = new int[buffer.remaining() / Integer.BYTES];
+        buffer.asIntBuffer().get(values);
+        return values;
+    }
+}
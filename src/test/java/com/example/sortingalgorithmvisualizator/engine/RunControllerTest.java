@@ -0,0 +1,183 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives a worker performing operations through a controller from the test thread, as the buttons of the visualizer
+ * do. The timings are generous, so the tests don't depend on the load of the machine.
+ */
+class RunControllerTest {
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final long SETTLE_MILLIS = 100;
+
+    @Test
+    void grantsEverythingAtFullSpeed() {
+        RunController controller = new RunController(Double.POSITIVE_INFINITY);
+        assertEquals(1000, controller.acquire(1000));
+        int[] array = InputDistribution.REVERSED.generate(1000, 1000, 42);
+        new IntroSorter().sort(array, controller.control(SortListener.NONE));
+        assertTrue(isSorted(array));
+    }
+
+    @Test
+    void stepsAPausedRun() throws InterruptedException {
+        RunController controller = new RunController(Double.POSITIVE_INFINITY);
+        controller.pause();
+        Worker worker = new Worker(controller);
+        worker.start();
+        Thread.sleep(SETTLE_MILLIS);
+        assertEquals(0, worker.operations.get(), "Paused before the first operation");
+
+        controller.step(5);
+        awaitCount(worker.operations::get, 5);
+        Thread.sleep(SETTLE_MILLIS);
+        assertEquals(5, worker.operations.get(), "Paused again after the steps");
+
+        controller.step(3);
+        awaitCount(worker.operations::get, 8);
+        Thread.sleep(SETTLE_MILLIS);
+        assertEquals(8, worker.operations.get());
+
+        controller.resume();
+        assertFalse(controller.isPaused());
+        awaitCount(worker.operations::get, 10_000);
+        worker.cancelAndJoin();
+    }
+
+    @Test
+    void appliesANewSpeedAtOnce() throws InterruptedException {
+        // One operation every 1000 s: the worker would be parked for good without the new speed
+        RunController controller = new RunController(0.001);
+        Worker worker = new Worker(controller);
+        worker.start();
+        Thread.sleep(SETTLE_MILLIS);
+        assertEquals(0, worker.operations.get());
+
+        controller.setOperationsPerSecond(Double.POSITIVE_INFINITY);
+        awaitCount(worker.operations::get, 10_000);
+
+        // Back to a finite speed: the time spent at full speed isn't credited
+        controller.setOperationsPerSecond(20);
+        long start = worker.operations.get();
+        Thread.sleep(500);
+        long performed = worker.operations.get() - start;
+        assertTrue(performed < 100, performed + " operations in half a second at 20 op/s");
+        awaitCount(worker.operations::get, start + 2);
+        worker.cancelAndJoin();
+    }
+
+    @Test
+    void pacesTheOperationsOnBuffers() throws InterruptedException {
+        RunController controller = new RunController(Double.POSITIVE_INFINITY);
+        controller.pause();
+        OperationCounter counter = new OperationCounter();
+        SortListener listener = controller.control(counter);
+        Thread worker = new Thread(() -> {
+            listener.onBufferCompare();
+            listener.onBufferWrite();
+            listener.onRead(0);
+            listener.onCompare(0, 1);
+        });
+        worker.setDaemon(true);
+        worker.start();
+
+        controller.step(2);
+        awaitCount(counter::getWrites, 1);
+        Thread.sleep(SETTLE_MILLIS);
+        assertEquals(1, counter.getComparisons(), "Paused before the comparison of the array");
+        assertEquals(3, counter.getReads(), "The read is forwarded at once");
+        controller.step(1);
+        worker.join(TimeUnit.NANOSECONDS.toMillis(TIMEOUT_NANOS));
+        assertFalse(worker.isAlive(), "The worker has performed its operations");
+        assertEquals(3, counter.getOperations());
+    }
+
+    @Test
+    void cancelsAParkedWorker() throws InterruptedException {
+        RunController controller = new RunController(Double.POSITIVE_INFINITY);
+        controller.pause();
+        Worker worker = new Worker(controller);
+        worker.start();
+        Thread.sleep(SETTLE_MILLIS);
+
+        controller.cancel();
+        worker.join(TimeUnit.NANOSECONDS.toMillis(TIMEOUT_NANOS));
+        assertFalse(worker.isAlive(), "The worker has stopped");
+        assertInstanceOf(CancellationException.class, worker.failure.get());
+        assertTrue(controller.isCancelled());
+        assertEquals(0, worker.operations.get());
+    }
+
+    @Test
+    void wakesUpAWaitingWorker() throws InterruptedException {
+        RunController controller = new RunController(Double.POSITIVE_INFINITY);
+        controller.pause();
+        AtomicLong granted = new AtomicLong(-1);
+        Thread worker = new Thread(() -> granted.set(controller.acquire(10)));
+        worker.start();
+        Thread.sleep(SETTLE_MILLIS);
+        controller.wakeUp();
+        worker.join(TimeUnit.NANOSECONDS.toMillis(TIMEOUT_NANOS));
+        assertEquals(0, granted.get(), "Woken up without any operation");
+    }
+
+    private static void awaitCount(LongSupplier count, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (count.getAsLong() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Only " + count.getAsLong() + " of " + expected + " operations");
+            Thread.sleep(1);
+        }
+    }
+
+    private static boolean isSorted(int[] array) {
+        for (int i = 1; i < array.length; i++) {
+            if (array[i - 1] > array[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A worker performing operations until it's cancelled.
+     */
+    private static class Worker extends Thread {
+        final AtomicLong operations = new AtomicLong();
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        private final RunController controller;
+
+        Worker(RunController controller) {
+            this.controller = controller;
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    controller.awaitOperation();
+                    operations.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                failure.set(e);
+            }
+        }
+
+        void cancelAndJoin() throws InterruptedException {
+            controller.cancel();
+            join(TimeUnit.NANOSECONDS.toMillis(TIMEOUT_NANOS));
+            assertFalse(isAlive(), "The worker has stopped");
+        }
+    }
+}
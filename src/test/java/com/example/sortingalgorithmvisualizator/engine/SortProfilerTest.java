@@ -0,0 +1,110 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records sorts with Java Flight Recorder and reads the events back from the dumped recordings.
+ */
+class SortProfilerTest {
+    private static final int SIZE = 5000;
+    private static final long SEED = 42;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void emitsTheSortPhaseAndSampleEvents() throws IOException {
+        assertNull(SortPhaseEvent.start(SortPhaseEvent.BUILD_HEAP, 0, SIZE - 1, 0), "Not created without a recording");
+
+        int[] array = InputDistribution.UNIFORM.generate(SIZE, SIZE, SEED);
+        OperationCounter counter = new OperationCounter();
+        // The first comparison is held long enough for the run to be sampled a few times
+        SortListener slow = new SortListener() {
+            private boolean slept;
+
+            @Override
+            public void onCompare(int index1, int index2) {
+                if (!slept) {
+                    slept = true;
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        // Registers the periodic hook of the samples before the recording starts, like a run before the profiled one
+        SortProfiler.sort(new HeapSorter(), new int[0], SortListener.NONE, null);
+        Path file = directory.resolve("heap.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(SortEvent.class);
+            recording.enable(SortPhaseEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(OperationSampleEvent.class).withPeriod(Duration.ofMillis(50));
+            recording.start();
+            SortProfiler.sort(new HeapSorter(), array, counter.andThen(slow), counter);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent sort = single(events, SortEvent.NAME);
+        assertEquals("Heap sort", sort.getString("algorithm"));
+        assertEquals(SIZE, sort.getInt("size"));
+        assertEquals(counter.getComparisons(), sort.getLong("comparisons"));
+        assertEquals(counter.getSwaps(), sort.getLong("swaps"));
+        assertEquals(counter.getWrites(), sort.getLong("writes"));
+
+        List<String> phases = events.stream()
+                .filter(event -> event.getEventType().getName().equals(SortPhaseEvent.NAME))
+                .map(event -> event.getString("phase"))
+                .toList();
+        assertEquals(List.of(SortPhaseEvent.BUILD_HEAP, SortPhaseEvent.EXTRACT), phases);
+
+        List<RecordedEvent> samples = events.stream()
+                .filter(event -> event.getEventType().getName().equals(OperationSampleEvent.NAME))
+                .toList();
+        assertTrue(!samples.isEmpty(), "The run in progress is sampled");
+        for (RecordedEvent sample : samples) {
+            assertEquals("Heap sort", sample.getString("algorithm"));
+            assertTrue(sample.getLong("comparisons") <= counter.getComparisons());
+        }
+    }
+
+    @Test
+    void recordsACountedRun() throws IOException {
+        int[] array = InputDistribution.UNIFORM.generate(SIZE, SIZE, SEED);
+        int[] initial = array.clone();
+        Path file = directory.resolve("merge.jfr");
+
+        OperationCounter counter = SortProfiler.record(new MergeSorter(), array, file);
+
+        assertArrayEquals(initial, array, "Not modified");
+        RecordedEvent sort = single(RecordingFile.readAllEvents(file), SortEvent.NAME);
+        assertEquals(counter.getComparisons(), sort.getLong("comparisons"));
+        assertEquals(counter.getWrites(), sort.getLong("writes"));
+        assertTrue(counter.getComparisons() > 0);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
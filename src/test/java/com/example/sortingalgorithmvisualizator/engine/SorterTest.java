@@ -0,0 +1,193 @@
+package com.example.sortingalgorithmvisualizator.engine;
+
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks every algorithm against {@link Arrays#sort(int[])} on every distribution, both at full speed and notifying a
+ * listener, since several sorters take a different path when they're listened.
+ */
+class SorterTest {
+    private static final int[] SIZES = {0, 1, 2, 31, 1000, 4099};
+    /**
+     * Above every parallel threshold, with several chunks for the radix sort and the sample sort.
+     */
+    private static final int LARGE_SIZE = 140_001;
+    private static final InputDistribution[] LARGE_DISTRIBUTIONS = {InputDistribution.UNIFORM,
+            InputDistribution.FEW_UNIQUE, InputDistribution.REVERSED, InputDistribution.SAWTOOTH};
+    private static final long SEED = 42;
+    /**
+     * A pool with several workers even on a single core, so the parallel sorters split their work.
+     */
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @TestFactory
+    List<DynamicTest> sortsLikeArraysSort() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Algorithm algorithm : Algorithm.values()) {
+            for (InputDistribution distribution : InputDistribution.values()) {
+                tests.add(DynamicTest.dynamicTest(algorithm + " " + distribution, () -> {
+                    for (int size : SIZES) {
+                        // A small range gives duplicates, a large one mostly distinct values
+                        for (int maxValue : new int[] {Math.max(1, size / 8), Integer.MAX_VALUE}) {
+                            int[] input = distribution.generate(size, maxValue, SEED);
+                            int[] expected = input.clone();
+                            Arrays.sort(expected);
+
+                            int[] array = input.clone();
+                            algorithm.newSorter().sort(array);
+                            assertArrayEquals(expected, array, "Size " + size + ", max value " + maxValue);
+
+                            array = input.clone();
+                            OperationCounter counter = new OperationCounter();
+                            algorithm.newSorter().sort(array, counter);
+                            assertArrayEquals(expected, array, "Listened, size " + size + ", max value " + maxValue);
+                        }
+                    }
+                }));
+            }
+        }
+        return tests;
+    }
+
+    @TestFactory
+    List<DynamicTest> sortsLargeArrays() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Algorithm algorithm : Algorithm.values()) {
+            if (algorithm.isQuadratic()) {
+                continue;
+            }
+            tests.add(DynamicTest.dynamicTest(algorithm.name(), () -> assertSortsLargeArrays(algorithm.newSorter(),
+                    distribution -> !algorithm.isQuadratic(distribution))));
+        }
+        for (Sorter sorter : List.of(new ParallelMergeSorter(POOL), new IntroSorter(POOL), new ParallelRadixSorter(POOL),
+                new SampleSorter(POOL), new BitonicSorter(POOL), new OddEvenMergeSorter(POOL))) {
+            tests.add(DynamicTest.dynamicTest(sorter.getName() + " on 4 workers",
+                    () -> assertSortsLargeArrays(sorter, distribution -> true)));
+        }
+        return tests;
+    }
+
+    private static void assertSortsLargeArrays(Sorter sorter, Predicate<InputDistribution> sortable) {
+        for (InputDistribution distribution : LARGE_DISTRIBUTIONS) {
+            if (!sortable.test(distribution)) {
+                continue;
+            }
+            int[] input = distribution.generate(LARGE_SIZE, Integer.MAX_VALUE, SEED);
+            int[] expected = input.clone();
+            Arrays.sort(expected);
+
+            int[] array = input.clone();
+            sorter.sort(array);
+            assertArrayEquals(expected, array, distribution.name());
+
+            array = input.clone();
+            sorter.sort(array, new OperationCounter());
+            assertArrayEquals(expected, array, "Listened, " + distribution.name());
+        }
+    }
+
+    @Test
+    void sortsLongKeys() {
+        ParallelRadixSorter sorter = new ParallelRadixSorter(POOL);
+        for (int size : new int[] {0, 1, 2, 1000, LARGE_SIZE}) {
+            SplittableRandom random = new SplittableRandom(SEED);
+            // Keys over the whole range, with their sign, then keys differing only in their low bytes
+            for (long[] input : new long[][] {random.longs(size).toArray(), random.longs(size, -1000, 1000).toArray()}) {
+                if (size > 2) {
+                    input[0] = Long.MIN_VALUE;
+                    input[1] = Long.MAX_VALUE;
+                }
+                long[] expected = input.clone();
+                Arrays.sort(expected);
+                long[] array = input.clone();
+                sorter.sort(array);
+                assertArrayEquals(expected, array, "Size " + size);
+            }
+        }
+    }
+
+    @Test
+    void reportsTheSampleSortStatistics() {
+        SampleSorter sorter = new SampleSorter(POOL);
+        for (InputDistribution distribution : new InputDistribution[] {InputDistribution.UNIFORM,
+                InputDistribution.REVERSED, InputDistribution.SAWTOOTH}) {
+            sorter.sort(distribution.generate(LARGE_SIZE, Integer.MAX_VALUE, SEED));
+            SampleSortStatistics statistics = sorter.getLastStatistics();
+            String name = distribution.name();
+            assertEquals(LARGE_SIZE, statistics.getSize(), name);
+            // The range buckets alternate with the equality buckets, starting and ending with a range bucket
+            assertEquals(1, statistics.getBucketCount() % 2, name);
+            assertTrue(statistics.getBucketCount() > 2, name);
+            int total = 0;
+            for (int bucket = 0; bucket < statistics.getBucketCount(); bucket++) {
+                total += statistics.getBucketSize(bucket);
+            }
+            assertEquals(LARGE_SIZE, total, name);
+            assertTrue(statistics.getMaxImbalance() >= 1, name);
+            for (SampleSortStatistics.Phase phase : SampleSortStatistics.Phase.values()) {
+                assertTrue(statistics.getPhaseNanos(phase) > 0, name + " " + phase);
+            }
+        }
+        // The duplicates of the splitters go to the equality buckets, which aren't sorted again
+        sorter.sort(InputDistribution.FEW_UNIQUE.generate(LARGE_SIZE, Integer.MAX_VALUE, SEED));
+        SampleSortStatistics statistics = sorter.getLastStatistics();
+        int equal = 0;
+        for (int bucket = 1; bucket < statistics.getBucketCount(); bucket += 2) {
+            assertTrue(statistics.isEqualityBucket(bucket));
+            equal += statistics.getBucketSize(bucket);
+        }
+        assertTrue(equal > LARGE_SIZE / 2, "Only " + equal + " elements in the equality buckets");
+    }
+
+    @Test
+    void sortsNegativeValues() {
+        int[] input = {5, -3, Integer.MIN_VALUE, 0, Integer.MAX_VALUE, -3, 7, -1, 2, Integer.MIN_VALUE, 1, -8};
+        int[] expected = input.clone();
+        Arrays.sort(expected);
+        for (Algorithm algorithm : Algorithm.values()) {
+            int[] array = input.clone();
+            algorithm.newSorter().sort(array);
+            assertArrayEquals(expected, array, algorithm.name());
+        }
+    }
+
+    @Test
+    void countsTheOperations() {
+        int[] array = InputDistribution.REVERSED.generate(100, 100, SEED);
+        OperationCounter counter = new OperationCounter();
+        new BubbleSorter().sort(array, counter);
+        // Every pair of a reversed array of distinct values is an inversion, undone by a swap
+        assertEquals(100 * 99 / 2, counter.getSwaps());
+        assertTrue(counter.getComparisons() >= counter.getSwaps());
+    }
+
+    @Test
+    void findsTheAlgorithmsByName() {
+        assertEquals(Algorithm.QUICK, Algorithm.fromName("quick"));
+        assertEquals(Algorithm.QUICK, Algorithm.fromName(Algorithm.QUICK.getDisplayName().toUpperCase()));
+        assertThrows(IllegalArgumentException.class, () -> Algorithm.fromName("Slow sort"));
+    }
+
+    @Test
+    void generatesTheSameArrayFromTheSameSeed() {
+        for (InputDistribution distribution : InputDistribution.values()) {
+            int[] array = distribution.generate(10_000, 1000, SEED);
+            assertArrayEquals(array, distribution.generate(10_000, 1000, SEED), distribution.name());
+            assertTrue(Arrays.stream(array).allMatch(value -> value >= 1 && value <= 1000), distribution.name());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+import com.example.sortingalgorithmvisualizator.engine.Algorithm;
+import com.example.sortingalgorithmvisualizator.engine.InputDistribution;
+import com.example.sortingalgorithmvisualizator.engine.OperationCounter;
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records sorts in memory and in trace files, and checks that the packed records replay the sort exactly, forwards
+ * and backwards, whether they're read from the heap or from a {@link MappedTrace}.
+ */
+class TraceFileTest {
+    private static final long SEED = 7;
+
+    @TempDir
+    Path directory;
+
+    @TestFactory
+    List<DynamicTest> roundTripsThroughATraceFile() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Algorithm algorithm : Algorithm.values()) {
+            tests.add(DynamicTest.dynamicTest(algorithm.name(), () -> {
+                int[] array = InputDistribution.UNIFORM.generate(300, 1000, SEED);
+                int[] expected = array.clone();
+                Arrays.sort(expected);
+                TraceRecorder recorder = new TraceRecorder(algorithm.getDisplayName(), array);
+                Path path = directory.resolve(algorithm.name() + ".trace");
+                try (TraceFileWriter writer = new TraceFileWriter(path, algorithm.getDisplayName(), SEED, array)) {
+                    // The parallel sorters notify a synchronized listener, so both see the same order
+                    algorithm.newSorter().sort(array, recorder.andThen(writer));
+                    assertEquals(recorder.length(), writer.length());
+                }
+                Trace memory = recorder.toTrace();
+
+                try (MappedTrace mapped = MappedTrace.open(path)) {
+                    assertEquals(algorithm.getDisplayName(), mapped.getAlgorithmName());
+                    assertEquals(SEED, mapped.getSeed());
+                    assertArrayEquals(memory.getInitialArray(), mapped.getInitialArray());
+                    assertEquals(memory.length(), mapped.length());
+                    for (long position = 0; position < memory.length(); position++) {
+                        assertEquals(memory.record(position), mapped.record(position), "Record " + position);
+                    }
+
+                    TracePlayer player = new TracePlayer(mapped, SortListener.NONE);
+                    while (!player.isAtEnd()) {
+                        player.step(1000);
+                    }
+                    assertArrayEquals(expected, player.getValues());
+                    assertArrayEquals(array, player.getValues());
+                    while (!player.isAtStart()) {
+                        player.step(-1000);
+                    }
+                    assertArrayEquals(mapped.getInitialArray(), player.getValues());
+                    assertTrue(allZero(player.getHighlights()));
+                }
+            }));
+        }
+        return tests;
+    }
+
+    @TestFactory
+    List<DynamicTest> countsLikeAnOperationCounter() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Algorithm algorithm : Algorithm.values()) {
+            tests.add(DynamicTest.dynamicTest(algorithm.name(), () -> {
+                // Large enough for the parallel merges to run in the buffer
+                int size = algorithm.isQuadratic() ? 300 : 20_000;
+                int[] array = InputDistribution.UNIFORM.generate(size, size, SEED);
+                TraceRecorder recorder = new TraceRecorder(algorithm.getDisplayName(), array);
+                OperationCounter counter = new OperationCounter();
+                algorithm.newSorter().sort(array, recorder.andThen(counter));
+
+                TracePlayer player = new TracePlayer(recorder.toTrace(), SortListener.NONE);
+                player.step(Long.MAX_VALUE);
+                assertEquals(counter.getComparisons(), player.getComparisons(), "Comparisons");
+                assertEquals(counter.getSwaps(), player.getSwaps(), "Swaps");
+                assertEquals(counter.getReads(), player.getReads(), "Reads");
+                assertEquals(counter.getWrites(), player.getWrites(), "Writes");
+            }));
+        }
+        return tests;
+    }
+
+    @Test
+    void packsNegativeValuesAndHighIndexes() {
+        long record = AbstractTraceRecorder.pack(Trace.WRITE, Trace.MAX_ARRAY_LENGTH - 1, -5);
+        assertEquals(Trace.WRITE, Trace.opcode(record));
+        assertEquals(Trace.MAX_ARRAY_LENGTH - 1, Trace.index(record));
+        assertEquals(-5, Trace.operand(record));
+    }
+
+    @Test
+    void rewritesATraceToAFile() throws IOException {
+        int[] array = InputDistribution.REVERSED.generate(100, 100, SEED);
+        TraceRecorder recorder = new TraceRecorder("Heap sort", array);
+        Algorithm.HEAP.newSorter().sort(array, recorder);
+        Trace trace = recorder.toTrace();
+        Path path = directory.resolve("heap.trace");
+        TraceFileWriter.write(trace, SEED, path);
+        try (MappedTrace mapped = MappedTrace.open(path)) {
+            assertEquals(trace.length(), mapped.length());
+            assertEquals(trace.record(trace.length() - 1), mapped.record(mapped.length() - 1));
+        }
+    }
+
+    @Test
+    void seeksWithCheckpoints() {
+        int[] array = InputDistribution.UNIFORM.generate(500, 500, SEED);
+        TraceRecorder recorder = new TraceRecorder("Merge sort", array);
+        Algorithm.MERGE.newSorter().sort(array, recorder);
+        long operationCount = recorder.getOperationCount();
+        Trace trace = recorder.toTrace();
+        // Room for a few snapshots of the values and highlights
+        long memoryBudget = 8 * array.length * (Integer.BYTES + 1);
+        TraceCheckpoints checkpoints = TraceCheckpoints.build(trace, operationCount, memoryBudget);
+        assertEquals(operationCount, TraceCheckpoints.build(trace, memoryBudget).getOperationCount());
+        TracePlayer seeking = new TracePlayer(trace, checkpoints, SortListener.NONE);
+        TracePlayer stepping = new TracePlayer(trace, SortListener.NONE);
+        long operations = checkpoints.getOperationCount();
+        for (long target : new long[] {operations, operations / 3, 5, operations * 3 / 4, 0}) {
+            seeking.seek(target);
+            stepping.step(target - stepping.getOperation());
+            assertArrayEquals(stepping.getValues(), seeking.getValues(), "Operation " + target);
+            assertArrayEquals(stepping.getHighlights(), seeking.getHighlights(), "Operation " + target);
+        }
+    }
+
+    @Test
+    void rejectsAFileWhichIsntATrace() throws IOException {
+        Path path = Files.write(directory.resolve("garbage.trace"), new byte[64]);
+        assertThrows(IOException.class, () -> MappedTrace.open(path));
+    }
+
+    private static boolean allZero(byte[] highlights) {
+        for (byte highlight : highlights) {
+            if (highlight != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.sortingalgorithmvisualizator.trace;
+
+import com.example.sortingalgorithmvisualizator.engine.Algorithm;
+import com.example.sortingalgorithmvisualizator.engine.InputDistribution;
+import com.example.sortingalgorithmvisualizator.engine.SortListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Steps through recorded sorts backwards and seeks through them with checkpoints, checking every state against the
+ * one reached by stepping forwards from the start.
+ */
+class TracePlayerTest {
+    private static final int SIZE = 400;
+    private static final long SEED = 11;
+
+    @Test
+    void stepsBackThroughTheStatesReachedForwards() {
+        Trace trace = record(Algorithm.TIM);
+        TracePlayer player = new TracePlayer(trace, SortListener.NONE);
+        List<State> states = new ArrayList<>();
+        states.add(new State(player));
+        while (!player.isAtEnd()) {
+            player.step(37);
+            states.add(new State(player));
+        }
+        int last = states.size() - 1;
+        assertEquals(states.get(last).operation, player.getOperation());
+
+        for (int i = last - 1; i >= 0; i--) {
+            long operations = states.get(i + 1).operation - states.get(i).operation;
+            assertEquals(operations, player.step(-operations));
+            states.get(i).assertMatches(player, "Back to operation " + states.get(i).operation);
+        }
+        assertTrue(player.isAtStart());
+        assertArrayEquals(trace.getInitialArray(), player.getValues());
+    }
+
+    @Test
+    void stopsAtTheEndsOfTheTrace() {
+        TracePlayer player = new TracePlayer(record(Algorithm.HEAP), SortListener.NONE);
+        assertEquals(0, player.step(-10), "Nothing before the start");
+        long operations = player.step(Long.MAX_VALUE);
+        assertTrue(player.isAtEnd());
+        assertEquals(operations, player.getOperation());
+        assertEquals(0, player.step(10), "Nothing after the end");
+        assertEquals(operations, player.step(-Long.MAX_VALUE), "Undone operations");
+        assertTrue(player.isAtStart());
+    }
+
+    @Test
+    void seeksLikeStepping() {
+        Trace trace = record(Algorithm.MERGE);
+        // Room for 4 snapshots of the values and highlights, so most seeks restore one
+        TraceCheckpoints checkpoints = TraceCheckpoints.build(trace, 4L * SIZE * (Integer.BYTES + 1));
+        Mirror mirror = new Mirror(trace.getInitialArray());
+        TracePlayer seeking = new TracePlayer(trace, checkpoints, mirror);
+        long operations = checkpoints.getOperationCount();
+        for (long target : new long[] {operations - 1, 3, operations / 2, operations / 2 + 1, operations, 0,
+                operations + 100, operations / 3}) {
+            seeking.seek(target);
+            long expected = Math.min(target, operations);
+            TracePlayer stepping = new TracePlayer(trace, SortListener.NONE);
+            stepping.step(expected);
+            new State(stepping).assertMatches(seeking, "Operation " + target);
+            // Only the elements which differ from the snapshot are notified, but the mirror still follows
+            assertArrayEquals(seeking.getValues(), mirror.values, "Mirror at operation " + target);
+            assertArrayEquals(seeking.getHighlights(), mirror.highlights, "Mirror at operation " + target);
+        }
+    }
+
+    @Test
+    void fitsTheSnapshotsInTheMemoryBudget() {
+        Trace trace = record(Algorithm.MERGE);
+        long operations = TraceCheckpoints.build(trace, Long.MAX_VALUE).getOperationCount();
+        long snapshotBytes = SIZE * (Integer.BYTES + 1);
+
+        // A large budget: a snapshot at every minimal interval
+        TraceCheckpoints checkpoints = TraceCheckpoints.build(trace, Long.MAX_VALUE);
+        assertEquals(1 << 10, checkpoints.getInterval());
+        assertEquals((operations + 1023) / 1024, snapshots(checkpoints));
+
+        // Room for 3 snapshots: the interval grows so that they cover the whole trace
+        checkpoints = TraceCheckpoints.build(trace, 3 * snapshotBytes + 1);
+        assertEquals(3, snapshots(checkpoints));
+        assertEquals((operations + 2) / 3, checkpoints.getInterval());
+        for (int snapshot = 0; snapshot < 3; snapshot++) {
+            assertEquals(snapshot * checkpoints.getInterval(), checkpoints.operation(snapshot));
+        }
+
+        // Less than a snapshot: only the initial state is kept
+        checkpoints = TraceCheckpoints.build(trace, snapshotBytes / 2);
+        assertEquals(1, snapshots(checkpoints));
+        assertEquals(operations, checkpoints.getInterval());
+    }
+
+    private static int snapshots(TraceCheckpoints checkpoints) {
+        return checkpoints.floor(Long.MAX_VALUE) + 1;
+    }
+
+    private static Trace record(Algorithm algorithm) {
+        int[] array = InputDistribution.UNIFORM.generate(SIZE, SIZE, SEED);
+        TraceRecorder recorder = new TraceRecorder(algorithm.getDisplayName(), array);
+        algorithm.newSorter().sort(array, recorder);
+        return recorder.toTrace();
+    }
+
+    /**
+     * The state of a player at an operation.
+     */
+    private static class State {
+        final long operation;
+        final long position;
+        final int[] values;
+        final byte[] highlights;
+        final long[] counts;
+
+        State(TracePlayer player) {
+            operation = player.getOperation();
+            position = player.getPosition();
+            values = player.getValues().clone();
+            highlights = player.getHighlights().clone();
+            counts = player.getCounts();
+        }
+
+        void assertMatches(TracePlayer player, String message) {
+            assertEquals(operation, player.getOperation(), message);
+            assertEquals(position, player.getPosition(), message);
+            assertArrayEquals(values, player.getValues(), message);
+            assertArrayEquals(highlights, player.getHighlights(), message);
+            assertArrayEquals(counts, player.getCounts(), message);
+        }
+    }
+
+    /**
+     * A listener keeping the array shown, like the renderer.
+     */
+    private static class Mirror implements SortListener {
+        final int[] values;
+        final byte[] highlights;
+
+        Mirror(int[] array) {
+            values = array;
+            highlights = new byte[array.length];
+        }
+
+        @Override
+        public void onSwap(int index1, int index2) {
+            int tmp = values[index1];
+            values[index1] = values[index2];
+            values[index2] = tmp;
+        }
+
+        @Override
+        public void onWrite(int index, int value) {
+            values[index] = value;
+        }
+
+        @Override
+        public void onHighlight(int index, byte highlight) {
+            highlights[index] = highlight;
+        }
+    }
+}